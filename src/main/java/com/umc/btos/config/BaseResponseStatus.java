@@ -108,6 +108,8 @@ public enum BaseResponseStatus {
 
     POST_FAIL_ALARM(false, 6023, "알림 저장에 실패하였습니다."),
 
+    INVALID_CURSOR(false, 6024, "잘못된 커서 값입니다."),
+
 
     // 7000 : 자몽
     TEMP3(false, 9000, "conflict 방지용 3"),
@@ -4,6 +4,44 @@ public class Constant {
     // 페이징 처리 - 한 요청에 보낼 데이터의 개수
     public static final int DIARYLIST_DATA_NUM = 20; // Archive 조회 - 일기 리스트
     public static final int HISTORY_DATA_NUM = 20; // History 목록 조회
+    public static final int ALARM_DATA_NUM = 20; // 알림 목록 조회
+
+    // batch INSERT - 한 번의 round trip으로 보낼 최대 행 수
+    public static final int BATCH_SIZE = 1000;
+
+    // 내용 검색 (SearchIndex) - MySQL ngram_token_size 설정값
+    public static final int SEARCH_NGRAM_TOKEN_SIZE = 2;
+
+    // private 일기 - 병렬 복호화 (DecryptionStage)
+    public static final int DECRYPT_THREAD_NUM = 4; // 복호화 작업 스레드 수
+    public static final int DECRYPT_QUEUE_SIZE = 100; // 작업 큐 크기 (초과분은 요청 스레드에서 복호화)
+    public static final int DECRYPT_PARALLEL_MIN_NUM = 16; // 한 번에 복호화할 값이 이 개수 미만이면 요청 스레드에서 복호화
+
+    // Archive 달력 캐시 (CalendarCache) - 최대 저장 개수 (회원 & 월 & 조회 방식 단위)
+    public static final int CALENDAR_CACHE_SIZE = 10000;
+
+    // 검증된 JWT 캐시 (JwtService) - 최대 저장 개수
+    public static final int JWT_CACHE_SIZE = 10000;
+
+    // FCM 발송 (FirebaseCloudMessageService)
+    public static final int FCM_MAX_IDLE_CONNECTION_NUM = 10; // connection pool에 유지할 최대 유휴 connection 수
+    public static final int FCM_CONNECT_TIMEOUT_SECOND = 5;
+    public static final int FCM_READ_TIMEOUT_SECOND = 10;
+    public static final int FCM_TOKEN_REFRESH_MARGIN_MINUTE = 5; // access token 만료 n분 전부터 미리 갱신
+
+    // 푸시 알림 일괄 발송 (PushDispatcher)
+    public static final int FCM_DISPATCH_CONCURRENCY = 32; // 동시에 진행할 최대 발송 요청 수
+    public static final int FCM_MAX_RETRY = 3; // 429, 5xx, 네트워크 오류 시 최대 재시도 횟수
+    public static final long FCM_RETRY_BASE_MILLIS = 1000; // 첫 재시도 대기 시간 (재시도마다 2배)
+    public static final long FCM_RETRY_MAX_MILLIS = 60000; // 최대 재시도 대기 시간 (Retry-After header로 지정된 시간에는 적용 X)
+    public static final int FCM_DISPATCH_TIMEOUT_SECOND = 600; // 일괄 발송 1회의 최대 대기 시간 (초과 시 남은 요청은 실패 처리)
+
+    // 푸시 알림 대기열 (PushOutbox, AlarmPushWorker)
+    public static final String PUSH_TITLE = "BTOS"; // 푸시 알림 제목
+    public static final int PUSH_OUTBOX_BATCH_SIZE = 500; // 한 번에 선점하여 발송할 최대 알림 수
+    public static final int PUSH_OUTBOX_MAX_RETRY = 5; // 발송 실패 시 최대 재시도 횟수
+    public static final int PUSH_OUTBOX_RETRY_DELAY_SECOND = 60; // 재시도 대기 시간 (재시도 횟수만큼 곱함)
+    public static final int PUSH_OUTBOX_STALE_MINUTE = FCM_DISPATCH_TIMEOUT_SECOND / 60 + 5; // processing 상태로 남은 알림을 대기열로 되돌리는 기준 (분) - 일괄 발송 최대 대기 시간보다 길어야 함 (진행 중인 batch를 다시 선점 X)
 
     // 화분 - 점수 증감 원인
     public static final int PLANT_LEVELUP_DIARY = 5;
@@ -27,4 +65,10 @@ public class Constant {
     // 편지 - 비슷한 나이대로 발송할 최대 횟수
     public static final int LETTER_SEND_SIMILAR_AGE_NUM = 3;
 
+    // 편지 - 백그라운드 발송 (LetterDispatcher)
+    public static final int LETTER_DISPATCH_THREAD_NUM = 4; // 발송 작업 스레드 수
+    public static final int LETTER_DISPATCH_QUEUE_SIZE = 1000; // 메모리 작업 큐 크기 (초과분은 LetterQueue 테이블에 남아 다음 polling 때 처리)
+    public static final int LETTER_DISPATCH_MAX_RETRY = 5; // 발송 실패 시 최대 재시도 횟수
+    public static final int LETTER_DISPATCH_STALE_MINUTE = 5; // processing 상태로 남은 작업을 대기열로 되돌리는 기준 (분)
+
 }
@@ -9,10 +9,11 @@ public class PagingRes {
     private boolean hasNext;
     private int currentPage;
     private int startPage = 1;
-    private int endPage;
+    private int endPage; // 마지막 페이지 번호 (커서 페이징인 경우 계산하지 않음 -> 0)
     private int dataNumPerPage; // 한 페이지에 최대로 출력되는 데이터 개수
     private int dataNum_currentPage; // 현재 페이지의 데이터 개수
-    private int dataNum_total; // 총 데이터 개수
+    private int dataNum_total; // 총 데이터 개수 (커서 페이징인 경우 계산하지 않음 -> 0, 다음 페이지 존재 여부는 hasNext & nextCursor로 확인)
+    private String nextCursor; // 다음 페이지 요청 시 전달할 커서 (커서 페이징인 경우, 마지막 페이지라면 null)
 
     public PagingRes(int currentPage, int dataNumPerPage) {
         this.currentPage = currentPage;
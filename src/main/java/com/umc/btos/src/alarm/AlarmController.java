@@ -2,6 +2,9 @@ package com.umc.btos.src.alarm;
 
 import com.umc.btos.config.BaseException;
 import com.umc.btos.config.BaseResponse;
+import com.umc.btos.config.BaseResponsePaging;
+import com.umc.btos.config.Constant;
+import com.umc.btos.config.PagingRes;
 import com.umc.btos.src.alarm.model.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,21 +32,46 @@ public class AlarmController {
 
     /*
      * 알림 목록 조회
-     * [GET] /alarms?userIdx=
+     * [GET] /alarms?userIdx=&cursor=
      * Alarm.status = 'active'인 알림들만 조회
      * 수신일(createdAt) 기준 내림차순 정렬
+     * 페이징 처리 (무한 스크롤) - 20개씩 조회
+     * cursor = 이전 페이지 응답의 pageInfo.nextCursor (첫 페이지는 생략)
      */
     @ResponseBody
     @GetMapping("")
-    BaseResponse<List<GetAlarmListRes>> getAlarmList(@RequestParam("userIdx") int userIdx) {
+    BaseResponsePaging<List<GetAlarmListRes>> getAlarmList(@RequestParam("userIdx") int userIdx, @RequestParam(value = "cursor", required = false) String cursor) {
         try {
             // TODO : 형식적 validation - 존재하는 회원인가? & User.status = 'active'
             if (alarmProvider.checkUserIdx(userIdx) == 0) {
                 throw new BaseException(INVALID_USERIDX); // 존재하지 않거나 탈퇴한 회원입니다.
             }
 
-            List<GetAlarmListRes> alarmList = alarmProvider.getAlarmList(userIdx);
-            return new BaseResponse<>(alarmList);
+            PagingRes pageInfo = new PagingRes(0, Constant.ALARM_DATA_NUM); // 페이징 정보 (커서 페이징 - 페이지 번호 사용 X)
+
+            List<GetAlarmListRes> alarmList = alarmProvider.getAlarmList(userIdx, cursor, pageInfo);
+            return new BaseResponsePaging<>(alarmList, pageInfo);
+
+        } catch (BaseException exception) {
+            return new BaseResponsePaging<>(exception.getStatus());
+        }
+    }
+
+    /*
+     * 확인하지 않은 알림 개수 조회 (알림 배지)
+     * [GET] /alarms/unread?userIdx=
+     */
+    @ResponseBody
+    @GetMapping("/unread")
+    BaseResponse<Integer> getUnreadAlarmNum(@RequestParam("userIdx") int userIdx) {
+        try {
+            // TODO : 형식적 validation - 존재하는 회원인가? & User.status = 'active'
+            if (alarmProvider.checkUserIdx(userIdx) == 0) {
+                throw new BaseException(INVALID_USERIDX); // 존재하지 않거나 탈퇴한 회원입니다.
+            }
+
+            int unreadAlarmNum = alarmProvider.getUnreadAlarmNum(userIdx);
+            return new BaseResponse<>(unreadAlarmNum);
 
         } catch (BaseException exception) {
             return new BaseResponse<>(exception.getStatus());
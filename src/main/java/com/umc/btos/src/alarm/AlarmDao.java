@@ -1,12 +1,19 @@
 package com.umc.btos.src.alarm;
 
+import com.umc.btos.config.Constant;
+import com.umc.btos.src.alarm.model.AlarmCursor;
 import com.umc.btos.src.alarm.model.GetAlarmListRes;
+import com.umc.btos.src.alarm.model.PushOutbox;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Repository
 public class AlarmDao {
@@ -37,38 +44,31 @@ public class AlarmDao {
 
     // ====================================== 알림 목록 조회 ======================================
 
-    // 알림 목록 창에 띄워줄 알림이 존재하는지 확인 (Alarm.status = active)
-    public int checkAlarmList(int userIdx) {
-        String query = "SELECT EXISTS (SELECT * FROM Alarm WHERE userIdx = ? AND status = 'active')";
-        return this.jdbcTemplate.queryForObject(query, int.class, userIdx);
-    }
-
-    // 알림 목록 반환
-    public List<GetAlarmListRes> getAlarmList(int userIdx) {
-        String query = "SELECT alarmIdx, content, createdAt FROM (" +
-                // type != diary
-                "SELECT Alarm.alarmIdx, Alarm.content, Alarm.createdAt " +
+    // 알림 목록 반환 (커서 페이징) - (createdAt, alarmIdx) 기준 내림차순 정렬 -> 커서 이후 limit개만 조회
+    // 공개 시각(visibleAt)이 지난 알림만 조회 (type = diary : 일기가 발송되는 19:00:00 이후)
+    public List<GetAlarmListRes> getAlarmList(int userIdx, AlarmCursor cursor, int limit) {
+        String query = "SELECT alarmIdx, content, createdAt " +
                 "FROM Alarm " +
-                "WHERE Alarm.userIdx = ? " +
-                "AND Alarm.type != 'diary' " +
-                "AND Alarm.status = 'active' " +
-                "UNION " +
-                // type == diary
-                "SELECT Alarm.alarmIdx, Alarm.content, Alarm.createdAt " +
-                "FROM Alarm " +
-                "INNER JOIN Diary ON Alarm.typeIdx = Diary.diaryIdx " +
-                "WHERE Alarm.userIdx = ? " +
-                "AND Alarm.type = 'diary' " +
-                "AND Diary.isSend = 1 " +
-                "AND Alarm.status = 'active' " +
-                "ORDER BY createdAt DESC) alarmIdx"; // createdAt 기준 내림차순 정렬
+                "WHERE userIdx = ? " +
+                "AND status = 'active' " +
+                "AND visibleAt <= CURRENT_TIMESTAMP " +
+                "AND createdAt <= ? " + // 인덱스 범위 조건
+                "AND (createdAt, alarmIdx) < (?, ?) " +
+                "ORDER BY createdAt DESC, alarmIdx DESC " +
+                "LIMIT ?";
 
         return this.jdbcTemplate.query(query,
                 (rs, rowNum) -> new GetAlarmListRes(
                         rs.getInt("alarmIdx"),
                         rs.getString("content"),
                         rs.getString("createdAt")
-                ), userIdx, userIdx);
+                ), userIdx, cursor.getCreatedAt(), cursor.getCreatedAt(), cursor.getAlarmIdx(), limit);
+    }
+
+    // 확인하지 않은 알림 개수 반환 (User.unreadAlarmNum)
+    public int getUnreadAlarmNum(int userIdx) {
+        String query = "SELECT unreadAlarmNum FROM User WHERE userIdx = ?";
+        return this.jdbcTemplate.queryForObject(query, int.class, userIdx);
     }
 
     // ====================================== 알림 조회 ======================================
@@ -101,26 +101,37 @@ public class AlarmDao {
         return this.jdbcTemplate.queryForObject(query, int.class, typeIdx);
     }
 
-    // Alarm.status = active -> checked
+    // Alarm.status = active -> checked & User.unreadAlarmNum - 1 (하나의 UPDATE문으로 처리)
     public int modifyStatus(int alarmIdx) {
-        String query = "UPDATE Alarm SET status = 'checked' WHERE alarmIdx = ?";
+        String query = "UPDATE Alarm " +
+                "INNER JOIN User ON Alarm.userIdx = User.userIdx " +
+                "SET Alarm.status = 'checked', User.unreadAlarmNum = GREATEST(User.unreadAlarmNum - 1, 0) " +
+                "WHERE Alarm.alarmIdx = ? AND Alarm.status = 'active'";
         return this.jdbcTemplate.update(query, alarmIdx);
     }
 
     // ====================================== 알림 생성 ======================================
 
-    // type = diary
-    public int postAlarm_diary(int userIdx, int diaryIdx, String content) {
-        String query = "INSERT INTO Alarm (userIdx, type, typeIdx, content) VALUES(?,?,?,?)";
-        Object[] alarm = new Object[]{userIdx, "diary", diaryIdx, content};
-        return this.jdbcTemplate.update(query, alarm);
-    }
+    // 같은 type의 알림 여러 개 저장 (batch, alarm = {userIdx, typeIdx, content}) - Constant.BATCH_SIZE개씩 나누어 INSERT, 저장된 알림 개수 반환
+    // type = diary (일기 발송 - 당일 19:00:00부터 공개), letter (편지 발송 - 바로 공개)
+    public int insertAll(String type, List<Object[]> alarmList) {
+        String visibleAt = (type.compareTo("diary") == 0) ? "TIMESTAMP(CURDATE(), '19:00:00')" : "CURRENT_TIMESTAMP";
+        String query = "INSERT INTO Alarm (userIdx, type, typeIdx, content, visibleAt) VALUES(?,?,?,?," + visibleAt + ")";
+        int[][] result = this.jdbcTemplate.batchUpdate(query, alarmList, Constant.BATCH_SIZE,
+                (ps, alarm) -> {
+                    ps.setInt(1, (int) alarm[0]);
+                    ps.setString(2, type);
+                    ps.setInt(3, (int) alarm[1]);
+                    ps.setString(4, (String) alarm[2]);
+                });
 
-    // type = letter
-    public int postAlarm_letter(int userIdx, int letterIdx, String content) {
-        String query = "INSERT INTO Alarm (userIdx, type, typeIdx, content) VALUES(?,?,?,?)";
-        Object[] alarm = new Object[]{userIdx, "letter", letterIdx, content};
-        return this.jdbcTemplate.update(query, alarm);
+        int insertNum = 0;
+        for (int[] batch : result) {
+            for (int rowNum : batch) {
+                insertNum += (rowNum == Statement.SUCCESS_NO_INFO) ? 1 : rowNum; // rewriteBatchedStatements 사용 시 행별 결과 대신 SUCCESS_NO_INFO 반환
+            }
+        }
+        return insertNum;
     }
 
     // type = reply
@@ -144,4 +155,117 @@ public class AlarmDao {
         return this.jdbcTemplate.update(query, alarm);
     }
 
+    // 확인하지 않은 알림 개수 + 1 (알림 저장 시)
+    public int increaseUnreadAlarmNum(int userIdx) {
+        String query = "UPDATE User SET unreadAlarmNum = unreadAlarmNum + 1 WHERE userIdx = ?";
+        return this.jdbcTemplate.update(query, userIdx);
+    }
+
+    // 확인하지 않은 알림 개수 증가 (batch, alarm = {userIdx, typeIdx, content})
+    // 회원별 알림 개수로 묶어 userIdx 오름차순으로 UPDATE -> 회원마다 한 번만, 항상 같은 순서로 잠금 (다른 트랜잭션과 교착 상태 방지)
+    public void increaseUnreadAlarmNum(List<Object[]> alarmList) {
+        Map<Integer, Integer> alarmNumMap = new TreeMap<>(); // key = userIdx (오름차순), value = 추가된 알림 개수
+        for (Object[] alarm : alarmList) {
+            alarmNumMap.merge((int) alarm[0], 1, Integer::sum);
+        }
+
+        String query = "UPDATE User SET unreadAlarmNum = unreadAlarmNum + ? WHERE userIdx = ?";
+        this.jdbcTemplate.batchUpdate(query, new ArrayList<>(alarmNumMap.entrySet()), Constant.BATCH_SIZE,
+                (ps, alarmNum) -> {
+                    ps.setInt(1, alarmNum.getValue());
+                    ps.setInt(2, alarmNum.getKey());
+                });
+    }
+
+    // ====================================== 푸시 알림 대기열 (PushOutbox) ======================================
+
+    // PushOutbox 저장 (바로 발송)
+    public int postPushOutbox(int userIdx, String content) {
+        String query = "INSERT INTO PushOutbox (userIdx, content) VALUES(?,?)";
+        return this.jdbcTemplate.update(query, userIdx, content);
+    }
+
+    // PushOutbox 저장 (batch, alarm = {userIdx, typeIdx, content}) - 바로 발송
+    public void postPushOutboxList(List<Object[]> alarmList) {
+        String query = "INSERT INTO PushOutbox (userIdx, content) VALUES(?,?)";
+        postPushOutboxList(query, alarmList);
+    }
+
+    // PushOutbox 저장 (batch) - type = diary : 일기가 공개되는 당일 19:00:00 이후 발송
+    public void postPushOutboxList_diary(List<Object[]> alarmList) {
+        String query = "INSERT INTO PushOutbox (userIdx, content, availableAt) VALUES(?,?,TIMESTAMP(CURDATE(), '19:00:00'))";
+        postPushOutboxList(query, alarmList);
+    }
+
+    private void postPushOutboxList(String query, List<Object[]> alarmList) {
+        this.jdbcTemplate.batchUpdate(query, alarmList, Constant.BATCH_SIZE,
+                (ps, alarm) -> {
+                    ps.setInt(1, (int) alarm[0]);
+                    ps.setString(2, (String) alarm[2]);
+                });
+    }
+
+    // 발송 가능한 알림 선점 (waiting -> processing, 오래된 순) : 선점한 행 수 반환
+    public int claimPushOutbox(String claimId, int limit) {
+        String query = "UPDATE PushOutbox SET status = 'processing', claimId = ?, updatedAt = CURRENT_TIMESTAMP " +
+                "WHERE status = 'waiting' AND availableAt <= CURRENT_TIMESTAMP " +
+                "ORDER BY outboxIdx LIMIT ?";
+        return this.jdbcTemplate.update(query, claimId, limit);
+    }
+
+    // 선점한 알림 목록 반환 (수신인 FCM token 포함)
+    // 푸시 알림 수신을 거부한 회원(User.pushAlarm = 0)은 token = null -> 발송하지 않고 삭제
+    public List<PushOutbox> getPushOutbox_claimed(String claimId) {
+        String query = "SELECT PushOutbox.outboxIdx, PushOutbox.content, User.fcmToken " +
+                "FROM PushOutbox " +
+                "LEFT JOIN User ON PushOutbox.userIdx = User.userIdx AND User.status = 'active' AND User.pushAlarm = 1 " +
+                "WHERE PushOutbox.claimId = ? AND PushOutbox.status = 'processing'";
+
+        return this.jdbcTemplate.query(query,
+                (rs, rowNum) -> new PushOutbox(
+                        rs.getLong("outboxIdx"),
+                        rs.getString("fcmToken"),
+                        rs.getString("content")
+                ), claimId);
+    }
+
+    // 처리 완료된 알림 삭제 (선점한 claimId의 행만 -> 대기열로 되돌아가 다른 곳에서 다시 선점한 행은 건드리지 않음)
+    public void deletePushOutbox(String claimId, List<Long> outboxIdxList) {
+        String query = "DELETE FROM PushOutbox WHERE outboxIdx = ? AND claimId = ?";
+        this.jdbcTemplate.batchUpdate(query, outboxIdxList, Constant.BATCH_SIZE,
+                (ps, outboxIdx) -> {
+                    ps.setLong(1, outboxIdx);
+                    ps.setString(2, claimId);
+                });
+    }
+
+    // 발송 실패 시 재시도 횟수 증가 후 (retryNum * delaySecond)초 뒤 대기열로 되돌림 (최대 재시도 횟수에 도달하면 status = 'failed')
+    public void releasePushOutbox(String claimId, List<Long> outboxIdxList, int maxRetryNum, int delaySecond) {
+        String query = "UPDATE PushOutbox " +
+                "SET retryNum = retryNum + 1, " +
+                "    status = IF(retryNum >= ?, 'failed', 'waiting'), " + // 앞에서 증가된 retryNum으로 비교
+                "    availableAt = DATE_ADD(CURRENT_TIMESTAMP, INTERVAL retryNum * ? SECOND), " +
+                "    updatedAt = CURRENT_TIMESTAMP " +
+                "WHERE outboxIdx = ? AND claimId = ? AND status = 'processing'";
+        this.jdbcTemplate.batchUpdate(query, outboxIdxList, Constant.BATCH_SIZE,
+                (ps, outboxIdx) -> {
+                    ps.setInt(1, maxRetryNum);
+                    ps.setInt(2, delaySecond);
+                    ps.setLong(3, outboxIdx);
+                    ps.setString(4, claimId);
+                });
+    }
+
+    // 발송 도중 서버가 종료되어 processing 상태로 남은 알림을 대기열로 되돌림
+    // 재시도 횟수도 증가 (발송 중 서버를 멈추게 하는 알림이 무한히 재시도되지 않도록, 최대 재시도 횟수에 도달하면 status = 'failed')
+    public int resetPushOutbox_stale(int minute, int maxRetryNum) {
+        String query = "UPDATE PushOutbox " +
+                "SET retryNum = retryNum + 1, " +
+                "    status = IF(retryNum >= ?, 'failed', 'waiting'), " + // 앞에서 증가된 retryNum으로 비교
+                "    claimId = NULL, " +
+                "    updatedAt = CURRENT_TIMESTAMP " +
+                "WHERE status = 'processing' AND updatedAt < DATE_SUB(CURRENT_TIMESTAMP, INTERVAL ? MINUTE)";
+        return this.jdbcTemplate.update(query, maxRetryNum, minute);
+    }
+
 }
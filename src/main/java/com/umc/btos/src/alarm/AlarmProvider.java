@@ -1,6 +1,9 @@
 package com.umc.btos.src.alarm;
 
 import com.umc.btos.config.BaseException;
+import com.umc.btos.config.Constant;
+import com.umc.btos.config.PagingRes;
+import com.umc.btos.src.alarm.model.AlarmCursor;
 import com.umc.btos.src.alarm.model.GetAlarmListRes;
 import com.umc.btos.src.alarm.model.GetAlarmRes;
 import org.slf4j.Logger;
@@ -8,7 +11,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import static com.umc.btos.config.BaseResponseStatus.*;
@@ -64,25 +66,36 @@ public class AlarmProvider {
 
     /*
      * 알림 목록 조회
-     * [GET] /alarms?userIdx=
+     * [GET] /alarms?userIdx=&cursor=
      * Alarm.status = 'active'인 알림들만 조회
-     * type = diary인 경우 Diary.isSend = 1인 알림들만 조회
+     * type = diary인 경우 일기가 발송된 이후(Alarm.visibleAt = 19:00:00)의 알림들만 조회
      * 수신일(createdAt) 기준 내림차순 정렬
+     * 커서 페이징 - 커서 이후 ALARM_DATA_NUM개만 조회 (cursor = null : 첫 페이지)
      */
-    public List<GetAlarmListRes> getAlarmList(int userIdx) throws BaseException, NullPointerException {
+    public List<GetAlarmListRes> getAlarmList(int userIdx, String cursor, PagingRes pageInfo) throws BaseException, NullPointerException {
         try {
-            List<GetAlarmListRes> alarmList;
+            AlarmCursor alarmCursor = (cursor == null) ? AlarmCursor.first() : AlarmCursor.decode(cursor);
+            int limit = Constant.ALARM_DATA_NUM + 1; // 다음 페이지 존재 여부 확인용으로 1개 더 조회
 
-            // 알림 목록에 띄워줄 알림이 존재하는지 확인 (Alarm.status = 'active')
-            if (alarmDao.checkAlarmList(userIdx) == 1) {
-                alarmList = new ArrayList<>(alarmDao.getAlarmList(userIdx));
-
-            } else {
+            List<GetAlarmListRes> alarmList = alarmDao.getAlarmList(userIdx, alarmCursor, limit);
+            if (alarmList.size() == 0 && cursor == null) {
                 throw new NullPointerException(); // 해당 회원에게 띄워줄 알림이 없습니다.
             }
 
+            boolean hasNext = alarmList.size() > Constant.ALARM_DATA_NUM;
+            if (hasNext) {
+                alarmList = alarmList.subList(0, Constant.ALARM_DATA_NUM);
+
+                GetAlarmListRes last = alarmList.get(alarmList.size() - 1); // 현재 페이지의 마지막 알림
+                pageInfo.setNextCursor(new AlarmCursor(last.getCreatedAt(), last.getAlarmIdx()).encode());
+            }
+            pageInfo.setHasNext(hasNext);
+            pageInfo.setDataNum_currentPage(alarmList.size());
+
             return alarmList;
 
+        } catch (BaseException exception) {
+            throw exception;
         } catch (NullPointerException exception) {
             throw new BaseException(NO_ALARM); // 해당 회원에게 띄워줄 알림이 없습니다.
         } catch (Exception exception) {
@@ -90,6 +103,20 @@ public class AlarmProvider {
         }
     }
 
+    /*
+     * 확인하지 않은 알림 개수 조회 (알림 배지)
+     * [GET] /alarms/unread?userIdx=
+     * User.unreadAlarmNum : 알림 저장 시 + 1, 알림 확인(Alarm.status = 'checked') 시 - 1
+     */
+    public int getUnreadAlarmNum(int userIdx) throws BaseException {
+        try {
+            return alarmDao.getUnreadAlarmNum(userIdx);
+
+        } catch (Exception exception) {
+            throw new BaseException(DATABASE_ERROR);
+        }
+    }
+
     /*
      * 알림 조회
      * [GET] /alarms/:alarmIdx?userIdx=
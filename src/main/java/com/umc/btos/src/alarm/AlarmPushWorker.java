@@ -0,0 +1,126 @@
+package com.umc.btos.src.alarm;
+
+import com.umc.btos.config.Constant;
+import com.umc.btos.src.alarm.model.PushOutbox;
+import com.umc.btos.src.firebase.PushDispatcher;
+import com.umc.btos.src.firebase.model.FcmRequest;
+import com.umc.btos.src.firebase.model.PushResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * 푸시 알림 발송 (PushOutbox -> FCM)
+ * Alarm 저장 시 같은 트랜잭션 안에서 PushOutbox에도 저장하고 (AlarmService), 이 worker가 전용 스레드에서 PushOutbox를 비워 발송한다.
+ * -> 요청 스레드 & 일기 발송 스케줄러(18:59:55)는 FCM 응답을 기다리지 않음
+ *
+ * 처리 방식 (at-least-once)
+ *      - claimPushOutbox : 발송 가능한(availableAt 경과) waiting 행을 PUSH_OUTBOX_BATCH_SIZE개씩 processing으로 선점 (claimId로 구분 -> 서버가 여러 대여도 중복 선점 X)
+ *      - PushDispatcher로 일괄 발송 후 성공 & 유효하지 않은 token & token 없음 (푸시 알림 수신 거부 포함) -> 행 삭제 / 실패 -> 재시도 대기 후 waiting (최대 횟수 초과 시 failed)
+ *      - 발송 도중 서버가 종료되어 processing 상태로 남은 행 -> 일정 시간 후 대기열로 되돌림 (같은 알림이 다시 발송될 수 있음, 재시도 횟수 증가)
+ *        (기준 시간 PUSH_OUTBOX_STALE_MINUTE > 일괄 발송 최대 대기 시간 -> 발송 중인 batch는 되돌리지 않음)
+ *      - 삭제 & 재시도 처리는 선점한 claimId의 행에만 적용
+ */
+@Component
+public class AlarmPushWorker {
+    final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final AlarmDao alarmDao;
+    private final PushDispatcher pushDispatcher;
+
+    // 스케줄러 스레드를 점유하지 않도록 전용 스레드에서 발송 (한 번에 하나의 drain만 실행)
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "push-outbox");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean isRunning = new AtomicBoolean(false);
+
+    @Autowired
+    public AlarmPushWorker(AlarmDao alarmDao, PushDispatcher pushDispatcher) {
+        this.alarmDao = alarmDao;
+        this.pushDispatcher = pushDispatcher;
+    }
+
+    // 5초마다 대기열 확인
+    @Scheduled(fixedDelay = 5000)
+    public void pollPushOutbox() {
+        if (!isRunning.compareAndSet(false, true)) { // 이전 drain이 아직 진행 중
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                drain();
+            } catch (Exception exception) {
+                logger.error("푸시 알림 발송 실패", exception);
+            } finally {
+                isRunning.set(false);
+            }
+        });
+    }
+
+    // 발송 가능한 행이 없을 때까지 batch 단위로 처리
+    private void drain() throws InterruptedException {
+        alarmDao.resetPushOutbox_stale(Constant.PUSH_OUTBOX_STALE_MINUTE, Constant.PUSH_OUTBOX_MAX_RETRY);
+
+        while (!Thread.currentThread().isInterrupted()) {
+            String claimId = UUID.randomUUID().toString();
+            if (alarmDao.claimPushOutbox(claimId, Constant.PUSH_OUTBOX_BATCH_SIZE) == 0) {
+                return;
+            }
+            process(claimId, alarmDao.getPushOutbox_claimed(claimId));
+        }
+    }
+
+    private void process(String claimId, List<PushOutbox> outboxList) throws InterruptedException {
+        List<Long> doneList = new ArrayList<>(); // 처리 완료 (삭제)
+        List<Long> failedList = new ArrayList<>(); // 재시도
+
+        List<PushOutbox> sendList = new ArrayList<>(outboxList.size());
+        List<FcmRequest> requestList = new ArrayList<>(outboxList.size());
+        for (PushOutbox outbox : outboxList) {
+            if (outbox.getFcmToken() == null) { // 발송할 기기가 없거나 푸시 알림 수신 거부
+                doneList.add(outbox.getOutboxIdx());
+                continue;
+            }
+            sendList.add(outbox);
+            requestList.add(new FcmRequest(outbox.getFcmToken(), Constant.PUSH_TITLE, outbox.getContent()));
+        }
+
+        if (requestList.size() != 0) {
+            List<PushResult> resultList = pushDispatcher.sendAll(requestList); // 요청 순서대로 결과 반환
+            for (int i = 0; i < resultList.size(); i++) {
+                long outboxIdx = sendList.get(i).getOutboxIdx();
+
+                if (resultList.get(i).getStatus().compareTo("failed") == 0) {
+                    failedList.add(outboxIdx);
+                } else { // success, invalidToken (token은 PushDispatcher에서 삭제)
+                    doneList.add(outboxIdx);
+                }
+            }
+        }
+
+        if (doneList.size() != 0) {
+            alarmDao.deletePushOutbox(claimId, doneList);
+        }
+        if (failedList.size() != 0) {
+            alarmDao.releasePushOutbox(claimId, failedList, Constant.PUSH_OUTBOX_MAX_RETRY, Constant.PUSH_OUTBOX_RETRY_DELAY_SECOND);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow(); // 진행 중인 batch는 processing 상태로 남아 재시작 후 대기열로 되돌아감
+    }
+
+}
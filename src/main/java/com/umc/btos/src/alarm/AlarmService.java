@@ -6,7 +6,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.umc.btos.config.BaseResponseStatus.*;
@@ -22,24 +24,36 @@ public class AlarmService {
         this.alarmDao = alarmDao;
     }
 
+    /*
+     * 알림 저장 시 같은 트랜잭션 안에서 PushOutbox에도 저장 -> AlarmPushWorker가 비동기로 푸시 알림 발송
+     * (호출한 쪽의 트랜잭션이 있다면 참여하므로 롤백 시 알림 & 푸시 모두 저장되지 않음)
+     * 확인하지 않은 알림 개수(User.unreadAlarmNum)도 같은 트랜잭션 안에서 증가
+     */
+
     /*
      * Alarm.type = diary
      * 18:59:55 일기 발송 리스트 생성 -> 알림 테이블에 저장
      * 19:00:00 전에 알림 목록 조회 시 isSend = 0인 일기들은 조회되면 안됨
-     * -> 알림 목록 조회 시 type = diary인 알림에는 조건 추가
+     * -> Alarm.visibleAt = 당일 19:00:00 (알림 목록 조회 시 visibleAt이 지난 알림만 조회)
      */
+    @Transactional(rollbackFor = Exception.class)
     public void postAlarm_diary(List<GetSendListRes> diarySendList) throws BaseException {
         try {
+            List<Object[]> alarmList = new ArrayList<>(); // {userIdx, diaryIdx, content}
             for (GetSendListRes diary : diarySendList) {
-                for (Integer receiverIdx : diary.getReceiverIdxList()) {
-                    String content = "'" + diary.getSenderNickName() + "'에게서 일기가 도착했습니다.";
+                String content = "'" + diary.getSenderNickName() + "'에게서 일기가 도착했습니다."; // 발신인마다 한 번만 생성 (수신인들이 공유)
 
-                    if (alarmDao.postAlarm_diary(receiverIdx, diary.getDiaryIdx(), content) == 0) {
-                        throw new BaseException(POST_FAIL_ALARM);
-                    }
+                for (Integer receiverIdx : diary.getReceiverIdxList()) {
+                    alarmList.add(new Object[]{receiverIdx, diary.getDiaryIdx(), content});
                 }
             }
 
+            if (alarmDao.insertAll("diary", alarmList) != alarmList.size()) {
+                throw new BaseException(POST_FAIL_ALARM);
+            }
+            alarmDao.increaseUnreadAlarmNum(alarmList);
+            alarmDao.postPushOutboxList_diary(alarmList);
+
         } catch (BaseException exception) {
             throw new BaseException(POST_FAIL_ALARM); // 알림 저장에 실패하였습니다.
         } catch (Exception exception) {
@@ -52,15 +66,21 @@ public class AlarmService {
      * Alarm.type = letter
      * 편지 저장 및 발송 시 편지 발송 리스트 생성 -> 알림 테이블에 저장
      */
+    @Transactional(rollbackFor = Exception.class)
     public void postAlarm_letter(int letterIdx, String senderNickName, List<Integer> receiverIdxList) throws BaseException {
         try {
-            String content = "'" + senderNickName + "'에게서 편지가 도착했습니다.";
+            String content = "'" + senderNickName + "'에게서 편지가 도착했습니다."; // 수신인들이 공유
 
+            List<Object[]> alarmList = new ArrayList<>(receiverIdxList.size()); // {userIdx, letterIdx, content}
             for (int receiverIdx : receiverIdxList) {
-                if (alarmDao.postAlarm_letter(receiverIdx, letterIdx, content) == 0) {
-                    throw new BaseException(POST_FAIL_ALARM);
-                }
+                alarmList.add(new Object[]{receiverIdx, letterIdx, content});
+            }
+
+            if (alarmDao.insertAll("letter", alarmList) != alarmList.size()) {
+                throw new BaseException(POST_FAIL_ALARM);
             }
+            alarmDao.increaseUnreadAlarmNum(alarmList);
+            alarmDao.postPushOutboxList(alarmList);
 
         } catch (BaseException exception) {
             throw new BaseException(POST_FAIL_ALARM); // 알림 저장에 실패하였습니다.
@@ -74,6 +94,7 @@ public class AlarmService {
      * Alarm.type = reply
      * 답장 저장 및 발송 시 해당 수신인에 대하여 알림 테이블에 저장
      */
+    @Transactional(rollbackFor = Exception.class)
     public void postAlarm_reply(int replyIdx, String senderNickName, int receiverIdx) throws BaseException {
         try {
             String content = "'" + senderNickName + "'에게서 답장이 도착했습니다.";
@@ -81,6 +102,8 @@ public class AlarmService {
             if (alarmDao.postAlarm_reply(receiverIdx, replyIdx, content) == 0) {
                 throw new BaseException(POST_FAIL_ALARM);
             }
+            alarmDao.increaseUnreadAlarmNum(receiverIdx);
+            alarmDao.postPushOutbox(receiverIdx, content);
 
 
         } catch (BaseException exception) {
@@ -98,6 +121,7 @@ public class AlarmService {
      *    2-1. 점수 감소 : '신고 처리가 접수되어 화분 점수가 감소하였습니다.'
      *    2-2. 점수 및 단계 감소 : '신고 처리가 접수되어 화분 단계가 n단계로 하락하였습니다.'
      */
+    @Transactional(rollbackFor = Exception.class)
     public void postAlarm_plant(String type, int userIdx, int uPlantIdx, int level) throws BaseException {
         try {
             String content = null;
@@ -116,6 +140,8 @@ public class AlarmService {
             if (alarmDao.postAlarm_plant(userIdx, uPlantIdx, content) == 0) {
                 throw new BaseException(POST_FAIL_ALARM);
             }
+            alarmDao.increaseUnreadAlarmNum(userIdx);
+            alarmDao.postPushOutbox(userIdx, content);
 
         } catch (BaseException exception) {
             throw new BaseException(POST_FAIL_ALARM); // 알림 저장에 실패하였습니다.
@@ -129,6 +155,7 @@ public class AlarmService {
      * Alarm.type = report
      * 신고 접수 시 해당 신고를 당한 회원에 대하여 알림 테이블에 저장
      */
+    @Transactional(rollbackFor = Exception.class)
     public void postAlarm_report(int reportIdx, int receiverIdx, String type) throws BaseException {
         try {
             String content = null;
@@ -150,6 +177,8 @@ public class AlarmService {
             if (alarmDao.postAlarm_report(receiverIdx, reportIdx, content) == 0) {
                 throw new BaseException(POST_FAIL_ALARM);
             }
+            alarmDao.increaseUnreadAlarmNum(receiverIdx);
+            alarmDao.postPushOutbox(receiverIdx, content);
 
         } catch (BaseException exception) {
             throw new BaseException(POST_FAIL_ALARM); // 알림 저장에 실패하였습니다.
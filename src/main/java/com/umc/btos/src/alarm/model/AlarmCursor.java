@@ -0,0 +1,43 @@
+package com.umc.btos.src.alarm.model;
+
+import com.umc.btos.config.BaseException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static com.umc.btos.config.BaseResponseStatus.INVALID_CURSOR;
+
+@Getter
+@AllArgsConstructor
+// 알림 목록 커서 페이징 (createdAt, alarmIdx 기준 내림차순)
+public class AlarmCursor {
+    private String createdAt; // 마지막으로 조회된 알림의 수신 시각 (yyyy-MM-dd HH:mm:ss)
+    private int alarmIdx;
+
+    private static final String DELIMITER = "|";
+
+    // 첫 페이지 : 모든 알림보다 뒤에 있는 커서
+    public static AlarmCursor first() {
+        return new AlarmCursor("9999-12-31 23:59:59", Integer.MAX_VALUE);
+    }
+
+    // 클라이언트에 전달하는 값 (Base64 URL-safe 문자열)
+    public String encode() {
+        String raw = createdAt + DELIMITER + alarmIdx;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AlarmCursor decode(String cursor) throws BaseException {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] values = raw.split("\\" + DELIMITER);
+            return new AlarmCursor(values[0], Integer.parseInt(values[1]));
+
+        } catch (Exception exception) {
+            throw new BaseException(INVALID_CURSOR); // 잘못된 커서 값입니다.
+        }
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.umc.btos.src.alarm.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class PushOutbox {
+    private long outboxIdx;
+    private String fcmToken; // 수신인 User.fcmToken (token이 없거나, 푸시 알림 수신을 거부했거나, 탈퇴 등으로 비활성화된 회원이라면 null)
+    private String content; // 푸시 알림 내용 (= Alarm.content)
+}
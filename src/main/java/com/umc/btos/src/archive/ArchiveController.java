@@ -1,12 +1,18 @@
 package com.umc.btos.src.archive;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.umc.btos.config.*;
 import com.umc.btos.src.archive.model.*;
+import com.umc.btos.utils.JwtService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
 import static com.umc.btos.config.BaseResponseStatus.*;
@@ -18,9 +24,15 @@ public class ArchiveController {
 
     @Autowired
     private final ArchiveProvider archiveProvider;
+    @Autowired
+    private final ObjectMapper objectMapper;
+    @Autowired
+    private final JwtService jwtService;
 
-    public ArchiveController(ArchiveProvider archiveProvider) {
+    public ArchiveController(ArchiveProvider archiveProvider, ObjectMapper objectMapper, JwtService jwtService) {
         this.archiveProvider = archiveProvider;
+        this.objectMapper = objectMapper;
+        this.jwtService = jwtService;
     }
 
     /*
@@ -105,4 +117,44 @@ public class ArchiveController {
         }
     }
 
+    /*
+     * 일기 내보내기
+     * [GET] /archives/export/:userIdx
+     * 모든 일기 & done list를 한 줄에 일기 하나씩 JSON으로 전송 (NDJSON, diaryDate 기준 오름차순 정렬)
+     * 한 줄 = {"diaryIdx", "emotionIdx", "isPublic", "diaryDate", "content", "doneList"} (private 일기는 복호화하여 전송)
+     * 본인만 요청 가능 (X-ACCESS-TOKEN의 userIdx == 경로의 userIdx)
+     */
+    @GetMapping("/export/{userIdx}")
+    public void exportDiaryList(@PathVariable("userIdx") int userIdx, HttpServletResponse response) throws IOException {
+        try {
+            // jwt에서 idx 추출.
+            int userIdxByJwt = jwtService.getUserIdx();
+            // userIdx와 접근한 유저가 같은지 확인
+            if (userIdx != userIdxByJwt) {
+                throw new BaseException(INVALID_USER_JWT); // 권한이 없는 유저의 접근입니다.
+            }
+
+            // TODO : 형식적 validation - 존재하는 회원인가? & User.status = 'active'
+            if (archiveProvider.checkUserIdx(userIdx) == 0) {
+                throw new BaseException(INVALID_USERIDX); // 존재하지 않거나 탈퇴한 회원입니다.
+            }
+
+            response.setContentType("application/x-ndjson");
+            response.setCharacterEncoding("UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"diary_" + userIdx + ".ndjson\"");
+
+            archiveProvider.exportDiaryList(userIdx, response.getOutputStream());
+
+        } catch (BaseException exception) {
+            if (response.isCommitted()) { // 이미 일부 전송된 경우 -> 응답 형식을 바꿀 수 없으므로 전송 중단
+                logger.error("일기 내보내기 실패 : userIdx = " + userIdx + ", " + exception.getStatus().getMessage());
+                return;
+            }
+            response.reset();
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            objectMapper.writeValue(response.getOutputStream(), new BaseResponse<>(exception.getStatus()));
+        }
+    }
+
 }
@@ -2,22 +2,30 @@ package com.umc.btos.src.archive;
 
 import com.umc.btos.config.Constant;
 import com.umc.btos.src.archive.model.*;
+import com.umc.btos.utils.SearchText;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Repository
 public class ArchiveDao {
     private JdbcTemplate jdbcTemplate;
+    private JdbcTemplate jdbcTemplate_streaming; // fetchSize = Integer.MIN_VALUE : MySQL에서 결과를 한 행씩 받아옴 (전체 결과를 메모리에 올리지 않음)
 
     @Autowired
     public void setDateSource(DataSource dataSource) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate_streaming = new JdbcTemplate(dataSource);
+        this.jdbcTemplate_streaming.setFetchSize(Integer.MIN_VALUE);
     }
 
     // ================================================== validation ==================================================
@@ -36,8 +44,13 @@ public class ArchiveDao {
 
     // ================================================== 달력 조회 ===================================================
 
-    // 달력 조회 (diaryDate(일기의 해당 날짜) 기준 오름차순 정렬)
-    public List<GetCalendarRes> getCalendarList(int userIdx, String date) {
+    /*
+     * 달력 조회 (diaryDate(일기의 해당 날짜) 기준 오름차순 정렬)
+     * 일기 정보와 done list 개수(Diary.doneCount), 회원의 프리미엄 여부를 한 번의 쿼리로 조회
+     * User 기준 LEFT JOIN -> 해당 월에 일기가 없어도 isPremium을 가진 행 1개 반환 (diaryIdx = NULL)
+     * type = doneList : doneListNum만 저장 / emotion : emotionIdx만 저장
+     */
+    public CalendarMonth getCalendar(int userIdx, String date, String type) {
         String startDate = date + ".01";
 
         // String parsing -> LocalDate 객체 생성
@@ -45,61 +58,41 @@ public class ArchiveDao {
         LocalDate startDate_localDate = LocalDate.parse(startDate, formatter); // yyyy.MM.01
         LocalDate endDate = startDate_localDate.withDayOfMonth(startDate_localDate.lengthOfMonth()); // 해당 월의 마지막 날 가져오기
 
-        String query = "SELECT diaryIdx, diaryDate " +
-                "FROM Diary " +
-                "WHERE userIdx = ? " +
-                "AND DATE_FORMAT(diaryDate, '%Y.%m.%d') >= DATE_FORMAT(?, '%Y.%m.%d') " +
-                "AND DATE_FORMAT(diaryDate, '%Y.%m.%d') <= DATE_FORMAT(?, '%Y.%m.%d') " +
-                "AND status = 'active' " +
-                "ORDER BY diaryDate ASC";
-
-        return this.jdbcTemplate.query(query,
-                (rs, rowNum) -> new GetCalendarRes(
-                        rs.getInt("diaryIdx"),
-                        rs.getString("diaryDate")
-                ), userIdx, startDate, endDate);
-    }
-
-    // -------------------------------------------------------------------------------------------
-
-    // Diary.emotionIdx 반환
-    public int getEmotionIdx(int userIdx, String diaryDate) {
-        String query = "SELECT emotionIdx FROM Diary WHERE userIdx = ? AND diaryDate = ? AND status = 'active'";
-        return this.jdbcTemplate.queryForObject(query, int.class, userIdx, diaryDate);
-    }
-
-    // isPremium 반환
-    public String isPremium(int userIdx) {
-        String query = "SELECT isPremium FROM User WHERE userIdx = ?";
-        return this.jdbcTemplate.queryForObject(query, String.class, userIdx);
-    }
-
-    // isPublic 반환
-    public int getIsPublic(int diaryIdx) {
-        String query = "SELECT isPublic FROM Diary WHERE diaryIdx = ? AND status = 'active'";
-        return this.jdbcTemplate.queryForObject(query, int.class, diaryIdx);
-    }
-
-    // --------------------------------------- doneListNum ---------------------------------------
-
-    // 달력 조회
-    public int setDoneListNum(int userIdx, String diaryDate) {
-        String query = "SELECT COUNT(*) FROM Done " +
-                "WHERE diaryIdx = " +
-                "(SELECT diaryIdx FROM Diary WHERE userIdx = ? AND diaryDate = ? AND status = 'active') " +
-                "AND status = 'active'";
-
-        return this.jdbcTemplate.queryForObject(query, int.class, userIdx, diaryDate);
-    }
-
-    // 일기 리스트 조회
-    public int setDoneListNum(int diaryIdx) {
-        String query = "SELECT COUNT(*) FROM Done " +
-                "WHERE diaryIdx = " +
-                "(SELECT diaryIdx FROM Diary WHERE diaryIdx = ? AND status = 'active') " +
-                "AND status = 'active'";
-
-        return this.jdbcTemplate.queryForObject(query, int.class, diaryIdx);
+        String query = "SELECT User.isPremium           AS isPremium, " +
+                "       Diary.diaryIdx           AS diaryIdx, " +
+                "       Diary.diaryDate          AS diaryDate, " +
+                "       Diary.emotionIdx         AS emotionIdx, " +
+                "       Diary.doneCount          AS doneListNum " +
+                "FROM User " +
+                "         LEFT JOIN Diary ON Diary.userIdx = User.userIdx " +
+                "                        AND Diary.diaryDate BETWEEN ? AND ? " +
+                "                        AND Diary.status = 'active' " +
+                "WHERE User.userIdx = ? " +
+                "ORDER BY Diary.diaryDate ASC";
+
+        boolean isDoneList = type.compareTo("doneList") == 0;
+
+        return this.jdbcTemplate.query(query, rs -> {
+            String isPremium = null;
+            List<GetCalendarRes> calendar = new ArrayList<>();
+
+            while (rs.next()) {
+                isPremium = rs.getString("isPremium");
+                if (rs.getObject("diaryIdx") == null) { // 해당 월에 작성한 일기가 없는 경우
+                    continue;
+                }
+
+                GetCalendarRes dateInfo = new GetCalendarRes(rs.getInt("diaryIdx"), rs.getString("diaryDate"));
+                if (isDoneList) {
+                    dateInfo.setDoneListNum(rs.getInt("doneListNum"));
+                } else {
+                    dateInfo.setEmotionIdx(rs.getInt("emotionIdx"));
+                }
+                calendar.add(dateInfo);
+            }
+            return new CalendarMonth(isPremium, calendar);
+
+        }, startDate, endDate.format(formatter), userIdx);
     }
 
     // ====================================== 일기 리스트 조회 ======================================
@@ -108,165 +101,158 @@ public class ArchiveDao {
 
     // 1. 전체 조회 (diaryDate 기준 내림차순 정렬)
     public List<Diary> getDiaryList(int userIdx, int pageNum) {
-        int startData = (pageNum - 1) * Constant.DIARYLIST_DATA_NUM;
-        int endData = pageNum * Constant.DIARYLIST_DATA_NUM;
+        int startData = (pageNum - 1) * Constant.DIARYLIST_DATA_NUM; // LIMIT offset, 개수
 
-        String query = "SELECT * FROM Diary " +
+        String query = "SELECT *, LEFT(diaryDate, 7) AS month FROM Diary " +
                 "WHERE userIdx = ? AND status = 'active' " +
                 "ORDER BY diaryDate DESC LIMIT ?, ?";
 
-        return this.jdbcTemplate.query(query,
-                (rs, rowNum) -> new Diary(
-                        rs.getInt("diaryIdx"),
-                        rs.getInt("emotionIdx"),
-                        rs.getString("diaryDate"),
-                        rs.getString("content")
-                ), userIdx, startData, endData);
+        return this.jdbcTemplate.query(query, diaryRowMapper(), userIdx, startData, Constant.DIARYLIST_DATA_NUM);
     }
 
-    // 3. 기간 설정 조회 / 4. 문자열 검색 & 기간 설정 조회 (diaryDate 기준 내림차순 정렬)
+    // 3. 기간 설정 조회 (diaryDate 기준 내림차순 정렬)
     public List<Diary> getDiaryListByDate(int userIdx, String startDate, String endDate, int pageNum) {
-        int startData = (pageNum - 1) * Constant.DIARYLIST_DATA_NUM;
-        int endData = pageNum * Constant.DIARYLIST_DATA_NUM;
+        int startData = (pageNum - 1) * Constant.DIARYLIST_DATA_NUM; // LIMIT offset, 개수
 
-        String query = "SELECT * FROM Diary " +
+        String query = "SELECT *, LEFT(diaryDate, 7) AS month FROM Diary " +
                 "WHERE userIdx = ? " +
                 "AND DATE_FORMAT(diaryDate, '%Y.%m.%d') >= DATE_FORMAT(?, '%Y.%m.%d') " +
                 "AND DATE_FORMAT(diaryDate, '%Y.%m.%d') <= DATE_FORMAT(?, '%Y.%m.%d') " +
                 "AND status = 'active' " +
                 "ORDER BY diaryDate DESC LIMIT ?, ?";
 
-        return this.jdbcTemplate.query(query,
-                (rs, rowNum) -> new Diary(
-                        rs.getInt("diaryIdx"),
-                        rs.getInt("emotionIdx"),
-                        rs.getString("diaryDate"),
-                        rs.getString("content")
-                ), userIdx, startDate, endDate, startData, endData);
+        return this.jdbcTemplate.query(query, diaryRowMapper(), userIdx, startDate, endDate, startData, Constant.DIARYLIST_DATA_NUM);
     }
 
-    // --------------------------------------- COUNT(List<Diary>) ---------------------------------------
-
-    // 1. 전체 조회
-    public int getDiaryList_dataNum(int userIdx) {
-        String query = "SELECT COUNT(*) FROM Diary " +
-                "WHERE userIdx = ? AND status = 'active'";
-
-        return this.jdbcTemplate.queryForObject(query, int.class, userIdx);
-    }
-
-    // 3. 기간 설정 조회 / 4. 문자열 검색 & 기간 설정 조회
-    public int getDiaryListByDate_dataNum(int userIdx, String startDate, String endDate) {
-        String query = "SELECT COUNT(*) FROM Diary " +
-                "WHERE userIdx = ? " +
-                "AND DATE_FORMAT(diaryDate, '%Y.%m.%d') >= DATE_FORMAT(?, '%Y.%m.%d') " +
-                "AND DATE_FORMAT(diaryDate, '%Y.%m.%d') <= DATE_FORMAT(?, '%Y.%m.%d') " +
-                "AND status = 'active'";
+    // 2. 문자열 검색 / 4. 문자열 검색 & 기간 설정 조회 - public 일기 (SearchIndex, diaryDate 기준 내림차순 정렬)
+    // startDate, endDate = null이면 기간 설정 X
+    public List<Diary> getDiaryList_search(int userIdx, String search, String startDate, String endDate) {
+        String query = "SELECT Diary.*, LEFT(Diary.diaryDate, 7) AS month FROM Diary " +
+                "INNER JOIN SearchIndex ON SearchIndex.type = 'diary' AND SearchIndex.typeIdx = Diary.diaryIdx " +
+                "WHERE Diary.userIdx = ? AND Diary.isPublic = 1 AND Diary.status = 'active' " +
+                getDateCondition(startDate, endDate) +
+                "AND " + SearchText.getCondition(search) +
+                "ORDER BY Diary.diaryDate DESC";
+
+        List<Object> params = new ArrayList<>();
+        params.add(userIdx);
+        if (startDate != null && endDate != null) {
+            params.add(startDate);
+            params.add(endDate);
+        }
+        params.addAll(SearchText.getParams(search));
 
-        return this.jdbcTemplate.queryForObject(query, int.class, userIdx, startDate, endDate);
+        return this.jdbcTemplate.query(query, diaryRowMapper(), params.toArray());
     }
 
-    // --------------------------------------- diaryIdxList ---------------------------------------
+    /*
+     * 2. 문자열 검색 / 4. 문자열 검색 & 기간 설정 조회 - private 일기 검색 후보 (암호화된 content, diaryDate 기준 내림차순 정렬)
+     * 검색어의 모든 token을 가진 일기 + 아직 token이 없는 일기 (DiaryToken 도입 이전에 저장된 일기)
+     * tokenList = 빈 리스트이면 모든 private 일기
+     */
+    public List<Diary> getDiaryList_private(int userIdx, List<String> tokenList, String startDate, String endDate) {
+        String tokenCondition = "";
+        if (tokenList.size() != 0) {
+            tokenCondition = "AND (Diary.diaryIdx IN (SELECT diaryIdx FROM DiaryToken " +
+                    "                         WHERE userIdx = ? AND token IN (" + String.join(", ", Collections.nCopies(tokenList.size(), "?")) + ") " +
+                    "                         GROUP BY diaryIdx " +
+                    "                         HAVING COUNT(*) = ?) " +
+                    "     OR NOT EXISTS (SELECT diaryIdx FROM DiaryToken WHERE DiaryToken.diaryIdx = Diary.diaryIdx)) ";
+        }
 
-    // 2. 문자열 검색
-    // 특정 회원의 모든 일기 diaryIdx (diaryDate 기준 내림차순 정렬)
-    public List<Integer> getDiaryIdxList(int userIdx) {
-        String query = "SELECT diaryIdx FROM Diary " +
-                "WHERE userIdx = ? AND status = 'active' " +
-                "ORDER BY diaryDate DESC";
+        String query = "SELECT *, LEFT(diaryDate, 7) AS month FROM Diary " +
+                "WHERE Diary.userIdx = ? AND Diary.isPublic = 0 AND Diary.status = 'active' " +
+                getDateCondition(startDate, endDate) +
+                tokenCondition +
+                "ORDER BY Diary.diaryDate DESC";
+
+        List<Object> params = new ArrayList<>();
+        params.add(userIdx);
+        if (startDate != null && endDate != null) {
+            params.add(startDate);
+            params.add(endDate);
+        }
+        if (tokenList.size() != 0) {
+            params.add(userIdx);
+            params.addAll(tokenList);
+            params.add(tokenList.size());
+        }
 
-        return this.jdbcTemplate.queryForList(query, int.class, userIdx);
+        return this.jdbcTemplate.query(query, diaryRowMapper(), params.toArray());
     }
 
-    // --------------------------------------- Diary ---------------------------------------
-
-    // 일기 조회
-    public Diary getDiary_diaryList(int diaryIdx) {
-        String query = "SELECT * FROM Diary WHERE diaryIdx = ? AND status = 'active'";
-        return this.jdbcTemplate.queryForObject(query,
-                (rs, rowNum) -> new Diary(
-                        rs.getInt("diaryIdx"),
-                        rs.getInt("emotionIdx"),
-                        rs.getString("diaryDate"),
-                        rs.getString("content")
-                ), diaryIdx);
+    // Diary (doneListNum = Diary.doneCount, month = LEFT(diaryDate, 7))
+    private RowMapper<Diary> diaryRowMapper() {
+        return (rs, rowNum) -> new Diary(
+                rs.getInt("diaryIdx"),
+                rs.getInt("doneCount"),
+                rs.getInt("emotionIdx"),
+                rs.getString("diaryDate"),
+                rs.getString("content"),
+                rs.getString("month"),
+                rs.getInt("isPublic")
+        );
     }
 
-    // Diary.content
-    public String getDiaryContent(int diaryIdx) {
-        String query = "SELECT content FROM Diary WHERE diaryIdx = ? AND status = 'active'";
-        return this.jdbcTemplate.queryForObject(query, String.class, diaryIdx);
+    // 기간 설정 조건 (startDate ~ endDate)
+    private String getDateCondition(String startDate, String endDate) {
+        if (startDate == null || endDate == null) {
+            return "";
+        }
+        return "AND DATE_FORMAT(Diary.diaryDate, '%Y.%m.%d') >= DATE_FORMAT(?, '%Y.%m.%d') " +
+                "AND DATE_FORMAT(Diary.diaryDate, '%Y.%m.%d') <= DATE_FORMAT(?, '%Y.%m.%d') ";
     }
 
-    // --------------------------------------- monthList ---------------------------------------
+    // --------------------------------------- COUNT(List<Diary>) ---------------------------------------
 
     // 1. 전체 조회
-    public List<String> getMonthList(int userIdx, int pageNum) {
-        int startData = (pageNum - 1) * Constant.DIARYLIST_DATA_NUM;
-        int endData = pageNum * Constant.DIARYLIST_DATA_NUM;
-
-        String query = "SELECT DISTINCT parsed_diaryDate " +
-                "FROM (SELECT left(diaryDate, 7) AS parsed_diaryDate, diaryDate " +
-                "FROM Diary " +
-                "WHERE userIdx = ? " +
-                "LIMIT ?, ?) parsed_diaryDate " +
-                "ORDER BY parsed_diaryDate DESC";
-
-        return this.jdbcTemplate.queryForList(query, String.class, userIdx, startData, endData);
-    }
-
-    // 2. 문자열 검색 / 4. 문자열 검색 & 기간 설정 조회 (search != null)
-    public List<String> getMonthList(int userIdx, List<Integer> idxList) {
-        String WHERE_diaryIdx_query = "";
-        for (Integer diaryIdx : idxList) {
-            WHERE_diaryIdx_query += " OR diaryIdx = " + diaryIdx;
-        }
-
-        String query = "SELECT DISTINCT parsed_diaryDate " +
-                "FROM (SELECT left(diaryDate, 7) AS parsed_diaryDate, diaryDate " +
-                "FROM Diary " +
-                "      WHERE userIdx = ?" + WHERE_diaryIdx_query +
-                ") parsed_diaryDate " +
-                "ORDER BY parsed_diaryDate DESC";
+    public int getDiaryList_dataNum(int userIdx) {
+        String query = "SELECT COUNT(*) FROM Diary " +
+                "WHERE userIdx = ? AND status = 'active'";
 
-        return this.jdbcTemplate.queryForList(query, String.class, userIdx);
+        return this.jdbcTemplate.queryForObject(query, int.class, userIdx);
     }
 
-    // 3. 기간 설정 조회 (paging)
-    public List<String> getMonthList(int userIdx, String startDate, String endDate, int pageNum) {
-        int startData = (pageNum - 1) * Constant.DIARYLIST_DATA_NUM;
-        int endData = pageNum * Constant.DIARYLIST_DATA_NUM;
-
-        String query = "SELECT DISTINCT parsed_diaryDate " +
-                "FROM (SELECT left(diaryDate, 7) AS parsed_diaryDate, diaryDate FROM Diary " +
+    // 3. 기간 설정 조회
+    public int getDiaryListByDate_dataNum(int userIdx, String startDate, String endDate) {
+        String query = "SELECT COUNT(*) FROM Diary " +
                 "WHERE userIdx = ? " +
                 "AND DATE_FORMAT(diaryDate, '%Y.%m.%d') >= DATE_FORMAT(?, '%Y.%m.%d') " +
                 "AND DATE_FORMAT(diaryDate, '%Y.%m.%d') <= DATE_FORMAT(?, '%Y.%m.%d') " +
-                "AND status = 'active' " +
-                "LIMIT ?, ?) parsed_diaryDate " +
-                "ORDER BY parsed_diaryDate DESC";
+                "AND status = 'active'";
 
-        return this.jdbcTemplate.queryForList(query, String.class, userIdx, startDate, endDate, startData, endData);
+        return this.jdbcTemplate.queryForObject(query, int.class, userIdx, startDate, endDate);
     }
 
     // =================================== 일기 조회 ===================================
 
     // Diary
     public Diary getDiary(int diaryIdx) {
-        String query = "SELECT * FROM Diary WHERE diaryIdx = ? AND status = 'active'";
-        return this.jdbcTemplate.queryForObject(query,
-                (rs, rowNum) -> new Diary(
-                        rs.getInt("diaryIdx"),
-                        rs.getInt("emotionIdx"),
-                        rs.getString("diaryDate"),
-                        rs.getString("content")
-                ), diaryIdx);
+        String query = "SELECT *, LEFT(diaryDate, 7) AS month FROM Diary WHERE diaryIdx = ? AND status = 'active'";
+        return this.jdbcTemplate.queryForObject(query, diaryRowMapper(), diaryIdx);
     }
 
-    // done list 개수 반환
-    public boolean hasDoneList(int diaryIdx) {
-        String query = "SELECT EXISTS (SELECT COUNT(*) FROM Done WHERE diaryIdx = ? AND status = 'active')";
-        return this.jdbcTemplate.queryForObject(query, boolean.class, diaryIdx);
+    // =================================== 일기 내보내기 ===================================
+
+    /*
+     * 회원의 모든 일기 & done list (diaryDate 기준 오름차순 정렬, 일기 하나의 done list는 연속된 행)
+     * 행 = Diary LEFT JOIN Done (done list가 없는 일기 : doneContent = NULL인 행 1개)
+     * streaming result set -> 조회하는 동안 같은 connection으로 다른 쿼리 실행 불가 (Done을 JOIN으로 함께 조회)
+     */
+    public void getDiaryList_export(int userIdx, RowCallbackHandler rowCallbackHandler) {
+        String query = "SELECT Diary.diaryIdx   AS diaryIdx, " +
+                "       Diary.emotionIdx AS emotionIdx, " +
+                "       Diary.isPublic   AS isPublic, " +
+                "       Diary.diaryDate  AS diaryDate, " +
+                "       Diary.content    AS content, " +
+                "       Done.content     AS doneContent " +
+                "FROM Diary " +
+                "         LEFT JOIN Done ON Done.diaryIdx = Diary.diaryIdx AND Done.status = 'active' " +
+                "WHERE Diary.userIdx = ? " +
+                "  AND Diary.status = 'active' " +
+                "ORDER BY Diary.diaryDate ASC, Diary.diaryIdx ASC, Done.doneIdx ASC";
+
+        this.jdbcTemplate_streaming.query(query, rowCallbackHandler, userIdx);
     }
 
     // Done
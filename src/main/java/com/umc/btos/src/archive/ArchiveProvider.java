@@ -1,15 +1,18 @@
 package com.umc.btos.src.archive;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.umc.btos.config.BaseException;
 import com.umc.btos.config.*;
-import com.umc.btos.config.secret.*;
 import com.umc.btos.src.archive.model.*;
-import com.umc.btos.utils.AES128;
+import com.umc.btos.utils.BlindIndex;
+import com.umc.btos.utils.DecryptionStage;
+import com.umc.btos.utils.SearchText;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -20,10 +23,16 @@ public class ArchiveProvider {
     final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private final ArchiveDao archiveDao;
+    private final DecryptionStage decryptionStage;
+    private final CalendarCache calendarCache;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public ArchiveProvider(ArchiveDao archiveDao) {
+    public ArchiveProvider(ArchiveDao archiveDao, DecryptionStage decryptionStage, CalendarCache calendarCache, ObjectMapper objectMapper) {
         this.archiveDao = archiveDao;
+        this.decryptionStage = decryptionStage;
+        this.calendarCache = calendarCache;
+        this.objectMapper = objectMapper;
     }
 
     // ================================================== validation ==================================================
@@ -61,32 +70,28 @@ public class ArchiveProvider {
      * type (조회 방식) = 1. doneList : 나뭇잎 색으로 done list 개수 표현 / 2. emotion : 감정 이모티콘
      */
     public List<GetCalendarRes> getCalendar(int userIdx, String date, String type) throws BaseException {
-        // TODO : 의미적 validation - 프리미엄 미가입자는 감정 이모티콘으로 조회 불가
-        if (type.compareTo("emotion") == 0 && archiveDao.isPremium(userIdx).compareTo("free") == 0) {
-            throw new BaseException(DIARY_NONPREMIUM_USER); // 프리미엄 가입이 필요합니다.
-        }
+        // 캐시에 저장된 달력이 있다면 DB 조회 X
+        CalendarMonth calendarMonth = calendarCache.get(userIdx, date, type);
 
-        try {
-            // 달력 : 한달 단위로 날짜마다 저장된 일기에 대한 정보(done list 개수 또는 감정 이모티콘 식별자)를 저장
-            List<GetCalendarRes> calendar = archiveDao.getCalendarList(userIdx, date);
+        if (calendarMonth == null) {
+            try {
+                long version = calendarCache.getVersion(userIdx);
 
-            // 1. type =  done list -> 일기 별 doneList 개수 저장 (set doneListNum)
-            if (type.compareTo("doneList") == 0) {
-                for (GetCalendarRes dateInfo : calendar) {
-                    dateInfo.setDoneListNum(archiveDao.setDoneListNum(userIdx, dateInfo.getDiaryDate()));
-                }
-            }
-            // 2. type = emotion -> 일기 별 감정 이모티콘 정보 저장 (set emotionIdx)
-            else {
-                for (GetCalendarRes dateInfo : calendar) {
-                    dateInfo.setEmotionIdx(archiveDao.getEmotionIdx(userIdx, dateInfo.getDiaryDate()));
-                }
+                // 달력 : 한달 단위로 날짜마다 저장된 일기에 대한 정보(done list 개수 또는 감정 이모티콘 식별자)를 저장
+                // 1. type =  done list -> 일기 별 doneList 개수 저장 / 2. type = emotion -> 일기 별 감정 이모티콘 정보 저장
+                calendarMonth = archiveDao.getCalendar(userIdx, date, type);
+                calendarCache.put(userIdx, date, type, calendarMonth, version);
+
+            } catch (Exception exception) {
+                throw new BaseException(DATABASE_ERROR);
             }
-            return calendar;
+        }
 
-        } catch (Exception exception) {
-            throw new BaseException(DATABASE_ERROR);
+        // TODO : 의미적 validation - 프리미엄 미가입자는 감정 이모티콘으로 조회 불가
+        if (type.compareTo("emotion") == 0 && calendarMonth.getIsPremium().compareTo("free") == 0) {
+            throw new BaseException(DIARY_NONPREMIUM_USER); // 프리미엄 가입이 필요합니다.
         }
+        return calendarMonth.getCalendar();
     }
 
     /*
@@ -119,75 +124,55 @@ public class ArchiveProvider {
             boolean needsPaging = false;
 
             List<GetDiaryListRes> result = new ArrayList<>();
-            List<Diary> diaryList = new ArrayList<>(); // 일기 정보 저장 (done list 조회 X, 일기 내용만 조회)
-            List<String> monthList = new ArrayList<>(); // response에 들어가게 되는 날짜들 저장 (yyyy.MM)
-            List<Integer> idxList = new ArrayList<>(); // 문자열 검색을 할 경우 monthList 생성하게 해주는 장치 (찾는 값이 존재하는 일기의 인덱스만 저장)
+            List<Diary> diaryList = new ArrayList<>(); // 일기 정보 저장 (done list 조회 X, 일기 내용 & done list 개수 & 월(yyyy.MM)만 조회)
 
             // 1. 전체 조회 - default
 //            if (search.isEmpty() && startDate.isEmpty() && endDate.isEmpty()) {
             if (search == null && startDate == null && endDate == null) {
                 diaryList = archiveDao.getDiaryList(userIdx, pageNum);
-                monthList.addAll(archiveDao.getMonthList(userIdx, pageNum));
                 dataNum_total = archiveDao.getDiaryList_dataNum(userIdx); // 총 데이터 개수
             }
 
-            // 2. 문자열 검색 (search)
+            // 2. 문자열 검색 (search) / 4. 문자열 검색 & 기간 설정 조회 (search, startDate ~ endDate)
             // search & Diary.content : 띄어쓰기 모두 제거 -> 찾기
-//            else if (!search.isEmpty() && startDate.isEmpty() && endDate.isEmpty()) {
-            else if (search != null && startDate == null && endDate == null) {
-                search = search.replaceAll("\"", ""); // 따옴표 제거
-                search = search.replaceAll(" ", ""); // 공백 제거
-                search = search.toLowerCase(); // 영문 대소문자 구분 X
-
-                List<Integer> diaryIdxList_all = archiveDao.getDiaryIdxList(userIdx); // 특정 회원의 모든 일기 diaryIdx : List 형태로 저장
-
-                for (int diaryIdx : diaryIdxList_all) {
-                    String diaryContent = archiveDao.getDiaryContent(diaryIdx);
-                    if (archiveDao.getIsPublic(diaryIdx) == 0) { // private 일기일 경우 content 복호화
-                        diaryContent = new AES128(Secret.PRIVATE_DIARY_KEY).decrypt(diaryContent);
-                    }
+            else if (search != null) {
+                search = SearchText.normalize(search); // 따옴표, 공백 제거 & 영문 대소문자 구분 X
+
+                // public 일기 : SearchIndex로 검색 (diaryDate 기준 내림차순 정렬)
+                List<Diary> diaryList_public = archiveDao.getDiaryList_search(userIdx, search, startDate, endDate);
 
-                    if (searchString(diaryContent, search)) { // 문자열 검색 -> 찾는 값이 존재하는 일기들만 저장
-                        diaryList.add(archiveDao.getDiary_diaryList(diaryIdx));
-                        idxList.add(diaryIdx);
+                // private 일기 : 검색어의 token(DiaryToken)을 모두 가진 일기만 복호화하여 최종 확인
+                List<Diary> diaryList_private = new ArrayList<>();
+                List<String> tokenList = BlindIndex.getSearchTokens(userIdx, search);
+                List<Diary> diaryList_candidate = archiveDao.getDiaryList_private(userIdx, tokenList, startDate, endDate);
+
+                List<String> contentList = new ArrayList<>();
+                for (Diary diary : diaryList_candidate) {
+                    contentList.add(diary.getContent());
+                }
+                contentList = decryptContents(contentList); // 후보 일기 content 한 번에 복호화
+
+                for (int i = 0; i < diaryList_candidate.size(); i++) {
+                    if (searchString(contentList.get(i), search)) { // 문자열 검색 -> 찾는 값이 존재하는 일기들만 저장
+                        diaryList_private.add(diaryList_candidate.get(i)); // content는 암호화된 상태로 저장 (현재 페이지만 복호화)
                     }
                 }
+
+                // 두 목록 병합 (diaryDate 기준 내림차순 정렬)
+                diaryList.addAll(diaryList_public);
+                diaryList.addAll(diaryList_private);
+                diaryList.sort((d1, d2) -> d2.getDiaryDate().compareTo(d1.getDiaryDate()));
+
                 dataNum_total = diaryList.size();
                 if (dataNum_total > Constant.DIARYLIST_DATA_NUM) { // 페이징 처리 필요
                     needsPaging = true;
                 }
+            }
 
-            } else {
-                // 3. 기간 설정 조회 (startDate ~ endDate)
+            // 3. 기간 설정 조회 (startDate ~ endDate)
+            else {
                 diaryList = archiveDao.getDiaryListByDate(userIdx, startDate, endDate, pageNum);
-                monthList.addAll(archiveDao.getMonthList(userIdx, startDate, endDate, pageNum));
                 dataNum_total = archiveDao.getDiaryListByDate_dataNum(userIdx, startDate, endDate);
-
-                // 4. 문자열 검색 & 날짜 기간 설정 조회 (search, startDate ~ endDate)
-//                if (!search.isEmpty()) {
-                if (search != null) {
-                    search = search.replaceAll("\"", ""); // 따옴표 제거
-                    search = search.replaceAll(" ", ""); // 공백 제거
-                    search = search.toLowerCase(); // 영문 대소문자 구분 X
-
-                    List<Diary> diaryList_searched = new ArrayList<>();
-                    for (Diary diary : diaryList) {
-                        String diaryContent = diary.getContent();
-                        if (archiveDao.getIsPublic(diary.getDiaryIdx()) == 0) { // private 일기일 경우 content 복호화
-                            diaryContent = new AES128(Secret.PRIVATE_DIARY_KEY).decrypt(diaryContent);
-                        }
-
-                        if (searchString(diaryContent, search)) { // 문자열 검색 -> 찾는 값이 존재하는 일기들만 저장
-                            diaryList_searched.add(diary);
-                            idxList.add(diary.getDiaryIdx());
-                        }
-                        diaryList = diaryList_searched;
-                    }
-                    dataNum_total = diaryList.size();
-                    if (dataNum_total > Constant.DIARYLIST_DATA_NUM) { // 페이징 처리 필요
-                        needsPaging = true;
-                    }
-                }
             }
 
             if (dataNum_total == 0) {
@@ -219,35 +204,23 @@ public class ArchiveProvider {
             dataNum_currentPage = diaryList.size();
             pageInfo.setDataNum_currentPage(dataNum_currentPage);
 
-            // content 복호화
+            // content 복호화 (현재 페이지의 private 일기를 한 번에 복호화)
+            List<Diary> diaryList_private = new ArrayList<>();
             for (Diary diary : diaryList) {
-                if (archiveDao.getIsPublic(diary.getDiaryIdx()) == 0) { // private 일기일 경우 content 복호화
-                    decryptContents(diary);
+                if (diary.getIsPublic() == 0) { // private 일기일 경우 content 복호화
+                    diaryList_private.add(diary);
                 }
             }
+            decryptDiaryContents(diaryList_private);
 
-//            if (!search.isEmpty()) { // 문자열 검색이 들어간 경우
-            if (search != null) { // 문자열 검색이 들어간 경우
-                monthList = archiveDao.getMonthList(userIdx, idxList); // diaryIdx 리스트로 날짜(yyyy.MM) 리스트 반환 (중복 제거)
-            }
-            for (String month : monthList) {
-                List<Diary> diaryList_month = new ArrayList<>(); // 같은 '년도-달'인 일기들을 묶는 리스트
-                for (Diary diary : diaryList) {
-                    if (diary.getDiaryDate().contains(month)) { //
-                        diaryList_month.add(diary);
-                    }
-                }
-                if (diaryList_month.size() != 0) {
-                    result.add(new GetDiaryListRes(month, diaryList_month)); // GetDiaryListRes 객체 생성
-                }
-            }
-
-            // set doneListNum
-            for (GetDiaryListRes getDiaryListRes : result) {
-                for (int j = 0; j < getDiaryListRes.getDiaryList().size(); j++) {
-                    Diary diary = getDiaryListRes.getDiaryList().get(j);
-                    diary.setDoneListNum(archiveDao.setDoneListNum(diary.getDiaryIdx()));
+            // 월별로 묶기 - diaryList는 diaryDate 기준 내림차순 정렬 -> 같은 월의 일기는 연속되므로 월이 바뀔 때마다 새 묶음 생성
+            GetDiaryListRes diaryList_month = null; // 같은 '년도-달'인 일기들을 묶는 객체
+            for (Diary diary : diaryList) {
+                if (diaryList_month == null || diaryList_month.getMonth().compareTo(diary.getMonth()) != 0) {
+                    diaryList_month = new GetDiaryListRes(diary.getMonth(), new ArrayList<>());
+                    result.add(diaryList_month);
                 }
+                diaryList_month.getDiaryList().add(diary);
             }
 
             return result;
@@ -275,19 +248,22 @@ public class ArchiveProvider {
         try {
             // 일기
             Diary diary = archiveDao.getDiary(diaryIdx);
-            if (archiveDao.getIsPublic(diaryIdx) == 0) { // private 일기일 경우 Diary.content 복호화
-                decryptContents(diary);
-            }
-            int isPublic = archiveDao.getIsPublic(diaryIdx);
+            int isPublic = diary.getIsPublic();
 
             // done list
             List<String> doneList = new ArrayList<>();
-            if (archiveDao.hasDoneList(diaryIdx)) { // 해당 일기에 done list가 있는 경우
+            if (diary.getDoneListNum() != 0) { // 해당 일기에 done list가 있는 경우
                 doneList.addAll(archiveDao.getDoneList(diaryIdx));
+            }
 
-                if (isPublic == 0) { // private 일기일 경우 Done.content 복호화
-                    doneList = decryptContents(doneList); // doneList 갱신
-                }
+            if (isPublic == 0) { // private 일기일 경우 Diary.content & Done.content 한 번에 복호화
+                List<String> contentList = new ArrayList<>();
+                contentList.add(diary.getContent());
+                contentList.addAll(doneList);
+                contentList = decryptContents(contentList);
+
+                diary.setContent(contentList.get(0));
+                doneList = contentList.subList(1, contentList.size()); // doneList 갱신
             }
 
             return new GetDiaryRes(diary.getDiaryIdx(), diary.getEmotionIdx(), isPublic, diary.getDiaryDate(), diary.getContent(), doneList);
@@ -299,29 +275,49 @@ public class ArchiveProvider {
         }
     }
 
+    /*
+     * 일기 내보내기
+     * [GET] /archives/export/:userIdx
+     * 모든 일기를 한 줄에 하나씩 JSON으로 outputStream에 바로 출력 (NDJSON) -> 일기 개수와 관계없이 메모리에는 일기 1개만 유지
+     */
+    public int exportDiaryList(int userIdx, OutputStream outputStream) throws BaseException {
+        DiaryExportWriter diaryExportWriter = new DiaryExportWriter(this, objectMapper, outputStream);
+        try {
+            archiveDao.getDiaryList_export(userIdx, diaryExportWriter);
+            int diaryNum = diaryExportWriter.finish();
+
+            outputStream.flush();
+            return diaryNum;
+
+        } catch (IllegalStateException exception) {
+            if (exception.getCause() instanceof BaseException) {
+                throw (BaseException) exception.getCause(); // 일기 복호화에 실패하였습니다.
+            }
+            throw new BaseException(DATABASE_ERROR);
+        } catch (Exception exception) {
+            throw new BaseException(DATABASE_ERROR);
+        }
+    }
+
     // ================================================ content 복호화 ================================================
 
-    // 일기
-    public void decryptContents(Diary diary) throws BaseException {
-        try {
-            // Diary.content
-            String diaryContent = diary.getContent();
-            diary.setContent(new AES128(Secret.PRIVATE_DIARY_KEY).decrypt(diaryContent));
+    // 일기 (Diary.content)
+    public void decryptDiaryContents(List<Diary> diaryList) throws BaseException {
+        List<String> contentList = new ArrayList<>();
+        for (Diary diary : diaryList) {
+            contentList.add(diary.getContent());
+        }
+        contentList = decryptContents(contentList);
 
-        } catch (Exception ignored) {
-            throw new BaseException(DIARY_DECRYPTION_ERROR); // 일기 복호화에 실패하였습니다.
+        for (int i = 0; i < diaryList.size(); i++) {
+            diaryList.get(i).setContent(contentList.get(i));
         }
     }
 
-    // done list
-    public List<String> decryptContents(List<String> doneList) throws BaseException {
+    // Diary.content & Done.content (순서 유지)
+    public List<String> decryptContents(List<String> contentList) throws BaseException {
         try {
-            // Done.content
-            List<String> doneList_decrypted = new ArrayList<>();
-            for (String doneContent : doneList) {
-                doneList_decrypted.add(new AES128(Secret.PRIVATE_DIARY_KEY).decrypt(doneContent));
-            }
-            return doneList_decrypted;
+            return decryptionStage.decryptAll(contentList);
 
         } catch (Exception ignored) {
             throw new BaseException(DIARY_DECRYPTION_ERROR); // 일기 복호화에 실패하였습니다.
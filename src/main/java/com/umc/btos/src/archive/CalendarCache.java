@@ -0,0 +1,129 @@
+package com.umc.btos.src.archive;
+
+import com.umc.btos.config.Constant;
+import com.umc.btos.src.archive.model.CalendarMonth;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Archive 달력 캐시 (메모리)
+ * key = userIdx_yyyy.MM_type, value = 한달 단위 달력 (CalendarMonth)
+ * 최대 CALENDAR_CACHE_SIZE개까지 저장하고, 초과 시 가장 오래 조회되지 않은 달력부터 삭제 (LRU)
+ *
+ * 일기 저장 / 수정 / 삭제 시 해당 월의 달력만 삭제하고, 프리미엄 가입 여부가 바뀌면 해당 회원의 달력을 모두 삭제한다.
+ * DB 조회 도중 같은 회원의 달력 삭제가 일어난 경우 조회 결과를 저장하지 않음 (삭제 이전 데이터가 다시 저장되는 것 방지)
+ * -> 삭제 횟수(version)는 회원별로 관리 (다른 회원의 일기 저장 / 수정 / 삭제로 인해 저장이 취소되지 않도록)
+ * 트랜잭션 안에서 삭제한 경우 트랜잭션 종료 후 한 번 더 삭제 (commit 이전 데이터가 그 사이에 저장되는 것 방지)
+ *
+ * 조회 수 (hit / miss)는 누적하여 10분마다 로그로 남긴다.
+ */
+@Component
+public class CalendarCache {
+    final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private static final String[] TYPES = new String[]{"doneList", "emotion"};
+
+    private final Map<String, CalendarMonth> calendarMap = new LinkedHashMap<String, CalendarMonth>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CalendarMonth> eldest) {
+            return size() > Constant.CALENDAR_CACHE_SIZE;
+        }
+    };
+    private final Map<Integer, Long> invalidateNumMap = new HashMap<>(); // key = userIdx, value = 삭제 횟수 (DB 조회 도중 삭제 여부 확인용)
+
+    // 조회 수 (10분 단위로 초기화)
+    private final LongAdder hitNum = new LongAdder();
+    private final LongAdder missNum = new LongAdder();
+
+    // 달력 조회 (없으면 null)
+    public synchronized CalendarMonth get(int userIdx, String date, String type) {
+        CalendarMonth calendarMonth = calendarMap.get(getKey(userIdx, date, type));
+        if (calendarMonth == null) {
+            missNum.increment();
+        } else {
+            hitNum.increment();
+        }
+        return calendarMonth;
+    }
+
+    // DB 조회 시작 전 호출 -> put 시 전달
+    public synchronized long getVersion(int userIdx) {
+        return invalidateNumMap.getOrDefault(userIdx, 0L);
+    }
+
+    // 달력 저장 (version 이후 해당 회원의 달력 삭제가 일어났다면 저장 X)
+    public synchronized void put(int userIdx, String date, String type, CalendarMonth calendarMonth, long version) {
+        if (version == getVersion(userIdx)) {
+            calendarMap.put(getKey(userIdx, date, type), calendarMonth);
+        }
+    }
+
+    // 해당 월의 달력 삭제 (일기 저장 / 수정 / 삭제 시) - diaryDate = yyyy.MM.dd
+    public void invalidate(int userIdx, String diaryDate) {
+        String date = diaryDate.replaceAll("-", ".").substring(0, 7); // yyyy.MM
+        runAfterCompletion(() -> remove(userIdx, date));
+    }
+
+    // 해당 회원의 달력 모두 삭제 (프리미엄 가입 & 철회 시)
+    public void invalidate(int userIdx) {
+        runAfterCompletion(() -> remove(userIdx));
+    }
+
+    private synchronized void remove(int userIdx, String date) {
+        invalidateNumMap.merge(userIdx, 1L, Long::sum);
+        for (String type : TYPES) {
+            calendarMap.remove(getKey(userIdx, date, type));
+        }
+    }
+
+    private synchronized void remove(int userIdx) {
+        invalidateNumMap.merge(userIdx, 1L, Long::sum);
+        String prefix = userIdx + "_";
+        calendarMap.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    // 바로 삭제 & 진행 중인 트랜잭션이 있다면 종료 후 한 번 더 삭제
+    private void runAfterCompletion(Runnable remove) {
+        remove.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove.run();
+                }
+            });
+        }
+    }
+
+    private String getKey(int userIdx, String date, String type) {
+        // 조회 방식 : doneList가 아니면 emotion으로 조회됨 (ArchiveDao.getCalendar)
+        return userIdx + "_" + date + "_" + (type.compareTo("doneList") == 0 ? TYPES[0] : TYPES[1]);
+    }
+
+    // 조회 수 로그 (10분마다)
+    @Scheduled(fixedRate = 600000)
+    public void logHitRate() {
+        long hitNum = this.hitNum.sumThenReset();
+        long missNum = this.missNum.sumThenReset();
+
+        if (hitNum + missNum == 0) {
+            return;
+        }
+        int size;
+        synchronized (this) {
+            size = calendarMap.size();
+        }
+        logger.info("CalendarCache : hit = " + hitNum + ", miss = " + missNum
+                + ", hit rate = " + (hitNum * 100 / (hitNum + missNum)) + "%, size = " + size);
+    }
+
+}
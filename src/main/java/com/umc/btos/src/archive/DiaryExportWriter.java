@@ -0,0 +1,93 @@
+package com.umc.btos.src.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.umc.btos.config.BaseException;
+import com.umc.btos.src.archive.model.GetDiaryRes;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * 일기 내보내기 (ArchiveDao.getDiaryList_export의 행 처리)
+ * 행 = 일기 1개 & done list 1개 (diaryIdx 순서로 연속) -> diaryIdx가 바뀔 때마다 이전 일기를 JSON 한 줄로 출력 (NDJSON)
+ * 메모리에는 현재 일기 1개만 유지하고, private 일기는 출력 직전에 복호화한다.
+ */
+public class DiaryExportWriter implements RowCallbackHandler {
+
+    private final ArchiveProvider archiveProvider;
+    private final ObjectMapper objectMapper;
+    private final OutputStream outputStream;
+
+    private GetDiaryRes diary = null; // 현재 일기
+    private int diaryNum = 0; // 출력한 일기 개수
+
+    public DiaryExportWriter(ArchiveProvider archiveProvider, ObjectMapper objectMapper, OutputStream outputStream) {
+        this.archiveProvider = archiveProvider;
+        this.objectMapper = objectMapper;
+        this.outputStream = outputStream;
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+        int diaryIdx = rs.getInt("diaryIdx");
+
+        if (diary == null || diary.getDiaryIdx() != diaryIdx) { // 다음 일기
+            write();
+            diary = new GetDiaryRes(
+                    diaryIdx,
+                    rs.getInt("emotionIdx"),
+                    rs.getInt("isPublic"),
+                    rs.getString("diaryDate"),
+                    rs.getString("content"),
+                    new ArrayList<>()
+            );
+        }
+
+        String doneContent = rs.getString("doneContent"); // done list가 없는 일기 : null
+        if (doneContent != null) {
+            diary.getDoneList().add(doneContent);
+        }
+    }
+
+    // 마지막 일기 출력 (조회 완료 후 호출)
+    public int finish() {
+        write();
+        return diaryNum;
+    }
+
+    private void write() {
+        if (diary == null) {
+            return;
+        }
+
+        try {
+            if (diary.getIsPublic() == 0) { // private 일기일 경우 Diary.content & Done.content 한 번에 복호화
+                List<String> contentList = new ArrayList<>();
+                contentList.add(diary.getContent());
+                contentList.addAll(diary.getDoneList());
+                contentList = archiveProvider.decryptContents(contentList);
+
+                diary.setContent(contentList.get(0));
+                diary.setDoneList(contentList.subList(1, contentList.size()));
+            }
+
+            outputStream.write(objectMapper.writeValueAsBytes(diary));
+            outputStream.write('\n');
+            diaryNum++;
+            diary = null;
+
+        } catch (BaseException exception) {
+            throw new IllegalStateException(exception); // ArchiveProvider.exportDiaryList에서 BaseException으로 변환
+
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.umc.btos.src.archive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class CalendarMonth {
+    private String isPremium; // User.isPremium (free / premium)
+    private List<GetCalendarRes> calendar; // 한달 단위 달력 (diaryDate 기준 오름차순 정렬)
+}
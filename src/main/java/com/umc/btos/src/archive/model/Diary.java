@@ -1,5 +1,6 @@
 package com.umc.btos.src.archive.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
@@ -14,12 +15,9 @@ public class Diary {
     private int emotionIdx;
     private String diaryDate; // yyyy.MM.dd
     private String content;
-
-    public Diary(int diaryIdx, int emotionIdx, String diaryDate, String content) {
-        this.diaryIdx = diaryIdx;
-        this.emotionIdx = emotionIdx;
-        this.diaryDate = diaryDate;
-        this.content = content;
-    }
+    @JsonIgnore
+    private String month; // 월별 묶음 기준 - LEFT(diaryDate, 7) (yyyy.MM)
+    @JsonIgnore
+    private int isPublic; // 1 : public / 0 : private (content 복호화 여부)
 
 }
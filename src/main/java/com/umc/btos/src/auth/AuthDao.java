@@ -52,15 +52,20 @@ public class AuthDao {
         return this.jdbcTemplate.queryForObject(checkStatusOfUserQuery, String.class, checkStatusOfUserParam);
     }
 
-    // 해당 userIdx을 가진 유저 상태 체크 -> 휴면이면 재활성화, 탈퇴면 예외 메시지
-    public void checkStatusOfUser(int userIdx) throws BaseException {
+    // 해당 userIdx을 가진 유저 상태 체크 -> 휴면이면 재활성화, 탈퇴면 예외 메시지 (재활성화되었다면 true 반환)
+    public boolean checkStatusOfUser(int userIdx) throws BaseException {
         String statusOfUserQuery = "select status from User where userIdx = ?";
+        String status = this.jdbcTemplate.queryForObject(statusOfUserQuery, String.class, userIdx);
 
-        if (this.jdbcTemplate.queryForObject(statusOfUserQuery, String.class, userIdx).equals("dormant")) // 휴면 상태면 재활성화
+        if (status.equals("dormant")) { // 휴면 상태면 재활성화
             jdbcTemplate.update("update User set status = 'active', recOthers = 1, recSimilarAge = 1 where userIdx = ?", userIdx);
+            return true;
+        }
 
-        else if (this.jdbcTemplate.queryForObject(statusOfUserQuery, String.class, userIdx).equals("deleted")) // 탈퇴 상태면 throw exception
+        else if (status.equals("deleted")) // 탈퇴 상태면 throw exception
             throw new BaseException(INVALID_JWT);
+
+        return false;
     }
 
     // 해당 이메일을 가진 유저의 식별자 반환
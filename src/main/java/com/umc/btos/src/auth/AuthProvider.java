@@ -3,6 +3,7 @@ package com.umc.btos.src.auth;
 import com.umc.btos.config.BaseException;
 import com.umc.btos.config.secret.Secret;
 import com.umc.btos.src.auth.model.*;
+import com.umc.btos.src.user.RecipientIndex;
 import com.umc.btos.utils.*;
 import com.umc.btos.utils.JwtService;
 import org.slf4j.Logger;
@@ -17,13 +18,15 @@ public class AuthProvider {
 
     private final AuthDao authDao;
     private final JwtService jwtService;
+    private final RecipientIndex recipientIndex;
 
     final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     @Autowired
-    public AuthProvider(AuthDao authDao, JwtService jwtService) {
+    public AuthProvider(AuthDao authDao, JwtService jwtService, RecipientIndex recipientIndex) {
         this.authDao = authDao;
         this.jwtService = jwtService;
+        this.recipientIndex = recipientIndex;
     }
 
     // 해당 이메일이 이미 User Table에 존재하는지 확인
@@ -48,9 +51,12 @@ public class AuthProvider {
     // 자동 로그인
     public GetAuthLoginRes authLogIn() throws BaseException {
         try {
-            authDao.checkStatusOfUser(jwtService.getUserIdx()); // 휴면 상태 로그인 시 상태 재 활성화, 탈퇴 유저면 오류 메시지
-            authDao.updateLastConnect(jwtService.getUserIdx()); // 로그인 기록 갱신
-            return new GetAuthLoginRes(jwtService.getUserIdx()); // 유저 idx
+            int userIdx = jwtService.getUserIdx(); // JWT에서 userIdx 추출 (한 번만)
+            if (authDao.checkStatusOfUser(userIdx)) { // 휴면 상태 로그인 시 상태 재 활성화, 탈퇴 유저면 오류 메시지
+                recipientIndex.refresh(userIdx); // 재활성화된 경우에만 수신 가능한 회원 목록 갱신
+            }
+            authDao.updateLastConnect(userIdx); // 로그인 기록 갱신
+            return new GetAuthLoginRes(userIdx); // 유저 idx
         } catch(Exception exception) {
             throw new BaseException(INVALID_JWT);
         }
@@ -121,7 +121,7 @@ public class DiaryController {
                 throw new BaseException(INVALID_USER_ABOUT_DIARY); // 해당 일기에 접근 권한이 없는 회원입니다.
             }
 
-            diaryService.deleteDiary(diaryIdx); // 일기 삭제
+            diaryService.deleteDiary(userIdx, diaryIdx); // 일기 삭제
 
             String result = "일기-diaryIdx=" + diaryIdx + " 삭제 완료";
             return new BaseResponse<>(result);
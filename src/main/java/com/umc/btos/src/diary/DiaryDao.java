@@ -9,6 +9,7 @@ import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 @Repository
@@ -58,18 +59,85 @@ public class DiaryDao {
         return this.jdbcTemplate.queryForObject(get_diaryIdx_query, int.class);
     }
 
-    // done list 저장
+    // done list 저장 (batch INSERT) & Diary.doneCount 갱신
     public void saveDoneList(int diaryIdx, List doneList) {
+        insertDoneList(diaryIdx, doneList);
+
+        String query_doneCount = "UPDATE Diary SET doneCount = ? WHERE diaryIdx = ?";
+        this.jdbcTemplate.update(query_doneCount, doneList.size(), diaryIdx);
+    }
+
+    // done list INSERT (doneList 순서대로 저장)
+    public int[][] insertDoneList(int diaryIdx, List<?> doneList) {
         String query = "INSERT INTO Done(diaryIdx, content) VALUES(?,?)";
+        return this.jdbcTemplate.batchUpdate(query, doneList, Constant.BATCH_SIZE,
+                (ps, doneContent) -> {
+                    ps.setInt(1, diaryIdx);
+                    ps.setString(2, doneContent.toString());
+                });
+    }
 
-        for (Object doneContent : doneList) {
-            Object[] done = new Object[]{
-                    diaryIdx, doneContent
-            };
-            this.jdbcTemplate.update(query, done); // Done Table에 순차적으로 저장
+    // 내용 검색 색인 저장 (SearchIndex) - private 일기는 암호화되어 저장되므로 색인하지 않음 (기존 색인 삭제)
+    public void setSearchIndex(int diaryIdx, int isPublic) {
+        if (isPublic == 1) {
+            String query = "INSERT INTO SearchIndex(type, typeIdx, userIdx, content) " +
+                    "SELECT 'diary', diaryIdx, userIdx, LOWER(REPLACE(content, ' ', '')) " +
+                    "FROM Diary WHERE diaryIdx = ? " +
+                    "ON DUPLICATE KEY UPDATE content = VALUES(content)";
+            this.jdbcTemplate.update(query, diaryIdx);
+
+        } else {
+            String query = "DELETE FROM SearchIndex WHERE type = 'diary' AND typeIdx = ?";
+            this.jdbcTemplate.update(query, diaryIdx);
         }
     }
 
+    // private 일기 검색 token 저장 (DiaryToken) - 기존 token 삭제 후 저장 (public 일기 : tokenList = 빈 리스트)
+    public void setDiaryToken(int diaryIdx, int userIdx, List<String> tokenList) {
+        String deleteQuery = "DELETE FROM DiaryToken WHERE diaryIdx = ?";
+        this.jdbcTemplate.update(deleteQuery, diaryIdx);
+
+        String query = "INSERT IGNORE INTO DiaryToken(userIdx, token, diaryIdx) VALUES(?,?,?)";
+        this.jdbcTemplate.batchUpdate(query, tokenList, Constant.BATCH_SIZE,
+                (ps, token) -> {
+                    ps.setInt(1, userIdx);
+                    ps.setString(2, token);
+                    ps.setInt(3, diaryIdx);
+                });
+    }
+
+    // 검색 token이 없는 private 일기 (DiaryToken 도입 이전에 저장된 일기)
+    public List<PrivateDiary> getPrivateDiaryList_nonTokenized(int limit) {
+        String query = "SELECT diaryIdx, userIdx, content FROM Diary " +
+                "WHERE isPublic = 0 AND status = 'active' " +
+                "AND NOT EXISTS (SELECT diaryIdx FROM DiaryToken WHERE DiaryToken.diaryIdx = Diary.diaryIdx) " +
+                "ORDER BY diaryIdx " +
+                "LIMIT ?";
+
+        return this.jdbcTemplate.query(query,
+                (rs, rowNum) -> new PrivateDiary(
+                        rs.getInt("diaryIdx"),
+                        rs.getInt("userIdx"),
+                        rs.getString("content")
+                ), limit);
+    }
+
+    // 검색 token이 없는 private 일기 1개 - 일기 행 잠금 (SELECT ... FOR UPDATE)
+    // 그 사이 수정되어 색인되었거나 public으로 변경 또는 삭제된 경우 빈 리스트
+    public List<PrivateDiary> getPrivateDiary_nonTokenized_forUpdate(int diaryIdx) {
+        String query = "SELECT diaryIdx, userIdx, content FROM Diary " +
+                "WHERE diaryIdx = ? AND isPublic = 0 AND status = 'active' " +
+                "AND NOT EXISTS (SELECT diaryIdx FROM DiaryToken WHERE DiaryToken.diaryIdx = Diary.diaryIdx) " +
+                "FOR UPDATE";
+
+        return this.jdbcTemplate.query(query,
+                (rs, rowNum) -> new PrivateDiary(
+                        rs.getInt("diaryIdx"),
+                        rs.getInt("userIdx"),
+                        rs.getString("content")
+                ), diaryIdx);
+    }
+
     // =================================== 일기 수정 ===================================
 
     // diaryDate 반환
@@ -78,35 +146,39 @@ public class DiaryDao {
         return this.jdbcTemplate.queryForObject(query, String.class, diaryIdx);
     }
 
-    // 일기 수정
+    // 일기 수정 (doneCount = 수정 done list 개수)
     public int modifyDiary(PutDiaryReq putDiaryReq) {
-        String query = "UPDATE Diary SET emotionIdx = ?, diaryDate = ?, isPublic = ?, content = ? WHERE diaryIdx = ?";
-        Object[] params = new Object[]{putDiaryReq.getEmotionIdx(), putDiaryReq.getDiaryDate(), putDiaryReq.getIsPublic_int(), putDiaryReq.getDiaryContent(), putDiaryReq.getDiaryIdx()};
+        String query = "UPDATE Diary SET emotionIdx = ?, diaryDate = ?, isPublic = ?, content = ?, doneCount = ? WHERE diaryIdx = ?";
+        Object[] params = new Object[]{putDiaryReq.getEmotionIdx(), putDiaryReq.getDiaryDate(), putDiaryReq.getIsPublic_int(), putDiaryReq.getDiaryContent(), putDiaryReq.getDoneList().size(), putDiaryReq.getDiaryIdx()};
         return this.jdbcTemplate.update(query, params);
     }
 
-    // 해당 일기의 모든 doneIdx를 List 형태로 반환
+    // 해당 일기의 모든 doneIdx를 List 형태로 반환 (doneIdx 기준 오름차순 정렬 = 저장 순서)
     public List<Integer> getDoneIdxList(PutDiaryReq putDiaryReq) {
-        String query = "SELECT doneIdx FROM Done WHERE diaryIdx = ?";
+        String query = "SELECT doneIdx FROM Done WHERE diaryIdx = ? ORDER BY doneIdx ASC";
         return this.jdbcTemplate.queryForList(query, int.class, putDiaryReq.getDiaryIdx());
     }
 
-    // done 수정 - UPDATE
-    public int modifyDone(int doneIdx, String doneContent) {
-        String query = "UPDATE Done SET content = ?, status = 'active' WHERE doneIdx = ?";
-        return this.jdbcTemplate.update(query, doneContent, doneIdx);
-    }
+    // done 수정 - UPDATE (doneIdxList[i]의 content = doneContentList[i])
+    public int[][] modifyDoneList(List<Integer> doneIdxList, List<String> doneContentList) {
+        List<Integer> rowList = new ArrayList<>(); // doneIdxList의 index
+        for (int i = 0; i < doneIdxList.size(); i++) {
+            rowList.add(i);
+        }
 
-    // done 수정 - INSERT
-    public int modifyDone_insert(int diaryIdx, String doneContent) {
-        String query = "INSERT INTO Done(diaryIdx, content) VALUE(?,?)";
-        return this.jdbcTemplate.update(query, diaryIdx, doneContent);
+        String query = "UPDATE Done SET content = ?, status = 'active' WHERE doneIdx = ?";
+        return this.jdbcTemplate.batchUpdate(query, rowList, Constant.BATCH_SIZE,
+                (ps, i) -> {
+                    ps.setString(1, doneContentList.get(i));
+                    ps.setInt(2, doneIdxList.get(i));
+                });
     }
 
     // done 수정 - status = 'deleted'
-    public int modifyDone_modifyStatus(int doneIdx) {
+    public int[][] modifyDoneList_modifyStatus(List<Integer> doneIdxList) {
         String query = "UPDATE Done SET status = 'deleted' WHERE doneIdx = ?";
-        return this.jdbcTemplate.update(query, doneIdx);
+        return this.jdbcTemplate.batchUpdate(query, doneIdxList, Constant.BATCH_SIZE,
+                (ps, doneIdx) -> ps.setInt(1, doneIdx));
     }
 
     // =================================== 일기 삭제 ===================================
@@ -118,8 +190,11 @@ public class DiaryDao {
         return this.jdbcTemplate.update(query, params);
     }
 
-    // done list 삭제 - Done.status : active -> deleted
+    // done list 삭제 - Done.status : active -> deleted & Diary.doneCount = 0
     public int deleteDone(int diaryIdx) {
+        String query_doneCount = "UPDATE Diary SET doneCount = 0 WHERE diaryIdx = ?";
+        this.jdbcTemplate.update(query_doneCount, diaryIdx);
+
         String query = "UPDATE Done SET status = ? WHERE diaryIdx = ?";
         Object[] params = new Object[]{"deleted", diaryIdx};
         return this.jdbcTemplate.update(query, params);
@@ -159,6 +234,9 @@ public class DiaryDao {
     public void modifyIsChecked(int userIdx, int diaryIdx) {
         String query = "UPDATE DiarySendList SET isChecked = 1 WHERE receiverIdx = ? AND diaryIdx = ?";
         this.jdbcTemplate.update(query, userIdx, diaryIdx);
+
+        String query_received = "UPDATE ReceivedItem SET isChecked = 1 WHERE receiverIdx = ? AND type = 'diary' AND typeIdx = ?";
+        this.jdbcTemplate.update(query_received, userIdx, diaryIdx);
     }
 
     // =================================== 일기 발송 ===================================
@@ -169,23 +247,20 @@ public class DiaryDao {
         return this.jdbcTemplate.queryForList(query, int.class, date);
     }
 
-    // 수신 동의한 모든 userIdx 반환 (User.recOthers = 1)
-    public List<Integer> getUserIdxList_total() {
-        String query = "SELECT userIdx FROM User WHERE recOthers = 1 AND status = 'active'";
-        return this.jdbcTemplate.queryForList(query, int.class);
-    }
-
-    // 비슷한 나이대 수신 동의한 회원 수 반환 (recSimilarAge = 1)
-    public int getUserIdxNum_similarAge() {
-        String query = "SELECT COUNT(*) FROM User WHERE recSimilarAge = 1 AND status = 'active'";
-        return this.jdbcTemplate.queryForObject(query, int.class);
-    }
+    // 당일 발송해야 하는 모든 일기의 발신인 정보 반환 (diaryIdx, userIdx, birth, nickName)
+    public List<Sender> getSenderList(String date) {
+        String query = "SELECT Diary.diaryIdx, User.userIdx, IFNULL(User.birth, 0) AS birth, User.nickName " +
+                "FROM Diary " +
+                "INNER JOIN User ON Diary.userIdx = User.userIdx " +
+                "WHERE Diary.diaryDate = ? AND Diary.isPublic = 1 AND Diary.status = 'active'";
 
-    // 발신인 userIdx 반환
-    public int getSenderUserIdx(int diaryIdx) {
-        String query = "SELECT Diary.userIdx FROM Diary WHERE diaryIdx = ?";
-
-        return this.jdbcTemplate.queryForObject(query, int.class, diaryIdx);
+        return this.jdbcTemplate.query(query,
+                (rs, rowNum) -> new Sender(
+                        rs.getInt("diaryIdx"),
+                        rs.getInt("userIdx"),
+                        rs.getInt("birth"),
+                        rs.getString("nickName")
+                ), date);
     }
 
     // 발신인 nickName 반환
@@ -197,34 +272,33 @@ public class DiaryDao {
         return this.jdbcTemplate.queryForObject(query, String.class, diaryIdx);
     }
 
-    // 발신인 생년 반환 (User.birth)
-    public int getSenderBirth(int diaryIdx) {
-        String query = "SELECT birth FROM User " +
-                "INNER JOIN Diary ON User.userIdx = Diary.userIdx " +
-                "WHERE diaryIdx = ?";
-
-        return this.jdbcTemplate.queryForObject(query, int.class, diaryIdx);
-    }
+    // 일기 발송 (DiarySendList) - Constant.BATCH_SIZE개씩 나누어 batch INSERT
+    public void setDiarySendList(List<GetSendListRes> diarySendList) {
+        String query = "INSERT INTO DiarySendList(diaryIdx, receiverIdx) VALUES(?,?)";
 
-    // 발송 가능한 & 비슷한 나이대를 갖는(senderBirth -5 ~ +5) 모든 userIdx 반환
-    public List<Integer> getUserIdxList_similarAge(int userIdx, int senderBirth) {
-        String query = "SELECT userIdx FROM User " +
-                "WHERE userIdx != ? " + // 발신인 userIdx 제외
-                "AND recOthers = 1 AND recSimilarAge = 1 " +
-                "AND (birth >= ? OR birth <= ?)" +
-                "AND status = 'active'";
+        List<int[]> diarySendRows = new ArrayList<>(); // {diaryIdx, receiverIdx}
+        for (GetSendListRes diary : diarySendList) {
+            for (int receiverIdx : diary.getReceiverIdxList()) {
+                diarySendRows.add(new int[]{diary.getDiaryIdx(), receiverIdx});
+            }
+        }
 
-        return this.jdbcTemplate.queryForList(query, int.class, userIdx, senderBirth - Constant.SIMILAR_AGE_STANDARD, senderBirth + Constant.SIMILAR_AGE_STANDARD);
+        this.jdbcTemplate.batchUpdate(query, diarySendRows, Constant.BATCH_SIZE,
+                (ps, row) -> {
+                    ps.setInt(1, row[0]);
+                    ps.setInt(2, row[1]);
+                });
     }
 
-    // 일기 발송 (DiarySendList)
-    public void setDiarySendList(int diaryIdx, int receiverIdx) {
-        String query = "INSERT INTO DiarySendList(diaryIdx, receiverIdx) VALUES(?,?)";
+    // 수신 목록 저장 (ReceivedItem) - diaryDate에 작성된 일기의 DiarySendList를 한 번에 INSERT
+    public void setReceivedItem_diary(String diaryDate) {
+        String query = "INSERT IGNORE INTO ReceivedItem(receiverIdx, type, typeIdx, senderIdx, sendAt) " +
+                "SELECT DiarySendList.receiverIdx, 'diary', Diary.diaryIdx, Diary.userIdx, DiarySendList.createdAt " +
+                "FROM DiarySendList " +
+                "INNER JOIN Diary ON DiarySendList.diaryIdx = Diary.diaryIdx " +
+                "WHERE Diary.diaryDate = ? AND DiarySendList.status = 'active'";
 
-        Object[] diarySendList = new Object[]{
-                diaryIdx, receiverIdx
-        };
-        this.jdbcTemplate.update(query, diarySendList);
+        this.jdbcTemplate.update(query, diaryDate);
     }
 
     // 일기 발송 리스트 반환
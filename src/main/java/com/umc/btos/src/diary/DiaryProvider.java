@@ -1,15 +1,17 @@
 package com.umc.btos.src.diary;
 
 import com.umc.btos.config.*;
-import com.umc.btos.config.secret.Secret;
 import com.umc.btos.src.alarm.AlarmService;
 import com.umc.btos.src.diary.model.*;
-import com.umc.btos.utils.AES128;
+import com.umc.btos.src.user.RecipientIndex;
+import com.umc.btos.src.user.model.Recipient;
+import com.umc.btos.utils.DecryptionStage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -22,14 +24,19 @@ public class DiaryProvider {
 
     private final DiaryDao diaryDao;
     private final AlarmService alarmService;
+    private final RecipientIndex recipientIndex;
+    private final DecryptionStage decryptionStage;
+    private final Random random = new Random(); // 일기 발송 시 수신인 및 일기 무작위 선택
 
 //    @Value("${secret.private-diary-key}")
 //    String PRIVATE_DIARY_KEY;
 
     @Autowired
-    public DiaryProvider(DiaryDao diaryDao, AlarmService alarmService) {
+    public DiaryProvider(DiaryDao diaryDao, AlarmService alarmService, RecipientIndex recipientIndex, DecryptionStage decryptionStage) {
         this.diaryDao = diaryDao;
         this.alarmService = alarmService;
+        this.recipientIndex = recipientIndex;
+        this.decryptionStage = decryptionStage;
     }
 
     /*
@@ -109,16 +116,18 @@ public class DiaryProvider {
     // content 복호화
     public void decryptContents(GetDiaryRes diary) throws BaseException {
         try {
-            // Diary.content
-            String diaryContent = diary.getContent();
-            diary.setContent(new AES128(Secret.PRIVATE_DIARY_KEY).decrypt(diaryContent));
-
-            // Done.content
+            // Diary.content & Done.content 한 번에 복호화 (contentList = [Diary.content, Done.content ...])
             List<GetDoneRes> doneList = diary.getDoneList();
+            List<String> contentList = new ArrayList<>();
+            contentList.add(diary.getContent());
+            for (GetDoneRes done : doneList) {
+                contentList.add(done.getContent());
+            }
+            contentList = decryptionStage.decryptAll(contentList);
+
+            diary.setContent(contentList.get(0));
             for (int j = 0; j < doneList.size(); j++) {
-                String doneContent = diary.getDoneList().get(j).getContent();
-                diary.getDoneList().get(j).setContent(new AES128(Secret.PRIVATE_DIARY_KEY).decrypt(doneContent));
-//                diary.getDoneList().get(j).setContent(new AES128(PRIVATE_DIARY_KEY).decrypt(doneContent));
+                doneList.get(j).setContent(contentList.get(j + 1));
             }
 
         } catch (Exception ignored) {
@@ -128,50 +137,66 @@ public class DiaryProvider {
 
     // ============================================ 일기 발송 ============================================
 
-    // Diary - Send Algorithm
+    /*
+     * Diary - Send Algorithm
+     * 발신인 정보만 조회하고 수신 동의한 회원 목록은 RecipientIndex(메모리)에서 가져와 발송 리스트 전체를 계산하고,
+     * 계산이 끝나면 DiarySendList, ReceivedItem, Alarm을 하나의 트랜잭션 안에서 저장한다.
+     *
+     * 회원과 일기는 목록에서의 위치(인덱스)로 다루며, 발송 상태는 int 배열과 BitSet에 저장한다.
+     * 후보 추출은 부분 Fisher-Yates 셔플, 후보 제거는 swap-remove로 처리하여 매칭 단계 전체가 선형 시간에 끝난다.
+     */
     @Scheduled(cron = "55 59 18 * * *") // 매일 18:59:55에 DiarySendList 생성
 //     @Scheduled(cron = "00 51 13 * * *") // test
+    @Transactional(rollbackFor = Exception.class)
     public void sendDiary() throws BaseException {
 
         String yesterday = LocalDate.now().minusDays(1).toString().replaceAll("-", "."); // 어제 날짜 (yyyy.MM.dd)
-        List<Integer> diaryIdxList = diaryDao.getDiaryIdxList(yesterday); // 당일 발송해야 하는 모든 diaryIdx
-//         List<Integer> diaryIdxList = diaryDao.getDiaryIdxList("2022.02.05"); // test
+        List<Sender> senderList = diaryDao.getSenderList(yesterday); // 당일 발송해야 하는 모든 일기의 발신인 정보
+//         List<Sender> senderList = diaryDao.getSenderList("2022.02.05"); // test
 
         /*
          * [ 생각해야 하는 경우 3가지 ]
          * 발송해야 할 일기의 개수가 1. 0개일 때 / 2. 1개일 때 / 3. 2개 이상일 때
          * -> 각각의 처리가 필요
          */
-        if (diaryIdxList.size() == 0) { // 1. 당일 발송해야 할 일기의 개수가 0개인 경우
+        int diaryNum = senderList.size(); // 당일 발송해야 하는 일기 개수
+        if (diaryNum == 0) { // 1. 당일 발송해야 할 일기의 개수가 0개인 경우
             return; // 일기 발송 알고리즘 종료
         }
 
-        Map<Integer, Integer> diaryIdx_sendNumMap = new HashMap<>(); // key = diaryIdx, value = 해당 일기가 발송된 횟수 (현재까지 몇명에게 보내졌는가?)
-        for (int diaryIdx : diaryIdxList) {
-            diaryIdx_sendNumMap.put(diaryIdx, 0); // 당일 발송해야 하는 일기마다 저장 공간 생성
+        int[] senderUserIdx = new int[diaryNum]; // [일기 위치] 발신인 userIdx
+        int[] senderBirth = new int[diaryNum]; // [일기 위치] 발신인 생년
+        for (int d = 0; d < diaryNum; d++) {
+            senderUserIdx[d] = senderList.get(d).getUserIdx();
+            senderBirth[d] = senderList.get(d).getBirth();
         }
 
-        List<Integer> userIdxList_total = diaryDao.getUserIdxList_total(); // 수신 동의한 모든 userIdx (User.recOthers = 1)
-        int totalUserNum = userIdxList_total.size(); // 일기를 발송 받을 총 회원 수
+        List<Recipient> userList = recipientIndex.getRecipientList(); // 수신 동의한 모든 회원 (User.recOthers = 1, userIdx 오름차순)
+        int totalUserNum = userList.size(); // 일기를 발송 받을 총 회원 수
 
-        Map<Integer, Boolean> userIdx_sendMap = new HashMap<>(); // key = userIdx, value = 일기 발송 유무 (발송되었다면 true, 아직 안 되었다면 false)
-        for (int userIdx : userIdxList_total) {
-            userIdx_sendMap.put(userIdx, false); // 수신 동의한 회원마다 저장 공간 생성
+        int[] userIdx = new int[totalUserNum]; // [회원 위치] userIdx (오름차순 -> 이진 탐색으로 회원 위치 확인)
+        for (int u = 0; u < totalUserNum; u++) {
+            userIdx[u] = userList.get(u).getUserIdx();
         }
 
+        int[] assignedDiary = new int[totalUserNum]; // [회원 위치] 발송받을 일기 위치 (-1 : 아직 발송되지 않음)
+        Arrays.fill(assignedDiary, -1);
+        BitSet delivered = new BitSet(totalUserNum); // 일기 발송 유무 (발송되었다면 set)
+        int[] sendCount = new int[diaryNum]; // [일기 위치] 해당 일기가 발송된 횟수
+
         // 일기마다 보내져야 하는 횟수 (sendNum ~ sendNum+1)
-        int sendNum = totalUserNum / diaryIdxList.size(); // 총 회원 수 / 총 일기 개수
+        int sendNum = totalUserNum / diaryNum; // 총 회원 수 / 총 일기 개수
         // sendNum == 일기마다 발송되어야 하는 최소 횟수
 
 
         // --------------------------------------- 2. 당일 발송해야 할 일기의 개수가 1개인 경우 ---------------------------------------
 
-        if (diaryIdxList.size() == 1) {
-            int diaryIdx = diaryIdxList.get(0);
-            int senderUserIdx = diaryDao.getSenderUserIdx(diaryIdx); // 발신인 userIdx
-            for (int userIdx : userIdxList_total) {
-                if (userIdx != senderUserIdx) {
-                    diaryDao.setDiarySendList(diaryIdx, userIdx); // INSERT INTO DiarySendList Table
+        if (diaryNum == 1) {
+            for (int u = 0; u < totalUserNum; u++) {
+                if (userIdx[u] != senderUserIdx[0]) {
+                    assignedDiary[u] = 0;
+                    delivered.set(u);
+                    sendCount[0]++;
                 }
             }
         }
@@ -179,141 +204,65 @@ public class DiaryProvider {
         // --------------------------------------- 3. 당일 발송해야 할 일기의 개수가 2개 이상인 경우 ---------------------------------------
 
         // TODO : 비슷한 나이대 발송 처리
-
-        // 2차원 가변 배열
-        // [diaryIdxList 인덱스 값][해당 일기 발신인과 비슷한 나이대를 갖는 userIdx]
         else {
-            List<List<Integer>> userIdxList_similarAge = new ArrayList<>();
-
-            int i = 0;
-            for (int diaryIdx : diaryIdxList) {
-                userIdxList_similarAge.add(new ArrayList<>());
-
-                int senderUserIdx = diaryDao.getSenderUserIdx(diaryIdx); // 발신인 userIdx
-                int senderBirth = diaryDao.getSenderBirth(diaryIdx); // 발신인 생년
-
-                // 발송 가능한(User.recOthers = 1) & 비슷한 나이대를 갖는(senderBirth -5 ~ +5) 모든 userIdx
-                userIdxList_similarAge.get(i).addAll(diaryDao.getUserIdxList_similarAge(senderUserIdx, senderBirth)); // 발신인 userIdx 제외
-                i++;
-            }
-
-            int userIdxNum_similarAge = diaryDao.getUserIdxNum_similarAge(); // 비슷한 나이대 수신 동의한 회원 수 (recSimilarAge = 1)
+            int userIdxNum_similarAge = recipientIndex.getRecipientNum_similarAge(); // 비슷한 나이대 수신 동의한 회원 수 (recSimilarAge = 1)
 
             // 일기마다 비슷한 나이대로 보낼 횟수 = 비슷한 나이대 수신 동의한 회원 수 / 당일 발송해야 하는 일기 개수
             // 비슷한 나이대 수신 동의한 회원 수 중 70 ~ 80%는 비슷한 나이로 수신받게 함
             // Constant.DIARY_REC_SIMILAR_AGE_RATIO = 80
-            int sendNum_similarAge = userIdxNum_similarAge * Constant.DIARY_REC_SIMILAR_AGE_RATIO / 100 / diaryIdxList.size(); // 일기마다 비슷한 나이대로 보낼 횟수
-
-            int j = 0;
-            for (int diaryIdx : diaryIdxList) { // 당일 발송해야 하는 일기 개수만큼
-                int userNum_similarAge = userIdxList_similarAge.get(j).size(); // 해당 일기의 발신인과 비슷한 나이대를 갖는 회원의 수 (최초 저장된 값)
-
-                List<Integer> userIdxList_similarAge_updated = new ArrayList<>(); // 해당 일기를 발송할 후보에 드는 회원들 리스트 (후보 회원 리스트)
-                for (int k = 0; k < userNum_similarAge; k++) { // 해당 일기의 발신인과 비슷한 나이대를 갖는 회원의 수만큼
-                    int userIdx = userIdxList_similarAge.get(j).get(k);
-                    if (!userIdx_sendMap.get(userIdx)) { // 회원마다 일기 발송 유무 확인 (Map.value = false -> add)
-                        userIdxList_similarAge_updated.add(userIdx);
+            int sendNum_similarAge = userIdxNum_similarAge * Constant.DIARY_REC_SIMILAR_AGE_RATIO / 100 / diaryNum; // 일기마다 비슷한 나이대로 보낼 횟수
+
+            int[] candidate = new int[totalUserNum]; // 후보 회원 위치 목록 (일기마다 재사용)
+            for (int d = 0; d < diaryNum; d++) { // 당일 발송해야 하는 일기 개수만큼
+                // 발송 가능한 & 비슷한 나이대를 갖는(senderBirth -5 ~ +5) & 아직 일기를 발송받지 않은 회원 (발신인 제외)
+                // 발신인 생년 정보가 없는 경우 빈 리스트 -> 일반 발송으로만 처리
+                int candidateNum = 0;
+                for (int similarUserIdx : recipientIndex.getUserIdxList_similarAge(senderBirth[d])) {
+                    int u = Arrays.binarySearch(userIdx, similarUserIdx); // 회원 위치 (목록을 불러온 이후 수신 동의한 회원이라면 음수)
+                    if (u >= 0 && !delivered.get(u) && similarUserIdx != senderUserIdx[d]) {
+                        candidate[candidateNum++] = u;
                     }
                 }
 
-                for (int k = 0; k < sendNum_similarAge; k++) { // 일기마다 비슷한 나이대로 보낼 횟수만큼
-                    int idx = (int) (Math.random() * userIdxList_similarAge_updated.size()); // 후보 회원 리스트의 인덱스 값을 랜덤으로 반환 (0 ~ 리스트 마지막 인덱스 값)
-                    int receiverIdx = userIdxList_similarAge_updated.get(idx); // 수신인 userIdx
-
-                    diaryDao.setDiarySendList(diaryIdx, receiverIdx); // INSERT INTO DiarySendList Table
-                    userIdx_sendMap.put(receiverIdx, true); // Map.value = false -> true (해당 회원에게 일기가 발송됨을 체크)
+                // 부분 Fisher-Yates 셔플 : 앞에서부터 k번째 자리에 남은 후보 중 하나를 무작위로 가져와 수신인으로 확정
+                int pickNum = Math.min(sendNum_similarAge, candidateNum);
+                for (int k = 0; k < pickNum; k++) {
+                    int r = k + random.nextInt(candidateNum - k);
+                    int u = candidate[r];
+                    candidate[r] = candidate[k];
+                    candidate[k] = u;
 
-                    for (int l = 0; l < userIdxList_similarAge_updated.size(); l++) { // 후보 회원 리스트 갱신
-                        if (userIdxList_similarAge_updated.get(l) == receiverIdx) {
-                            userIdxList_similarAge_updated.remove(l); // 방금 일기가 발송된 userIdx -> remove
-                        }
-                    }
+                    assignedDiary[u] = d;
+                    delivered.set(u);
                 }
-                diaryIdx_sendNumMap.put(diaryIdx, sendNum_similarAge); // 일기 발송 횟수 저장
-                j++;
+                sendCount[d] = pickNum; // 일기 발송 횟수 저장
             }
 
 
             // TODO : 일반 발송 처리
-            // (총 회원 수 / 총 일기 개수)의 몫만큼 발송
-
-            // List<Integer> userIdxList_total = diaryDao.getUserIdxList_total(); // 수신 동의한 모든 userIdx (User.recOthers = 1)
-            // -> 일기를 발송 받아야 하는 userIdx 리스트로 갱신
-            List<Integer> userIdxList_total_updated = new ArrayList<>();
-            for (int userIdx : userIdxList_total) {
-                if (!userIdx_sendMap.get(userIdx)) { // 회원마다 일기 발송 유무 확인 (Map.value = false -> add)
-                    userIdxList_total_updated.add(userIdx);
-                }
-            }
-            userIdxList_total = userIdxList_total_updated; // 갱신
-
-            for (int userIdx : userIdxList_total) { // 일기를 발송 받아야 하는 회원 수만큼
-                List<Integer> diaryIdxList_updated = new ArrayList<>(); // 현재 발송되어야 하는 diaryIdx 목록 (diaryIdxList 갱신)
-                for (int diaryIdx : diaryIdxList) {
-                    if (diaryIdx_sendNumMap.get(diaryIdx) < sendNum) { // 일기마다 발송된 횟수 확인 (Map.value < 발송되어야 하는 최소 횟수 -> add)
-                        diaryIdxList_updated.add(diaryIdx);
-                    }
-                }
-
-                if (diaryIdxList_updated.size() != 0) { // (총 회원 수 / 총 일기 개수)의 몫만큼
-                    // 수신인 userIdx == 발신인 senderUserIdx인 경우 -> 다른 사람의 일기를 수신할 때까지 다시 실행
-                    boolean isSend = false;
-                    do {
-                        isSend = sendDiary_general(diaryIdx_sendNumMap, userIdx_sendMap, userIdx, diaryIdxList_updated);
-                    }
-                    while (!isSend);
-                }
-            }
-
+            // (총 회원 수 / 총 일기 개수)의 몫만큼 발송 -> 발송 횟수가 sendNum 미만인 일기만 후보
+            sendDiary_general(senderUserIdx, userIdx, assignedDiary, delivered, sendCount, sendNum);
 
             // TODO : 일반 발송 처리 (나머지)
-            // (총 회원 수 / 총 일기 개수)의 나머지 부분 발송
-
-            userIdxList_total_updated = new ArrayList<>(); // 일기를 발송 받아야 하는 모든 userIdx
-            for (int userIdx : userIdxList_total) {
-                if (!userIdx_sendMap.get(userIdx)) { // 회원마다 일기 발송 유무 확인 (Map.value = false -> add)
-                    userIdxList_total_updated.add(userIdx);
-                }
-            }
-            userIdxList_total = userIdxList_total_updated; // 갱신
-
-            if (userIdxList_total.size() != 0) {
-                for (int userIdx : userIdxList_total) { // 일기 발송 받아야 하는 회원 수만큼
-                    List<Integer> diaryIdxList_updated = new ArrayList<>(); // 발송해야 하는 diaryIdx 목록
-
-                    for (int diaryIdx : diaryIdxList) { // 당일 발송해야 하는 모든 일기 개수만큼
-                        if (diaryIdx_sendNumMap.get(diaryIdx) <= sendNum) { // 일기마다 발송된 횟수 확인 (Map.value <= 발송되어야 하는 최소 횟수 -> add)
-                            // = : 발송해야 하는 일기가 2개 이상인 경우 / < : 발송해야 하는 일기가 한 개인 경우
-                            diaryIdxList_updated.add(diaryIdx);
-                        }
-                    }
-
-                    // 수신인 userIdx == 발신인 senderUserIdx인 경우 -> 다른 사람의 일기를 수신할 때까지 다시 실행
-                    boolean isSend = false;
-                    do {
-                        isSend = sendDiary_general(diaryIdx_sendNumMap, userIdx_sendMap, userIdx, diaryIdxList_updated);
-                    }
-                    while (!isSend);
-                }
-            }
+            // (총 회원 수 / 총 일기 개수)의 나머지 부분 발송 -> 발송 횟수가 sendNum 이하인 일기만 후보
+            sendDiary_general(senderUserIdx, userIdx, assignedDiary, delivered, sendCount, sendNum + 1);
         }
 
-        /*
-         * TODO : 알림 테이블에 저장
-         */
-        diaryIdxList = diaryDao.getDiaryIdxList(yesterday); // 당일 발송해야 하는 모든 diaryIdx
-
-        List<GetSendListRes> diarySendList = new ArrayList<>();
-
-        // 일기에 따른 발송 리스트 조회
-        for (int diaryIdx : diaryIdxList) {
-            String senderNickName = diaryDao.getSenderNickName(diaryIdx); // 발신인 nickName
-            GetSendListRes diary = new GetSendListRes(diaryIdx, senderNickName);
-            diary.setReceiverIdxList(diaryDao.getReceiverIdxList(diaryIdx, yesterday));
-//            diary.setReceiverIdxList(diaryDao.getReceiverIdxList(diaryIdx, "2022.02.05")); // test
+        // 메모리에서 계산한 발송 리스트 생성
+        List<GetSendListRes> diarySendList = new ArrayList<>(diaryNum);
+        for (int d = 0; d < diaryNum; d++) {
+            GetSendListRes diary = new GetSendListRes(senderList.get(d).getDiaryIdx(), senderList.get(d).getNickName());
+            diary.setReceiverIdxList(new ArrayList<>(sendCount[d]));
             diarySendList.add(diary);
         }
-        alarmService.postAlarm_diary(diarySendList); // 알림 저장
+        for (int u = delivered.nextSetBit(0); u >= 0; u = delivered.nextSetBit(u + 1)) {
+            diarySendList.get(assignedDiary[u]).getReceiverIdxList().add(userIdx[u]);
+        }
+
+        // 발송 리스트 저장 (DiarySendList -> Alarm)
+        diaryDao.setDiarySendList(diarySendList); // INSERT INTO DiarySendList Table (batch)
+        diaryDao.setReceivedItem_diary(yesterday); // INSERT INTO ReceivedItem Table
+        alarmService.postAlarm_diary(diarySendList); // 알림 저장 (batch)
 
         /*
          * TODO : 매일 19:00:00에 당일 발송되는 일기의 Diary.isSend = 1로 변경
@@ -322,26 +271,42 @@ public class DiaryProvider {
 
     }
 
-    // 일기 발송 (비슷한 나이대 발송 후 일반 발송 처리)
-    private boolean sendDiary_general(Map<Integer, Integer> diaryIdx_sendNumMap, Map<Integer, Boolean> userIdx_sendMap, int userIdx, List<Integer> diaryIdxList_updated) {
-        int diaryIdx = 0;
-        if (diaryIdxList_updated.size() != 0) {
-            diaryIdx = diaryIdxList_updated.get((int) (Math.random() * diaryIdxList_updated.size())); // 발송해야 하는 일기 리스트의 인덱스 값을 랜덤으로 반환 (0 ~ 리스트 마지막 인덱스 값)
+    /*
+     * 일기 발송 (비슷한 나이대 발송 후 일반 발송 처리)
+     * 아직 일기를 발송받지 않은 회원마다 발송 횟수가 sendLimit 미만인 일기 중 하나를 무작위로 발송한다. (본인이 작성한 일기 제외)
+     * 발송 가능한 일기 목록은 int 배열로 유지하며, sendLimit에 도달한 일기는 swap-remove로 제거한다.
+     * 발송 가능한 일기가 모두 소진되면 종료한다.
+     */
+    private void sendDiary_general(int[] senderUserIdx, int[] userIdx, int[] assignedDiary, BitSet delivered,
+                                   int[] sendCount, int sendLimit) {
+
+        int[] openDiary = new int[senderUserIdx.length]; // 발송 가능한 일기 위치 목록
+        int openNum = 0;
+        for (int d = 0; d < senderUserIdx.length; d++) {
+            if (sendCount[d] < sendLimit) {
+                openDiary[openNum++] = d;
+            }
         }
 
-        int senderUserIdx = diaryDao.getSenderUserIdx(diaryIdx); // 발신인 userIdx
-
-        if (userIdx != senderUserIdx) {
-            diaryDao.setDiarySendList(diaryIdx, userIdx); // INSERT INTO DiarySendList Table
-            userIdx_sendMap.put(userIdx, true); // 일기 발송 유무 변경 : Map.value = false -> true
+        for (int u = delivered.nextClearBit(0); u < userIdx.length && openNum > 0; u = delivered.nextClearBit(u + 1)) { // 일기를 발송 받아야 하는 회원 수만큼
 
-            int sendNum_diary = diaryIdx_sendNumMap.get(diaryIdx); // 기존 일기 발송 횟수
-            diaryIdx_sendNumMap.put(diaryIdx, ++sendNum_diary); // // 일기 발송 횟수 갱신 (+1)
-
-            return true;
-
-        } else return false; // userIdx == senderUserIdx인 경우 -> return false (sendDiary_general 함수 다시 실행)
+            // 발송 가능한 일기 중 하나를 무작위로 선택 (본인이 작성한 일기라면 나머지 일기 중에서 다시 선택)
+            int r = random.nextInt(openNum);
+            if (senderUserIdx[openDiary[r]] == userIdx[u]) {
+                if (openNum == 1) {
+                    continue; // 발송 가능한 일기가 본인 일기뿐인 경우
+                }
+                int other = random.nextInt(openNum - 1);
+                r = (other >= r) ? other + 1 : other;
+            }
+            int d = openDiary[r];
 
+            assignedDiary[u] = d;
+            delivered.set(u); // 일기 발송 유무 변경
+            if (++sendCount[d] >= sendLimit) { // 일기 발송 횟수 갱신 (+1) -> 발송 가능한 일기 목록에서 제거 (swap-remove)
+                openDiary[r] = openDiary[--openNum];
+            }
+        }
     }
 
     /*
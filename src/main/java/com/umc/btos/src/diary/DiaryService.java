@@ -1,14 +1,17 @@
 package com.umc.btos.src.diary;
 
 import com.umc.btos.config.BaseException;
-import com.umc.btos.config.secret.Secret;
+import com.umc.btos.src.archive.CalendarCache;
 import com.umc.btos.src.diary.model.*;
-import com.umc.btos.utils.AES128;
+import com.umc.btos.utils.BlindIndex;
+import com.umc.btos.utils.CipherService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.security.GeneralSecurityException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -20,16 +23,21 @@ public class DiaryService {
     final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private final DiaryDao diaryDao;
+    private final CipherService cipherService;
+    private final CalendarCache calendarCache;
 
     @Autowired
-    public DiaryService(DiaryDao diaryDao) {
+    public DiaryService(DiaryDao diaryDao, CipherService cipherService, CalendarCache calendarCache) {
         this.diaryDao = diaryDao;
+        this.cipherService = cipherService;
+        this.calendarCache = calendarCache;
     }
 
     /*
      * 일기 저장
      * [POST] /diaries
      */
+    @Transactional(rollbackFor = Exception.class)
     public void saveDiary(PostDiaryReq postDiaryReq) throws BaseException {
         // TODO : 의미적 validation - 일기는 하루에 하나만 작성 가능, 당일에 작성한 일기가 아니라면 발송 불가
         // 1. 일기는 하루에 하나씩만 작성 가능
@@ -37,6 +45,9 @@ public class DiaryService {
         // 2. 당일에 작성한 일기가 아니라면 발송 불가
         checkPublicDate(postDiaryReq.getDiaryDate(), postDiaryReq.getIsPublic_int());
 
+        // private 일기 검색 token (암호화 전 content로 생성)
+        List<String> tokenList = getDiaryTokens(postDiaryReq.getUserIdx(), postDiaryReq.getDiaryContent(), postDiaryReq.getIsPublic_int());
+
         // isPublic == 0(private)인 경우 -> Diary.content & Done.content 부분 암호화하여 저장
         if (postDiaryReq.getIsPublic_int() == 0) {
             String diaryContent_encrypted = encryptDiaryContent(postDiaryReq.getDiaryContent()); // Diary.content 암호화
@@ -49,9 +60,14 @@ public class DiaryService {
         try {
             int diaryIdx = diaryDao.saveDiary(postDiaryReq);
             diaryDao.saveDoneList(diaryIdx, postDiaryReq.getDoneList());
+            diaryDao.setSearchIndex(diaryIdx, postDiaryReq.getIsPublic_int()); // 내용 검색 색인 (public 일기만)
+            diaryDao.setDiaryToken(diaryIdx, postDiaryReq.getUserIdx(), tokenList); // 내용 검색 token (private 일기만)
 
         } catch (Exception exception) {
             throw new BaseException(DATABASE_ERROR);
+
+        } finally {
+            calendarCache.invalidate(postDiaryReq.getUserIdx(), postDiaryReq.getDiaryDate()); // 해당 월의 달력 캐시 삭제
         }
     }
 
@@ -73,10 +89,42 @@ public class DiaryService {
         }
     }
 
+    // private 일기 검색 token (public 일기 : 빈 리스트 -> SearchIndex로 검색)
+    public List<String> getDiaryTokens(int userIdx, String diaryContent, int isPublic) {
+        if (isPublic == 1) {
+            return new ArrayList<>();
+        }
+        return BlindIndex.getTokens(userIdx, diaryContent);
+    }
+
+    /*
+     * 검색 token이 없는 기존 private 일기 1개 색인 (DiaryTokenScheduler - 매일 04:00:00)
+     * 일기 행을 잠근 뒤(FOR UPDATE) 다시 조회한 content로 token 생성 -> 색인 도중 일기가 수정되어도 수정 전 content의 token으로 덮어쓰지 않음
+     * (수정 트랜잭션이 먼저 commit된 경우 이미 색인되었으므로 건너뜀 / 이후에 수정하는 경우 잠금이 풀릴 때까지 대기)
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void setDiaryToken_nonTokenized(int diaryIdx) {
+        List<PrivateDiary> diaryList = diaryDao.getPrivateDiary_nonTokenized_forUpdate(diaryIdx);
+        if (diaryList.size() == 0) { // 그 사이 수정되어 색인되었거나 public으로 변경 또는 삭제된 일기
+            return;
+        }
+
+        PrivateDiary diary = diaryList.get(0);
+        try {
+            String diaryContent = cipherService.decrypt(diary.getContent());
+            diaryDao.setDiaryToken(diary.getDiaryIdx(), diary.getUserIdx(), BlindIndex.getTokens(diary.getUserIdx(), diaryContent));
+
+        } catch (GeneralSecurityException | IllegalArgumentException exception) {
+            // 복호화할 수 없는 일기는 색인 완료 표시만 저장 (다음 실행 때 다시 조회되지 않도록)
+            logger.error("DiaryToken 생성 실패 : diaryIdx = " + diary.getDiaryIdx());
+            diaryDao.setDiaryToken(diary.getDiaryIdx(), diary.getUserIdx(), BlindIndex.getTokens(diary.getUserIdx(), ""));
+        }
+    }
+
     // private 일기 암호화 - Diary.content
     public String encryptDiaryContent(String diaryContent) throws BaseException {
         try {
-            return new AES128(Secret.PRIVATE_DIARY_KEY).encrypt(diaryContent);
+            return cipherService.encrypt(diaryContent);
 
         } catch (Exception ignored) {
             throw new BaseException(DIARY_ENCRYPTION_ERROR); // 일기 암호화에 실패하였습니다.
@@ -86,11 +134,11 @@ public class DiaryService {
     // private 일기 암호화 - Done.content
     public List encryptDoneContents(List doneList) throws BaseException {
         try {
-            List doneList_encrypted = new ArrayList(); // 암호화된 done list 내용들을 저장하는 리스트
-            for (int i = 0; i < doneList.size(); i++) {
-                doneList_encrypted.add(new AES128(Secret.PRIVATE_DIARY_KEY).encrypt(doneList.get(i).toString()));
+            List<String> doneContentList = new ArrayList<>();
+            for (Object doneContent : doneList) {
+                doneContentList.add(doneContent.toString());
             }
-            return doneList_encrypted;
+            return cipherService.encryptAll(doneContentList); // 암호화된 done list 내용들 (doneList 순서)
 
         } catch (Exception ignored) {
             throw new BaseException(DIARY_ENCRYPTION_ERROR); // 일기 암호화에 실패하였습니다.
@@ -101,15 +149,20 @@ public class DiaryService {
      * 일기 수정
      * [PUT] /diaries
      */
+    @Transactional(rollbackFor = Exception.class)
     public void modifyDiary(PutDiaryReq putDiaryReq) throws BaseException {
         // TODO : 의미적 validation - 일기는 하루에 하나만 작성 가능, 당일에 작성한 일기가 아니라면 발송 불가
         // 1. 일기는 하루에 하나씩만 작성 가능
-        if (putDiaryReq.getDiaryDate().compareTo(diaryDao.getDiaryDate(putDiaryReq.getDiaryIdx())) != 0) { // 수정된 날짜가 원래 작성했던 날짜와 다를 경우
+        String diaryDate_origin = diaryDao.getDiaryDate(putDiaryReq.getDiaryIdx()); // 원래 작성했던 날짜
+        if (putDiaryReq.getDiaryDate().compareTo(diaryDate_origin) != 0) { // 수정된 날짜가 원래 작성했던 날짜와 다를 경우
             checkDiaryDate(putDiaryReq.getUserIdx(), putDiaryReq.getDiaryDate());
         }
         // 2. 당일에 작성한 일기가 아니라면 발송 불가
         checkPublicDate(putDiaryReq.getDiaryDate(), putDiaryReq.getIsPublic_int());
 
+        // private 일기 검색 token (암호화 전 content로 생성)
+        List<String> tokenList = getDiaryTokens(putDiaryReq.getUserIdx(), putDiaryReq.getDiaryContent(), putDiaryReq.getIsPublic_int());
+
         // isPublic == 0(private)인 경우 -> Diary.content & Done.content 부분 암호화하여 저장
         if (putDiaryReq.getIsPublic_int() == 0) {
             String diaryContent_encrypted = encryptDiaryContent(putDiaryReq.getDiaryContent()); // Diary.content 암호화
@@ -124,82 +177,83 @@ public class DiaryService {
             if (diaryDao.modifyDiary(putDiaryReq) == 0) {
                 throw new BaseException(MODIFY_FAIL_DIARY); // 일기 수정에 실패하였습니다.
             }
+            diaryDao.setSearchIndex(putDiaryReq.getDiaryIdx(), putDiaryReq.getIsPublic_int()); // 내용 검색 색인 갱신 (private으로 변경 시 삭제)
+            diaryDao.setDiaryToken(putDiaryReq.getDiaryIdx(), putDiaryReq.getUserIdx(), tokenList); // 내용 검색 token 갱신 (public으로 변경 시 삭제)
 
-            // Done Table 수정
+            /*
+             * Done Table 수정 - 기존 & 수정 done list를 순서대로 비교하여 한 번에 반영 (종류별 batch 1번씩)
+             * 1. 앞에서부터 겹치는 개수만큼 UPDATE
+             * 2. 수정 done list가 더 길면 나머지 INSERT
+             * 3. 기존 done list가 더 길면 나머지 status = 'deleted'
+             * 하나라도 실패하면 트랜잭션 전체 rollback
+             */
             List<Integer> doneIdxList = diaryDao.getDoneIdxList(putDiaryReq); // 해당 일기에 저장되어 있던 모든 doneIdx (origin done list)
             List<String> doneContentList_modified = putDiaryReq.getDoneList(); // modified done list
 
-            int doneListNum_origin = doneIdxList.size(); // 기존 done list 개수
-            int doneListNum_new = doneContentList_modified.size(); // 수정 done list 개수
-
-            // 기존 done list 개수 > 수정 done list 개수
-            if (doneListNum_origin > doneListNum_new) {
-                for (int i = 0; i < doneListNum_origin; i++) {
-                    // UPDATE
-                    if (i < doneContentList_modified.size()) {
-                        if (diaryDao.modifyDone(doneIdxList.get(i), doneContentList_modified.get(i)) == 0) {
-                            throw new BaseException(MODIFY_FAIL_DONE); // done list 수정에 실패하였습니다.
-                        }
-                    }
-                    // status = 'deleted;
-                    else {
-                        if (diaryDao.modifyDone_modifyStatus(doneIdxList.get(i)) == 0) {
-                            throw new BaseException(MODIFY_FAIL_DONE); // done list 수정에 실패하였습니다.
-                        }
-                    }
-                }
-            }
-            // 기존 done list 개수 < 수정 done list 개수
-            else if (doneListNum_origin < doneListNum_new) {
-                for (int i = 0; i < doneListNum_new; i++) {
-                    // UPDATE
-                    if (i < doneListNum_origin) {
-                        if (diaryDao.modifyDone(doneIdxList.get(i), doneContentList_modified.get(i)) == 0) {
-                            throw new BaseException(MODIFY_FAIL_DONE); // done list 수정에 실패하였습니다.
-                        }
-                    }
-                    // INSERT
-                    else {
-                        if (diaryDao.modifyDone_insert(putDiaryReq.getDiaryIdx(), doneContentList_modified.get(i)) == 0) {
-                            throw new BaseException(MODIFY_FAIL_DONE); // done list 수정에 실패하였습니다.
-                        }
-                    }
-                }
-            }
-            // 기존 done list 개수 == 수정 done list 개수
-            else {
-                // UPDATE
-                for (int i = 0; i < doneListNum_new; i++) {
-                    if (diaryDao.modifyDone(doneIdxList.get(i), doneContentList_modified.get(i)) == 0) {
-                        throw new BaseException(MODIFY_FAIL_DONE); // done list 수정에 실패하였습니다.
-                    }
+            int doneListNum_common = Math.min(doneIdxList.size(), doneContentList_modified.size()); // 기존 & 수정 done list 중 짧은 쪽의 개수
+
+            List<int[][]> resultList = new ArrayList<>();
+            resultList.add(diaryDao.modifyDoneList(doneIdxList.subList(0, doneListNum_common), doneContentList_modified.subList(0, doneListNum_common))); // UPDATE
+            resultList.add(diaryDao.insertDoneList(putDiaryReq.getDiaryIdx(), doneContentList_modified.subList(doneListNum_common, doneContentList_modified.size()))); // INSERT
+            resultList.add(diaryDao.modifyDoneList_modifyStatus(doneIdxList.subList(doneListNum_common, doneIdxList.size()))); // status = 'deleted'
+
+            for (int[][] result : resultList) {
+                if (hasFailedRow(result)) {
+                    throw new BaseException(MODIFY_FAIL_DONE); // done list 수정에 실패하였습니다.
                 }
             }
         } catch (BaseException exception) {
             throw new BaseException(MODIFY_FAIL_DONE); // done list 수정에 실패하였습니다.
         } catch (Exception exception) {
             throw new BaseException(DATABASE_ERROR);
+
+        } finally {
+            // 원래 날짜 & 수정된 날짜가 속한 월의 달력 캐시 삭제
+            calendarCache.invalidate(putDiaryReq.getUserIdx(), diaryDate_origin);
+            calendarCache.invalidate(putDiaryReq.getUserIdx(), putDiaryReq.getDiaryDate());
+        }
+    }
+
+    // batch 결과 중 반영되지 않은 행(0)이 있는지 확인 (SUCCESS_NO_INFO(-2)는 성공으로 간주)
+    private boolean hasFailedRow(int[][] batchResult) {
+        for (int[] counts : batchResult) {
+            for (int count : counts) {
+                if (count == 0) {
+                    return true;
+                }
+            }
         }
+        return false;
     }
 
     /*
      * 일기 삭제
      * [PATCH] /diaries/delete/:diaryIdx
      */
-    public void deleteDiary(int diaryIdx) throws BaseException {
+    @Transactional(rollbackFor = Exception.class)
+    public void deleteDiary(int userIdx, int diaryIdx) throws BaseException {
+        String diaryDate;
+        try {
+            diaryDate = diaryDao.getDiaryDate(diaryIdx);
+
+        } catch (Exception exception) {
+            throw new BaseException(DATABASE_ERROR);
+        }
+
         try {
             // Diary.status 수정
             if (diaryDao.deleteDiary(diaryIdx) == 0) {
                 throw new BaseException(DELETE_FAIL_DIARY); // 일기 삭제에 실패하였습니다.
             }
 
-            // Done.status 수정
-            if (diaryDao.deleteDone(diaryIdx) == 0) {
-                throw new BaseException(DELETE_FAIL_DONE); // done list 삭제에 실패하였습니다.
-            }
+            // Done.status 수정 & Diary.doneCount = 0 (done list가 없는 일기는 0개 수정되므로 반환값 확인 X)
+            diaryDao.deleteDone(diaryIdx);
 
         } catch (Exception exception) {
             throw new BaseException(DATABASE_ERROR);
+
+        } finally {
+            calendarCache.invalidate(userIdx, diaryDate); // 해당 월의 달력 캐시 삭제
         }
     }
 
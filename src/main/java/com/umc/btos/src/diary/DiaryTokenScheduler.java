@@ -0,0 +1,40 @@
+package com.umc.btos.src.diary;
+
+import com.umc.btos.config.Constant;
+import com.umc.btos.src.diary.model.PrivateDiary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/*
+ * 검색 token이 없는 기존 private 일기 색인 (매일 04:00:00)
+ * 암호화된 content를 복호화해야 token을 만들 수 있으므로 서버에서 BATCH_SIZE개씩 조회하고,
+ * 일기마다 DiaryService.setDiaryToken_nonTokenized의 트랜잭션 안에서 색인 (일기 수정과 동시에 실행되어도 안전)
+ */
+@Component
+public class DiaryTokenScheduler {
+
+    private final DiaryDao diaryDao;
+    private final DiaryService diaryService;
+
+    @Autowired
+    public DiaryTokenScheduler(DiaryDao diaryDao, DiaryService diaryService) {
+        this.diaryDao = diaryDao;
+        this.diaryService = diaryService;
+    }
+
+    @Scheduled(cron = "00 00 04 * * *")
+    public void setDiaryToken_nonTokenized() {
+        List<PrivateDiary> diaryList;
+        do {
+            diaryList = diaryDao.getPrivateDiaryList_nonTokenized(Constant.BATCH_SIZE);
+
+            for (PrivateDiary diary : diaryList) {
+                diaryService.setDiaryToken_nonTokenized(diary.getDiaryIdx()); // 색인 or 건너뜀 -> 다음 조회 대상에서 제외됨
+            }
+        } while (diaryList.size() == Constant.BATCH_SIZE);
+    }
+
+}
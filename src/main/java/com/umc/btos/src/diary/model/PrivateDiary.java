@@ -0,0 +1,14 @@
+package com.umc.btos.src.diary.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class PrivateDiary {
+    private int diaryIdx;
+    private int userIdx;
+    private String content; // 암호화된 Diary.content
+}
@@ -0,0 +1,15 @@
+package com.umc.btos.src.diary.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class Sender {
+    private int diaryIdx; // 발송해야 하는 일기 식별자
+    private int userIdx; // 발신인 userIdx
+    private int birth; // 발신인 생년 (User.birth = null인 경우 0)
+    private String nickName; // 발신인 닉네임
+}
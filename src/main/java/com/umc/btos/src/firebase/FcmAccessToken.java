@@ -0,0 +1,83 @@
+package com.umc.btos.src.firebase;
+
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.umc.btos.config.Constant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * FCM HTTP v1 access token (OAuth 2.0)
+ * 서비스 계정 key 파일은 최초 사용 시 한 번만 읽고, 발급받은 token은 만료 전까지 재사용한다.
+ * 만료 FCM_TOKEN_REFRESH_MARGIN_MINUTE분 전부터는 스케줄러에서 미리 갱신 -> 발송 요청 스레드에서는 token 발급을 기다리지 않음
+ * (갱신에 실패해 만료된 경우에만 요청 스레드에서 직접 갱신)
+ */
+@Component
+public class FcmAccessToken {
+    final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private static final String FIREBASE_CONFIG_PATH = "firebase/firebase_secret_key.json";
+    private static final List<String> SCOPES = Collections.singletonList("https://www.googleapis.com/auth/firebase.messaging");
+
+    private GoogleCredentials googleCredentials = null; // 최초 갱신 시 생성
+    private volatile AccessToken accessToken = null;
+
+    // access token 반환 (없거나 만료된 경우 갱신)
+    public String getTokenValue() throws IOException {
+        AccessToken accessToken = this.accessToken;
+        if (accessToken == null || expiresWithin(accessToken, 0)) {
+            accessToken = refresh(0);
+        }
+        return accessToken.getTokenValue();
+    }
+
+    // 만료 임박 시 미리 갱신 (1분마다, 한 번이라도 발급받은 경우만)
+    @Scheduled(fixedDelay = 60000)
+    public void refreshAhead() {
+        AccessToken accessToken = this.accessToken;
+        if (accessToken == null || !expiresWithin(accessToken, TimeUnit.MINUTES.toMillis(Constant.FCM_TOKEN_REFRESH_MARGIN_MINUTE))) {
+            return;
+        }
+
+        try {
+            refresh(TimeUnit.MINUTES.toMillis(Constant.FCM_TOKEN_REFRESH_MARGIN_MINUTE));
+        } catch (IOException exception) {
+            logger.error("FCM access token 갱신 실패 : " + exception.getMessage());
+        }
+    }
+
+    // 갱신 (여러 스레드가 동시에 요청해도 한 번만 갱신)
+    private synchronized AccessToken refresh(long marginMillis) throws IOException {
+        if (accessToken != null && !expiresWithin(accessToken, marginMillis)) { // 다른 스레드에서 이미 갱신한 경우
+            return accessToken;
+        }
+
+        if (googleCredentials == null) {
+            try (InputStream inputStream = new ClassPathResource(FIREBASE_CONFIG_PATH).getInputStream()) {
+                googleCredentials = GoogleCredentials.fromStream(inputStream).createScoped(SCOPES);
+            }
+        }
+        googleCredentials.refresh();
+
+        accessToken = googleCredentials.getAccessToken();
+        return accessToken;
+    }
+
+    // 만료 시각이 marginMillis 이내인지 확인 (만료 시각 정보가 없다면 false)
+    private boolean expiresWithin(AccessToken accessToken, long marginMillis) {
+        if (accessToken.getExpirationTime() == null) {
+            return false;
+        }
+        return accessToken.getExpirationTime().getTime() - System.currentTimeMillis() <= marginMillis;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.umc.btos.src.firebase;
+
+import com.umc.btos.config.Constant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Repository
+public class FcmDao {
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public void setDateSource(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    // 유효하지 않은 FCM token 삭제 (User.fcmToken = NULL)
+    public void deleteFcmToken(List<String> tokenList) {
+        String query = "UPDATE User SET fcmToken = NULL WHERE fcmToken = ?";
+        this.jdbcTemplate.batchUpdate(query, tokenList, Constant.BATCH_SIZE,
+                (ps, token) -> ps.setString(1, token));
+    }
+
+}
@@ -2,54 +2,86 @@ package com.umc.btos.src.firebase;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.auth.oauth2.GoogleCredentials;
+import com.umc.btos.config.Constant;
 import com.umc.btos.src.firebase.model.*;
-import lombok.RequiredArgsConstructor;
 import okhttp3.*;
 import org.apache.http.HttpHeaders;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PreDestroy;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
-@Component
-@RequiredArgsConstructor
 @Service
 public class FirebaseCloudMessageService {
 
-    // HTTP v1 Method
-    private final String API_URL = "https://fcm.googleapis.com/v1/projects/btos-7c7ee/messages:send";
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    // HTTP v1 Method (fcm.api-url 설정 시 해당 주소로 발송 - 로컬 테스트 서버 등)
+    private final String API_URL;
     private final ObjectMapper objectMapper;
+    private final FcmAccessToken fcmAccessToken;
+
+    // 모든 발송 요청이 하나의 client를 공유 (connection pool & HTTP/2 connection 재사용)
+    private final OkHttpClient client = new OkHttpClient.Builder()
+            .connectionPool(new ConnectionPool(Constant.FCM_MAX_IDLE_CONNECTION_NUM, 5, TimeUnit.MINUTES))
+            .connectTimeout(Constant.FCM_CONNECT_TIMEOUT_SECOND, TimeUnit.SECONDS)
+            .readTimeout(Constant.FCM_READ_TIMEOUT_SECOND, TimeUnit.SECONDS)
+            .dispatcher(newDispatcher())
+            .build();
+
+    // 비동기 발송 (PushDispatcher) - 동시에 진행할 요청 수 제한 (FCM 서버는 한 곳이므로 host당 제한 = 전체 제한)
+    private static Dispatcher newDispatcher() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(Constant.FCM_DISPATCH_CONCURRENCY);
+        dispatcher.setMaxRequestsPerHost(Constant.FCM_DISPATCH_CONCURRENCY);
+        return dispatcher;
+    }
+
+    @Autowired
+    public FirebaseCloudMessageService(@Value("${fcm.api-url:https://fcm.googleapis.com/v1/projects/btos-7c7ee/messages:send}") String apiUrl,
+                                       ObjectMapper objectMapper, FcmAccessToken fcmAccessToken) {
+        this.API_URL = apiUrl;
+        this.objectMapper = objectMapper;
+        this.fcmAccessToken = fcmAccessToken;
+    }
 
     public FcmResponse sendMessageTo(FcmRequest fcmRequest) throws IOException {
+        Request request = buildRequest(fcmRequest);
+
+        // response를 닫아야 connection이 pool로 반환됨
+        try (Response response = client.newCall(request).execute()) {
+            /*System.out.println("code " + response.code() +
+                    "body : "+ response.body().string());*/
+        }
+
+        return new FcmResponse(
+                fcmRequest.getTitle(),
+                fcmRequest.getBody(),
+                "LikeFirst_BTOS",
+                "LikeFirst_BTOS");
+    }
+
+    // 발송 요청 생성 (HTTP v1)
+    Request buildRequest(FcmRequest fcmRequest) throws IOException {
         String message = makeMessage(fcmRequest.getToken(),
                 fcmRequest.getTitle(),
                 fcmRequest.getBody());
 
-        OkHttpClient client = new OkHttpClient();
-        RequestBody requestBody = RequestBody.create(message,
-                MediaType.get("application/json; charset=utf-8"));
-        Request request = new Request.Builder()
+        RequestBody requestBody = RequestBody.create(message, JSON);
+        return new Request.Builder()
                 .url(API_URL)
                 .post(requestBody)
-                .addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken())
+                .addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + fcmAccessToken.getTokenValue())
                 .addHeader(HttpHeaders.CONTENT_TYPE, "application/json; UTF-8")
                 .build();
+    }
 
-        Response response = client.newCall(request)
-                .execute();
-
-        /*System.out.println("code " + response.code() +
-                "body : "+ response.body().string());*/
-
-        return new FcmResponse(
-                fcmRequest.getTitle(),
-                fcmRequest.getBody(),
-                "LikeFirst_BTOS",
-                "LikeFirst_BTOS");
+    // 공유 client로 호출 생성 (PushDispatcher - 비동기 발송)
+    Call newCall(Request request) {
+        return client.newCall(request);
     }
 
     private String makeMessage(String targetToken, String title, String body) throws JsonProcessingException {
@@ -70,20 +102,10 @@ public class FirebaseCloudMessageService {
         return objectMapper.writeValueAsString(fcmMessage);
     }
 
-
-    private String getAccessToken() throws IOException {
-        String firebaseConfigPath = "firebase/firebase_secret_key.json";
-
-        List<String> scopeUrl = new ArrayList<>();
-        scopeUrl.add("https://www.googleapis.com/auth/firebase.messaging");
-
-        GoogleCredentials googleCredentials = GoogleCredentials.fromStream(
-                new ClassPathResource(firebaseConfigPath).getInputStream())
-                    .createScoped(scopeUrl);
-
-        googleCredentials.refreshIfExpired();
-        return googleCredentials.getAccessToken().getTokenValue();
+    @PreDestroy
+    public void shutdown() {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
     }
 
-
 }
@@ -0,0 +1,258 @@
+package com.umc.btos.src.firebase;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.umc.btos.config.Constant;
+import com.umc.btos.src.firebase.model.FcmRequest;
+import com.umc.btos.src.firebase.model.PushResult;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/*
+ * 푸시 알림 일괄 발송
+ * 모든 요청을 OkHttp 비동기 API로 한 번에 등록하고, 동시에 진행되는 요청 수는 OkHttp Dispatcher가 FCM_DISPATCH_CONCURRENCY개로 제한한다.
+ *
+ * 응답 처리
+ * - 200 : 성공
+ * - 오류 응답 본문이 token 오류를 가리키는 경우 (errorCode = UNREGISTERED / token 필드의 INVALID_ARGUMENT)
+ *   : 유효하지 않은 token -> 발송이 끝난 후 User.fcmToken에서 한 번에 삭제
+ *   (상태 코드만으로는 판단 X - 잘못된 fcm.api-url, project ID 등으로 인한 404에 token이 삭제되지 않도록)
+ * - 429, 5xx, 네트워크 오류 : FCM_MAX_RETRY번까지 재시도
+ *   (Retry-After header가 있다면 해당 시간 그대로, 없다면 FCM_RETRY_BASE_MILLIS * 2^(시도 횟수 - 1) + jitter 후 (최대 FCM_RETRY_MAX_MILLIS))
+ * - 그 외 : 실패
+ *
+ * 모든 요청은 어떤 오류가 발생해도 결과(실패 포함)로 완료되며, 호출 스레드는 최대 FCM_DISPATCH_TIMEOUT_SECOND까지만 기다린다.
+ * (시간 안에 끝나지 않은 요청은 failed로 처리 -> 이후 도착한 응답은 무시됨)
+ *
+ * 발송이 끝나면 token마다 결과(PushResult)를 반환하고, 전체 결과를 로그로 남긴다.
+ */
+@Component
+public class PushDispatcher {
+    final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final FirebaseCloudMessageService firebaseCloudMessageService;
+    private final FcmDao fcmDao;
+    private final ObjectMapper objectMapper;
+
+    private final long dispatchTimeoutMillis; // 일괄 발송 1회의 최대 대기 시간
+    private final long retryBaseMillis; // 첫 재시도 대기 시간 (재시도마다 2배)
+    private final long retryMaxMillis; // 최대 재시도 대기 시간 (Retry-After header로 지정된 시간에는 적용 X)
+
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "push-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public PushDispatcher(FirebaseCloudMessageService firebaseCloudMessageService, FcmDao fcmDao, ObjectMapper objectMapper) {
+        this(firebaseCloudMessageService, fcmDao, objectMapper,
+                TimeUnit.SECONDS.toMillis(Constant.FCM_DISPATCH_TIMEOUT_SECOND), Constant.FCM_RETRY_BASE_MILLIS, Constant.FCM_RETRY_MAX_MILLIS);
+    }
+
+    // 대기 시간 지정 (테스트)
+    PushDispatcher(FirebaseCloudMessageService firebaseCloudMessageService, FcmDao fcmDao, ObjectMapper objectMapper,
+                   long dispatchTimeoutMillis, long retryBaseMillis, long retryMaxMillis) {
+        this.firebaseCloudMessageService = firebaseCloudMessageService;
+        this.fcmDao = fcmDao;
+        this.objectMapper = objectMapper;
+        this.dispatchTimeoutMillis = dispatchTimeoutMillis;
+        this.retryBaseMillis = retryBaseMillis;
+        this.retryMaxMillis = retryMaxMillis;
+    }
+
+    // 일괄 발송 (모든 발송이 끝날 때까지 대기) - 반환 : requestList 순서대로 token별 결과
+    public List<PushResult> sendAll(List<FcmRequest> requestList) throws InterruptedException {
+        long startTime = System.nanoTime();
+
+        List<CompletableFuture<PushResult>> futureList = new ArrayList<>(requestList.size());
+        for (FcmRequest fcmRequest : requestList) {
+            CompletableFuture<PushResult> future = new CompletableFuture<>();
+            send(fcmRequest, 1, future);
+            futureList.add(future);
+        }
+
+        long deadline = startTime + TimeUnit.MILLISECONDS.toNanos(dispatchTimeoutMillis);
+
+        List<PushResult> resultList = new ArrayList<>(requestList.size());
+        List<String> invalidTokenList = new ArrayList<>();
+        int successNum = 0, failedNum = 0, retryNum = 0, timeoutNum = 0;
+        try {
+            for (int i = 0; i < futureList.size(); i++) {
+                CompletableFuture<PushResult> future = futureList.get(i);
+                try {
+                    future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException exception) {
+                    if (future.complete(new PushResult(requestList.get(i).getToken(), "failed", 0, 0))) {
+                        timeoutNum++;
+                    }
+                }
+
+                PushResult result = future.get(); // 이미 완료됨
+                resultList.add(result);
+                retryNum += Math.max(result.getAttemptNum() - 1, 0);
+
+                if (result.getStatus().compareTo("success") == 0) {
+                    successNum++;
+                } else if (result.getStatus().compareTo("invalidToken") == 0) {
+                    invalidTokenList.add(result.getToken());
+                } else {
+                    failedNum++;
+                }
+            }
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException(exception.getCause()); // send()에서 항상 결과로 완료하므로 발생하지 않음
+        }
+
+        if (invalidTokenList.size() != 0) {
+            fcmDao.deleteFcmToken(invalidTokenList); // 유효하지 않은 token 삭제
+        }
+
+        logger.info("PushDispatcher : total = " + requestList.size() + ", success = " + successNum
+                + ", invalidToken = " + invalidTokenList.size() + ", failed = " + failedNum + " (timeout = " + timeoutNum + "), retry = " + retryNum
+                + ", elapsed = " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + "ms");
+        return resultList;
+    }
+
+    // 1건 발송 (비동기) - 결과는 future로 전달 (예상하지 못한 예외가 발생해도 failed로 완료)
+    private void send(FcmRequest fcmRequest, int attemptNum, CompletableFuture<PushResult> future) {
+        if (future.isDone()) { // 시간 초과로 이미 failed 처리된 경우
+            return;
+        }
+
+        Request request;
+        try {
+            request = firebaseCloudMessageService.buildRequest(fcmRequest);
+        } catch (IOException exception) { // access token 발급 실패
+            retryOrFail(fcmRequest, attemptNum, 0, -1, future);
+            return;
+        } catch (RuntimeException exception) { // credential 로딩 실패 등
+            fail(fcmRequest, attemptNum, 0, future, exception);
+            return;
+        }
+
+        try {
+            firebaseCloudMessageService.newCall(request).enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException exception) {
+                    retryOrFail(fcmRequest, attemptNum, 0, -1, future);
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    try {
+                        handleResponse(fcmRequest, attemptNum, response, future);
+                    } catch (RuntimeException exception) {
+                        fail(fcmRequest, attemptNum, response.code(), future, exception);
+                    }
+                }
+            });
+
+        } catch (RuntimeException exception) { // client 종료 후 요청 등
+            fail(fcmRequest, attemptNum, 0, future, exception);
+        }
+    }
+
+    private void handleResponse(FcmRequest fcmRequest, int attemptNum, Response response, CompletableFuture<PushResult> future) {
+        try (Response closeable = response) {
+            int code = response.code();
+
+            if (response.isSuccessful()) {
+                future.complete(new PushResult(fcmRequest.getToken(), "success", code, attemptNum));
+            } else if (code == 429 || code >= 500) {
+                retryOrFail(fcmRequest, attemptNum, code, getRetryAfterMillis(response), future);
+            } else if (isInvalidToken(response.body())) {
+                future.complete(new PushResult(fcmRequest.getToken(), "invalidToken", code, attemptNum));
+            } else {
+                future.complete(new PushResult(fcmRequest.getToken(), "failed", code, attemptNum));
+            }
+        }
+    }
+
+    // 재시도 (retryAfterMillis = -1 : exponential backoff, 그 외 : 서버가 지정한 시간 그대로) 또는 실패 처리
+    private void retryOrFail(FcmRequest fcmRequest, int attemptNum, int code, long retryAfterMillis, CompletableFuture<PushResult> future) {
+        if (attemptNum > Constant.FCM_MAX_RETRY) {
+            future.complete(new PushResult(fcmRequest.getToken(), "failed", code, attemptNum));
+            return;
+        }
+
+        long delayMillis = retryAfterMillis;
+        if (delayMillis < 0) {
+            long backoff = retryBaseMillis << (attemptNum - 1);
+            delayMillis = backoff + ThreadLocalRandom.current().nextLong(backoff / 2 + 1); // jitter : 동시에 실패한 요청이 한꺼번에 재시도하지 않도록
+            delayMillis = Math.min(delayMillis, retryMaxMillis); // 직접 계산한 대기 시간에만 상한 적용
+        }
+
+        try {
+            retryScheduler.schedule(() -> send(fcmRequest, attemptNum + 1, future), delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException exception) { // 서버 종료 중
+            fail(fcmRequest, attemptNum, code, future, exception);
+        }
+    }
+
+    private void fail(FcmRequest fcmRequest, int attemptNum, int code, CompletableFuture<PushResult> future, Exception exception) {
+        logger.error("푸시 알림 발송 실패", exception);
+        future.complete(new PushResult(fcmRequest.getToken(), "failed", code, attemptNum));
+    }
+
+    // Retry-After header (초 단위) -> ms (없거나 형식이 다르면 -1)
+    private long getRetryAfterMillis(Response response) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter == null) {
+            return -1;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException ignored) { // HTTP-date 형식은 지원 X
+            return -1;
+        }
+    }
+
+    // FCM 오류 응답이 유효하지 않은 token을 가리키는지 확인 (앱 삭제, 잘못된 token 등)
+    // 1. errorCode = UNREGISTERED (FcmError) 2. INVALID_ARGUMENT이면서 잘못된 필드가 message.token (BadRequest.fieldViolations)
+    private boolean isInvalidToken(ResponseBody body) {
+        if (body == null) {
+            return false;
+        }
+        try {
+            JsonNode error = objectMapper.readTree(body.string()).path("error");
+            boolean isInvalidArgument = error.path("status").asText().compareTo("INVALID_ARGUMENT") == 0;
+
+            for (JsonNode detail : error.path("details")) {
+                if (detail.path("errorCode").asText().compareTo("UNREGISTERED") == 0) {
+                    return true;
+                }
+                if (isInvalidArgument) {
+                    for (JsonNode violation : detail.path("fieldViolations")) {
+                        if (violation.path("field").asText().compareTo("message.token") == 0) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+
+        } catch (IOException ignored) {
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.umc.btos.src.firebase.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class PushResult {
+    private String token; // 수신 기기 FCM token
+    private String status; // success : 발송 성공 / invalidToken : 만료 또는 잘못된 token (User.fcmToken 삭제) / failed : 재시도 후에도 실패
+    private int code; // 마지막 응답의 HTTP status code (응답을 받지 못한 경우 0)
+    private int attemptNum; // 발송 시도 횟수 (재시도 포함)
+}
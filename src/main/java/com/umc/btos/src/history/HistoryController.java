@@ -26,16 +26,18 @@ public class HistoryController {
 
     /*
      * History 목록 조회
-     * [GET] /histories/list/:userIdx/:pageNum?filtering=&search=
+     * [GET] /histories/list/:userIdx/:pageNum?filtering=&search=&cursor=
      * filtering = 1. sender : 발신인 (Diary, Letter, Reply) / 2. diary : 일기만 (Diary) / 3. letter : 편지만 (Letter, Reply)
      * search (검색할 문자열 "String") = 1. filtering = sender : 닉네임 검색 / 2. filtering = diary or letter : 내용 검색
      * 검색 시 띄어쓰기, 영문 대소문자 구분없이 조회됨
      * 최신순 정렬 (createdAt 기준 내림차순 정렬)
      * 페이징 처리 (무한 스크롤) - 20개씩 조회
+     * cursor = 이전 페이지 응답의 pageInfo.nextCursor (발신인 닉네임 검색이 아닌 경우 커서 이후 20개만 조회)
+     * 커서 페이징 응답은 pageInfo.dataNum_total & endPage를 계산하지 않음 (0) -> hasNext & nextCursor로 다음 페이지 확인
      */
     @ResponseBody
     @GetMapping("/list/{userIdx}/{pageNum}")
-    BaseResponsePaging<GetHistoryListRes> getHistoryList(@PathVariable("userIdx") String userIdx, @PathVariable("pageNum") int pageNum, @RequestParam(value = "filtering", defaultValue = "sender") String filtering, @RequestParam(value = "search", required = false) String search) {
+    BaseResponsePaging<GetHistoryListRes> getHistoryList(@PathVariable("userIdx") String userIdx, @PathVariable("pageNum") int pageNum, @RequestParam(value = "filtering", defaultValue = "sender") String filtering, @RequestParam(value = "search", required = false) String search, @RequestParam(value = "cursor", required = false) String cursor) {
         try {
             // TODO : 형식적 validation - 존재하는 회원인가? & User.status = 'active' / pageNum == 0인 경우
             if (historyProvider.checkUserIdx(Integer.parseInt(userIdx)) == 0) {
@@ -45,7 +47,7 @@ public class HistoryController {
                 throw new BaseException(PAGENUM_ERROR_0); // 페이지 번호는 1부터 시작합니다.
             }
 
-            String[] params = new String[]{userIdx, filtering, search};
+            String[] params = new String[]{userIdx, filtering, search, cursor};
             PagingRes pageInfo = new PagingRes(pageNum, Constant.HISTORY_DATA_NUM); // 페이징 정보
 
             GetHistoryListRes historyList = historyProvider.getHistoryList(params, pageInfo);
@@ -58,15 +60,17 @@ public class HistoryController {
 
     /*
      * History 발신인 조회
-     * [GET] /histories/sender/:userIdx/:senderNickName/:pageNum?search=
+     * [GET] /histories/sender/:userIdx/:senderNickName/:pageNum?search=&cursor=
      * search = 검색할 문자열 ("String")
      * 검색 시 띄어쓰기, 영문 대소문자 구분없이 조회됨
      * 최신순 정렬 (createdAt 기준 내림차순 정렬)
      * 페이징 처리 (무한 스크롤) - 20개씩 조회
+     * cursor = 이전 페이지 응답의 pageInfo.nextCursor (커서 이후 20개만 조회)
+     * 커서 페이징 응답은 pageInfo.dataNum_total & endPage를 계산하지 않음 (0) -> hasNext & nextCursor로 다음 페이지 확인
      */
     @ResponseBody
     @GetMapping("/sender/{userIdx}/{senderNickName}/{pageNum}")
-    BaseResponsePaging<List<History>> getHistoryList_sender(@PathVariable("userIdx") String userIdx, @PathVariable("senderNickName") String senderNickName, @PathVariable("pageNum") int pageNum, @RequestParam(value = "search", required = false) String search) {
+    BaseResponsePaging<List<History>> getHistoryList_sender(@PathVariable("userIdx") String userIdx, @PathVariable("senderNickName") String senderNickName, @PathVariable("pageNum") int pageNum, @RequestParam(value = "search", required = false) String search, @RequestParam(value = "cursor", required = false) String cursor) {
         try {
             // TODO : 형식적 validation - 존재하는 회원인가? / 존재하는 회원 닉네임인가? / pageNum == 0인 경우
             if (historyProvider.checkUserIdx(Integer.parseInt(userIdx)) == 0) {
@@ -79,7 +83,7 @@ public class HistoryController {
                 throw new BaseException(PAGENUM_ERROR_0); // 페이지 번호는 1부터 시작합니다.
             }
 
-            String[] params = new String[]{userIdx, senderNickName, search};
+            String[] params = new String[]{userIdx, senderNickName, search, cursor};
             PagingRes pageInfo = new PagingRes(pageNum, Constant.HISTORY_DATA_NUM); // 페이징 정보
 
             List<History> historyList_sender = historyProvider.getHistoryList_sender(params, pageInfo);
@@ -1,12 +1,15 @@
 package com.umc.btos.src.history;
 
-import com.umc.btos.config.Constant;
 import com.umc.btos.src.history.model.*;
+import com.umc.btos.utils.SearchText;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Repository
@@ -83,497 +86,75 @@ public class HistoryDao {
         return this.jdbcTemplate.queryForList(query, String.class, userIdx, userIdx, userIdx);
     }
 
-    // --------------------------------------- null 확인 ---------------------------------------
-
-    // 일기 null 확인 : filtering == sender
-    public int hasHistory_diary(int userIdx, String senderNickName) {
-        String query = "SELECT EXISTS(SELECT * " +
-                "FROM DiarySendList " +
-                "INNER JOIN Diary ON DiarySendList.diaryIdx = Diary.diaryIdx " +
-                "INNER JOIN User ON Diary.userIdx = User.userIdx " +
-                "WHERE DiarySendList.receiverIdx = ? " +
-                "AND User.nickName = ? " +
-                "AND Diary.isSend = 1 AND DiarySendList.status = 'active')";
-
-        return this.jdbcTemplate.queryForObject(query, int.class, userIdx, senderNickName);
-    }
-
-    // 편지 null 확인 : filtering == sender
-    public int hasHistory_letter(int userIdx, String senderNickName) {
-        String query = "SELECT EXISTS(SELECT * " +
-                "FROM LetterSendList " +
-                "INNER JOIN Letter ON LetterSendList.letterIdx = Letter.letterIdx " +
-                "INNER JOIN User ON Letter.userIdx = User.userIdx " +
-                "WHERE LetterSendList.receiverIdx = ? " +
-                "AND User.nickName = ? " +
-                "AND LetterSendList.status = 'active')";
-
-        return this.jdbcTemplate.queryForObject(query, int.class, userIdx, senderNickName);
-    }
-
-    // 답장 null 확인 : filtering == sender
-    public int hasHistory_reply(int userIdx, String senderNickName) {
-        String query = "SELECT EXISTS(SELECT * " +
-                "FROM Reply " +
-                "INNER JOIN User ON Reply.replierIdx = User.userIdx " +
-                "WHERE Reply.receiverIdx = ? " +
-                "AND User.nickName = ? " +
-                "AND Reply.status = 'active')";
-
-        return this.jdbcTemplate.queryForObject(query, int.class, userIdx, senderNickName);
-    }
-
-    // 일기 null 확인 : filtering == diary
-    public int hasHistory_diary(int userIdx) {
-        String query = "SELECT EXISTS(SELECT * " +
-                "FROM DiarySendList " +
-                "INNER JOIN Diary ON DiarySendList.diaryIdx = Diary.diaryIdx " +
-                "INNER JOIN User ON Diary.userIdx = User.userIdx " +
-                "WHERE DiarySendList.receiverIdx = ? " +
-                "AND Diary.isSend = 1 AND DiarySendList.status = 'active')";
-
-        return this.jdbcTemplate.queryForObject(query, int.class, userIdx);
-    }
-
-    // 편지 null 확인 : filtering == letter
-    public int hasHistory_letter(int userIdx) {
-        String query = "SELECT EXISTS(SELECT * " +
-                "FROM LetterSendList " +
-                "INNER JOIN Letter ON LetterSendList.letterIdx = Letter.letterIdx " +
-                "INNER JOIN User ON Letter.userIdx = User.userIdx " +
-                "WHERE LetterSendList.receiverIdx = ? " +
-                "AND LetterSendList.status = 'active')";
-
-        return this.jdbcTemplate.queryForObject(query, int.class, userIdx);
-    }
-
-    // 답장 null 확인 : filtering == letter
-    public int hasHistory_reply(int userIdx) {
-        String query = "SELECT EXISTS(SELECT * " +
-                "FROM Reply " +
-                "INNER JOIN User ON Reply.replierIdx = User.userIdx " +
-                "WHERE Reply.receiverIdx = ? " +
-                "AND Reply.status = 'active')";
-
-        return this.jdbcTemplate.queryForObject(query, int.class, userIdx);
-    }
-
-    // --------------------------------------- List<History_Sender> size ---------------------------------------
-    // filtering == sender && search == null
-
-    // 일기 (DiarySendList.receiverIdx = userIdx AND User.nickName = senderNickName)
-    public int getDiaryListSize(int userIdx, String senderNickName) {
-        String query = "SELECT COUNT(*) FROM DiarySendList " +
-                "INNER JOIN Diary ON DiarySendList.diaryIdx = Diary.diaryIdx " +
-                "INNER JOIN User ON Diary.userIdx = User.userIdx " +
-                "WHERE DiarySendList.receiverIdx = ? AND User.nickName = ? AND Diary.isSend = 1 AND DiarySendList.status = 'active'";
-
-        return this.jdbcTemplate.queryForObject(query, int.class, userIdx, senderNickName);
-    }
-
-    // 편지 (LetterSendList.receiverIdx = userIdx AND User.nickName = senderNickName)
-    public int getLetterListSize(int userIdx, String senderNickName) {
-        String query = "SELECT COUNT(*) " +
-                "FROM LetterSendList " +
-                "INNER JOIN Letter ON LetterSendList.letterIdx = Letter.letterIdx " +
-                "INNER JOIN User ON Letter.userIdx = User.userIdx " +
-                "WHERE LetterSendList.receiverIdx = ? AND User.nickName = ? AND LetterSendList.status = 'active'";
-
-        return this.jdbcTemplate.queryForObject(query, int.class, userIdx, senderNickName);
-    }
-
-    // 답장 (Reply.receiverIdx = userIdx AND User.nickName = senderNickName)
-    public int getReplyListSize(int userIdx, String senderNickName) {
-        String query = "SELECT COUNT(*) " +
-                "FROM Reply " +
-                "INNER JOIN User ON Reply.replierIdx = User.userIdx " +
-                "WHERE Reply.receiverIdx = ? AND User.nickName = ? AND Reply.status = 'active'";
-
-        return this.jdbcTemplate.queryForObject(query, int.class, userIdx, senderNickName);
-    }
-
-    // ---------------------------------------------------------------------------------------------
-
-    public boolean getSenderActive_diary(int diaryIdx) {
-        String query =
-                "SELECT User.status " +
-                        "FROM DiarySendList " +
-                        "         INNER JOIN Diary ON DiarySendList.diaryIdx = Diary.diaryIdx " +
-                        "         INNER JOIN User ON Diary.userIdx = User.userIdx " +
-                        "WHERE Diary.diaryIdx = ? " +
-                        "  AND Diary.isSend = 1 " +
-                        "  AND DiarySendList.status = 'active' " +
-                        "GROUP BY User.status";
-
-        String senderStatus = this.jdbcTemplate.queryForObject(query, String.class, diaryIdx);
-        return senderStatus.compareTo("deleted") != 0; // User.status = delete -> false
-    }
-
-    public boolean getSenderActive_diary(int receiverIdx, String senderNickName) {
-        String query =
-                "SELECT User.status " +
-                        "FROM DiarySendList " +
-                        "         INNER JOIN Diary ON DiarySendList.diaryIdx = Diary.diaryIdx " +
-                        "         INNER JOIN User ON Diary.userIdx = User.userIdx " +
-                        "         INNER JOIN Done ON Diary.diaryIdx = Done.diaryIdx " +
-                        "WHERE DiarySendList.receiverIdx = ? " +
-                        "  AND User.nickName = ? " +
-                        "  AND Diary.isSend = 1 " +
-                        "  AND DiarySendList.status = 'active' " +
-                        "ORDER BY DiarySendList.createdAt DESC " +
-                        "LIMIT 1";
-
-        String senderStatus = this.jdbcTemplate.queryForObject(query, String.class, receiverIdx, senderNickName);
-        return senderStatus.compareTo("deleted") != 0; // User.status = delete -> false
-    }
-
-    public boolean getSenderActive_letter(int letterIdx) {
-        String query =
-                "SELECT User.status " +
-                        "FROM LetterSendList " +
-                        "         INNER JOIN Letter ON LetterSendList.letterIdx = Letter.letterIdx " +
-                        "         INNER JOIN User ON Letter.userIdx = User.userIdx " +
-                        "WHERE LetterSendList.letterIdx = ? " +
-                        "  AND LetterSendList.status = 'active' " +
-                        "GROUP BY User.status";
-
-        String senderStatus = this.jdbcTemplate.queryForObject(query, String.class, letterIdx);
-        return senderStatus.compareTo("deleted") != 0; // User.status = delete -> false
-    }
-
-    public boolean getSenderActive_letter(int receiverIdx, String senderNickName) {
-        String query =
-                "SELECT User.status " +
-                        "FROM LetterSendList " +
-                        "         INNER JOIN Letter ON LetterSendList.letterIdx = Letter.letterIdx " +
-                        "         INNER JOIN User ON Letter.userIdx = User.userIdx " +
-                        "WHERE LetterSendList.receiverIdx = ? " +
-                        "  AND User.nickName = ? " +
-                        "  AND LetterSendList.status = 'active' " +
-                        "ORDER BY LetterSendList.createdAt DESC " +
-                        "LIMIT 1";
-
-        String senderStatus = this.jdbcTemplate.queryForObject(query, String.class, receiverIdx, senderNickName);
-        return senderStatus.compareTo("deleted") != 0; // User.status = delete -> false
-    }
-
-    public boolean getSenderActive_reply(int replyIdx) {
-        String query =
-                "SELECT User.status " +
-                        "FROM Reply " +
-                        "         INNER JOIN User ON Reply.replierIdx = User.userIdx " +
-                        "WHERE Reply.replyIdx = ? " +
-                        "  AND Reply.status = 'active' ";
-
-        String senderStatus = this.jdbcTemplate.queryForObject(query, String.class, replyIdx);
-        return senderStatus.compareTo("deleted") != 0; // User.status = delete -> false
-    }
-
-    public boolean getSenderActive_reply(int receiverIdx, String senderNickName) {
-        String query =
-                "SELECT User.status " +
-                        "FROM Reply " +
-                        "         INNER JOIN User ON Reply.replierIdx = User.userIdx " +
-                        "WHERE Reply.receiverIdx = ? " +
-                        "  AND User.nickName = ? " +
-                        "  AND Reply.status = 'active' " +
-                        "ORDER BY Reply.createdAt DESC " +
-                        "LIMIT 1";
-
-        String senderStatus = this.jdbcTemplate.queryForObject(query, String.class, receiverIdx, senderNickName);
-        return senderStatus.compareTo("deleted") != 0; // User.status = delete -> false
-    }
-
-
-    // --------------------------------------- List<History> ---------------------------------------
-    // filtering == diary || letter (paging)
-
-    // 일기 (DiarySendList.receiverIdx = userIdx)
-    public History getDiary_done(int userIdx, int diaryIdx, boolean senderActive) {
-        String query = "SELECT Diary.diaryIdx                                   AS typeIdx, " +
-                "       Diary.content                                    AS content, " +
-                "       Diary.emotionIdx                                 AS emotionIdx, " +
-                "       COUNT(Done.diaryIdx)                             AS doneListNum, " +
-                "       DiarySendList.createdAt                          AS sendAt_raw, " +
-                "       date_format(DiarySendList.createdAt, '%Y.%m.%d') AS sendAt, " +
-                "       User.nickName                                    AS senderNickName, " +
-                "       User.fontIdx                                     AS senderFontIdx " +
-                "FROM DiarySendList " +
-                "         INNER JOIN Diary ON DiarySendList.diaryIdx = Diary.diaryIdx " +
-                "         INNER JOIN User ON Diary.userIdx = User.userIdx " +
-                "         INNER JOIN Done ON Diary.diaryIdx = Done.diaryIdx " +
-                "WHERE DiarySendList.receiverIdx = ? " +
-                "  AND Diary.diaryIdx = ? " +
-                "  AND Diary.isSend = 1 " +
-                "  AND DiarySendList.status = 'active'";
-
-        return this.jdbcTemplate.queryForObject(query,
-                (rs, rowNum) -> new History(
-                        "diary",
-                        rs.getInt("typeIdx"),
-                        rs.getString("content"),
-                        rs.getInt("emotionIdx"),
-                        rs.getInt("doneListNum"),
-                        rs.getString("sendAt_raw"),
-                        rs.getString("sendAt"),
-                        rs.getString("senderNickName"),
-                        senderActive,
-                        rs.getInt("senderFontIdx")
-                ), userIdx, diaryIdx);
-    }
-
-    // 일기 (DiarySendList.receiverIdx = userIdx)
-    public History getDiary_nonDone(int userIdx, int diaryIdx, boolean senderActive) {
-        String query = "SELECT Diary.diaryIdx                                   AS typeIdx, " +
-                "       Diary.content                                    AS content, " +
-                "       Diary.emotionIdx                                 AS emotionIdx, " +
-                "       DiarySendList.createdAt                          AS sendAt_raw, " +
-                "       date_format(DiarySendList.createdAt, '%Y.%m.%d') AS sendAt, " +
-                "       User.nickName                                    AS senderNickName, " +
-                "       User.fontIdx                                     AS senderFontIdx " +
-                "FROM DiarySendList " +
-                "         INNER JOIN Diary ON DiarySendList.diaryIdx = Diary.diaryIdx " +
-                "         INNER JOIN User ON Diary.userIdx = User.userIdx " +
-                "WHERE DiarySendList.receiverIdx = ? " +
-                "  AND Diary.diaryIdx = ? " +
-                "  AND Diary.isSend = 1 " +
-                "  AND DiarySendList.status = 'active'";
-
-        return this.jdbcTemplate.queryForObject(query,
-                (rs, rowNum) -> new History(
-                        "diary",
-                        rs.getInt("typeIdx"),
-                        rs.getString("content"),
-                        rs.getInt("emotionIdx"),
-                        0,
-                        rs.getString("sendAt_raw"),
-                        rs.getString("sendAt"),
-                        rs.getString("senderNickName"),
-                        senderActive,
-                        rs.getInt("senderFontIdx")
-                ), userIdx, diaryIdx);
-    }
-
-    // 일기 (DiarySendList.receiverIdx = userIdx AND User.nickName = senderNickName)
-    public History getDiary_done(int userIdx, int diaryIdx, String senderNickName, boolean senderActive) {
-        String query = "SELECT Diary.diaryIdx                                   AS typeIdx, " +
-                "       Diary.content                                    AS content, " +
-                "       Diary.emotionIdx                                 AS emotionIdx, " +
-                "       COUNT(Done.diaryIdx)                             AS doneListNum, " +
-                "       DiarySendList.createdAt                          AS sendAt_raw, " +
-                "       date_format(DiarySendList.createdAt, '%Y.%m.%d') AS sendAt, " +
-                "       User.fontIdx                                     AS senderFontIdx " +
-                "FROM DiarySendList " +
-                "         INNER JOIN Diary ON DiarySendList.diaryIdx = Diary.diaryIdx " +
-                "         INNER JOIN User ON Diary.userIdx = User.userIdx " +
-                "         INNER JOIN Done ON Diary.diaryIdx = Done.diaryIdx " +
-                "WHERE DiarySendList.receiverIdx = ? " +
-                "  AND Diary.diaryIdx = ? " +
-                "  AND User.nickName = ? " +
-                "  AND Diary.isSend = 1 " +
-                "  AND DiarySendList.status = 'active' " +
-                "ORDER BY sendAt DESC";
-
-        return this.jdbcTemplate.queryForObject(query,
-                (rs, rowNum) -> new History(
-                        "diary",
-                        rs.getInt("typeIdx"),
-                        rs.getString("content"),
-                        rs.getInt("emotionIdx"),
-                        rs.getInt("doneListNum"),
-                        rs.getString("sendAt_raw"),
-                        rs.getString("sendAt"),
-                        senderNickName,
-                        senderActive,
-                        rs.getInt("senderFontIdx")
-                ), userIdx, diaryIdx, senderNickName);
-    }
-
-    // 일기 (DiarySendList.receiverIdx = userIdx)
-    public History getDiary_nonDone(int userIdx, int diaryIdx, String senderNickName, boolean senderActive) {
-        String query = "SELECT Diary.diaryIdx                                   AS typeIdx, " +
-                "       Diary.content                                    AS content, " +
-                "       Diary.emotionIdx                                 AS emotionIdx, " +
-                "       DiarySendList.createdAt                          AS sendAt_raw, " +
-                "       date_format(DiarySendList.createdAt, '%Y.%m.%d') AS sendAt, " +
-                "       User.fontIdx                                     AS senderFontIdx " +
-                "FROM DiarySendList " +
-                "         INNER JOIN Diary ON DiarySendList.diaryIdx = Diary.diaryIdx " +
-                "         INNER JOIN User ON Diary.userIdx = User.userIdx " +
-                "WHERE DiarySendList.receiverIdx = ? " +
-                "  AND Diary.diaryIdx = ? " +
-                "  AND User.nickName = ? " +
-                "  AND Diary.isSend = 1 " +
-                "  AND DiarySendList.status = 'active'";
-
-        return this.jdbcTemplate.queryForObject(query,
-                (rs, rowNum) -> new History(
-                        "diary",
-                        rs.getInt("typeIdx"),
-                        rs.getString("content"),
-                        rs.getInt("emotionIdx"),
-                        0,
-                        rs.getString("sendAt_raw"),
-                        rs.getString("sendAt"),
-                        senderNickName,
-                        senderActive,
-                        rs.getInt("senderFontIdx")
-                ), userIdx, diaryIdx, senderNickName);
-    }
-
-    // 편지 (LetterSendList.receiverIdx = userIdx)
-    public List<History> getLetterList(int userIdx) {
-        String query = "SELECT Letter.letterIdx                                  AS typeIdx, " +
-                "       Letter.content                                    AS content, " +
-                "       LetterSendList.createdAt                          AS sendAt_raw, " +
-                "       date_format(LetterSendList.createdAt, '%Y.%m.%d') AS sendAt, " +
-                "       User.nickName                                     AS senderNickName, " +
-                "       User.fontIdx                                      AS senderFontIdx " +
-                "FROM LetterSendList " +
-                "         INNER JOIN Letter ON LetterSendList.letterIdx = Letter.letterIdx " +
-                "         INNER JOIN User ON Letter.userIdx = User.userIdx " +
-                "WHERE LetterSendList.receiverIdx = ? " +
-                "  AND LetterSendList.status = 'active' " +
-                "ORDER BY sendAt DESC";
-
-        return this.jdbcTemplate.query(query,
-                (rs, rowNum) -> new History(
-                        "letter",
-                        rs.getInt("typeIdx"),
-                        rs.getString("content"),
-                        rs.getString("sendAt_raw"),
-                        rs.getString("sendAt"),
-                        rs.getString("senderNickName"),
-                        rs.getInt("senderFontIdx")
-                ), userIdx);
-    }
-
-    // 편지 (LetterSendList.receiverIdx = userIdx AND User.nickName = senderNickName)
-    public List<History> getLetterList(int userIdx, String senderNickName) {
-        String query = "SELECT Letter.letterIdx                                  AS typeIdx, " +
-                "       Letter.content                                    AS content, " +
-                "       LetterSendList.createdAt                          AS sendAt_raw, " +
-                "       date_format(LetterSendList.createdAt, '%Y.%m.%d') AS sendAt, " +
-                "       User.nickName                                     AS senderNickName, " +
-                "       User.fontIdx                                      AS senderFontIdx " +
-                "FROM LetterSendList " +
-                "         INNER JOIN Letter ON LetterSendList.letterIdx = Letter.letterIdx " +
-                "         INNER JOIN User ON Letter.userIdx = User.userIdx " +
-                "WHERE LetterSendList.receiverIdx = ? " +
-                "  AND User.nickName = ? " +
-                "  AND LetterSendList.status = 'active' " +
-                "ORDER BY sendAt DESC";
-
-        return this.jdbcTemplate.query(query,
-                (rs, rowNum) -> new History(
-                        "letter",
-                        rs.getInt("typeIdx"),
-                        rs.getString("content"),
-                        rs.getString("sendAt_raw"),
-                        rs.getString("sendAt"),
-                        senderNickName,
-                        rs.getInt("senderFontIdx")
-                ), userIdx, senderNickName);
-    }
-
-    // 답장 (Reply.receiverIdx = userIdx)
-    public List<History> getReplyList(int userIdx) {
-        String query = "SELECT Reply.replyIdx                           AS typeIdx, " +
-                "       Reply.content                            AS content, " +
-                "       Reply.createdAt                          AS sendAt_raw, " +
-                "       date_format(Reply.createdAt, '%Y.%m.%d') AS sendAt, " +
-                "       User.nickName                            AS senderNickName, " +
-                "       User.fontIdx                             AS senderFontIdx " +
-                "FROM Reply " +
-                "         INNER JOIN User ON Reply.replierIdx = User.userIdx " +
-                "WHERE Reply.receiverIdx = ? " +
-                "  AND Reply.status = 'active' " +
-                "ORDER BY sendAt DESC";
-
-        return this.jdbcTemplate.query(query,
-                (rs, rowNum) -> new History(
-                        "reply",
-                        rs.getInt("typeIdx"),
-                        rs.getString("content"),
-                        rs.getString("sendAt_raw"),
-                        rs.getString("sendAt"),
-                        rs.getString("senderNickName"),
-                        rs.getInt("senderFontIdx")
-                ), userIdx);
-    }
-
-    // 답장 (Reply.receiverIdx = userIdx AND User.nickName = senderNickName)
-    public List<History> getReplyList(int userIdx, String senderNickName) {
-        String query = "SELECT Reply.replyIdx                           AS typeIdx, " +
-                "       Reply.content                            AS content, " +
-                "       Reply.createdAt                          AS sendAt_raw, " +
-                "       date_format(Reply.createdAt, '%Y.%m.%d') AS sendAt, " +
-                "       User.nickName                            AS senderNickName, " +
-                "       User.fontIdx                             AS senderFontIdx " +
-                "FROM Reply " +
-                "         INNER JOIN User ON Reply.replierIdx = User.userIdx " +
-                "WHERE Reply.receiverIdx = ? " +
-                "  AND User.nickName = ? " +
-                "  AND Reply.status = 'active' " +
-                "ORDER BY sendAt DESC";
-
-        return this.jdbcTemplate.query(query,
-                (rs, rowNum) -> new History(
-                        "reply",
-                        rs.getInt("typeIdx"),
-                        rs.getString("content"),
-                        rs.getString("sendAt_raw"),
-                        rs.getString("sendAt"),
-                        senderNickName,
-                        rs.getInt("senderFontIdx")
-                ), userIdx, senderNickName);
-    }
-
-    // --------------------------------------- List<History> size ---------------------------------------
-
-    // 일기 (filtering = diary)
-    public int getDiaryList_dataNum(int userIdx) {
-        String query = "SELECT COUNT(*) FROM DiarySendList WHERE DiarySendList.receiverIdx = ? AND DiarySendList.status = 'active'";
-        return this.jdbcTemplate.queryForObject(query, int.class, userIdx);
-    }
-
-    // 편지 (filtering = letter)
-    public int getLetterList_dataNum(int userIdx) {
-        String query = "SELECT COUNT(*) FROM LetterSendList WHERE LetterSendList.receiverIdx = ? AND LetterSendList.status = 'active'";
-        return this.jdbcTemplate.queryForObject(query, int.class, userIdx);
-    }
-
-    // 답장 (filtering = letter)
-    public int getReplyList_dataNum(int userIdx) {
-
-        String query = "SELECT COUNT(*) FROM Reply WHERE Reply.receiverIdx = ? AND Reply.status = 'active'";
-        return this.jdbcTemplate.queryForObject(query, int.class, userIdx);
-    }
-
-    // --------------------------------------- History ---------------------------------------
-
-    // 일기
-    public History getDiary(int userIdx, int diaryIdx, boolean senderActive) {
-        String query = "SELECT Diary.diaryIdx                                   AS typeIdx, " +
-                "       Diary.content                                    AS content, " +
-                "       Diary.emotionIdx                                 AS emotionIdx, " +
-                "       COUNT(Done.diaryIdx)                             AS doneListNum, " +
-                "       DiarySendList.createdAt                          AS sendAt_raw, " +
-                "       date_format(DiarySendList.createdAt, '%Y.%m.%d') AS sendAt, " +
-                "       User.nickName                                    AS senderNickName, " +
-                "       User.fontIdx                                     AS senderFontIdx " +
-                "FROM DiarySendList " +
-                "         INNER JOIN Diary ON DiarySendList.diaryIdx = Diary.diaryIdx " +
-                "         INNER JOIN User ON Diary.userIdx = User.userIdx " +
-                "         INNER JOIN Done ON Diary.diaryIdx = Done.diaryIdx " +
-                "WHERE DiarySendList.receiverIdx = ? " +
-                "  AND Diary.diaryIdx = ? " +
-                "  AND Diary.isSend = 1 " +
-                "  AND DiarySendList.status = 'active'";
-
-        return this.jdbcTemplate.queryForObject(query,
-                (rs, rowNum) -> new History(
-                        "diary",
+    // --------------------------------------- 커서 페이징 ---------------------------------------
+    // 수신 목록 (ReceivedItem)에서 (sendAt, type, typeIdx) 기준 내림차순 정렬 -> 커서 이후 limit개만 조회
+
+    // 발신인 목록 (filtering = sender) : 발신인별 가장 최근 수신 항목 기준 (sendAt, type, typeIdx) 내림차순 정렬 -> 커서 이후 limit명
+    public List<History_Sender> getSenderSummaryList_cursor(int userIdx, HistoryCursor cursor, int limit) {
+        String query = getSenderSummaryQuery("") +
+                "  AND (latest.sendAt, latest.type, latest.typeIdx) < (?, ?, ?) " +
+                "ORDER BY latest.sendAt DESC, latest.type DESC, latest.typeIdx DESC " +
+                "LIMIT ?";
+
+        return this.jdbcTemplate.query(query, senderSummaryRowMapper(),
+                userIdx, cursor.getSendAt(), cursor.getType(), cursor.getTypeIdx(), limit);
+    }
+
+    // 발신인 목록 (filtering = sender) : senderNickNameList에 해당하는 발신인만 (정렬 X)
+    public List<History_Sender> getSenderSummaryList(int userIdx, List<String> senderNickNameList) {
+        if (senderNickNameList.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String inParams = String.join(", ", Collections.nCopies(senderNickNameList.size(), "?"));
+        String query = getSenderSummaryQuery("AND ReceivedItem.senderIdx IN (SELECT userIdx FROM User WHERE nickName IN (" + inParams + ")) ");
+
+        List<Object> paramList = new ArrayList<>();
+        paramList.add(userIdx);
+        paramList.addAll(senderNickNameList);
+
+        return this.jdbcTemplate.query(query, senderSummaryRowMapper(), paramList.toArray());
+    }
+
+    /*
+     * 발신인별 요약 조회 쿼리 (한 번의 쿼리로 발신인마다 가장 최근에 받은 항목 1개 + 수신한 전체 개수)
+     * ROW_NUMBER() : 발신인별 (sendAt, type, typeIdx) 내림차순 순위 -> 1위 = 가장 최근에 받은 항목
+     * COUNT(*) OVER : 발신인별 수신한 일기, 편지, 답장 전체 개수
+     * 순위 & 개수 계산 전에 아직 발송되지 않은 일기(Diary.isSend = 0)는 제외 (getHistoryListQuery와 같은 조건)
+     */
+    private String getSenderSummaryQuery(String senderCondition) {
+        return "SELECT latest.type                                              AS type, " +
+                "       latest.typeIdx                                           AS typeIdx, " +
+                "       COALESCE(Diary.content, Letter.content, Reply.content)   AS content, " +
+                "       IFNULL(Diary.emotionIdx, 0)                              AS emotionIdx, " +
+                "       IFNULL(Diary.doneCount, 0)                               AS doneListNum, " +
+                "       latest.sendAt                                            AS sendAt_raw, " +
+                "       date_format(latest.sendAt, '%Y.%m.%d')                   AS sendAt, " +
+                "       User.nickName                                            AS senderNickName, " +
+                "       User.status                                              AS senderStatus, " +
+                "       User.fontIdx                                             AS senderFontIdx, " +
+                "       latest.historyListNum                                    AS historyListNum " +
+                "FROM (SELECT ReceivedItem.type, ReceivedItem.typeIdx, ReceivedItem.senderIdx, ReceivedItem.sendAt, " +
+                "             ROW_NUMBER() OVER (PARTITION BY ReceivedItem.senderIdx ORDER BY ReceivedItem.sendAt DESC, ReceivedItem.type DESC, ReceivedItem.typeIdx DESC) AS rowNum, " +
+                "             COUNT(*) OVER (PARTITION BY ReceivedItem.senderIdx)                                                                                  AS historyListNum " +
+                "      FROM ReceivedItem " +
+                "               LEFT JOIN Diary ON ReceivedItem.type = 'diary' AND ReceivedItem.typeIdx = Diary.diaryIdx " +
+                "      WHERE ReceivedItem.receiverIdx = ? " +
+                "        AND ReceivedItem.status = 'active' " +
+                "        AND (ReceivedItem.type <> 'diary' OR Diary.isSend = 1) " +
+                "      " + senderCondition + ") latest " +
+                "         INNER JOIN User ON latest.senderIdx = User.userIdx " +
+                "         LEFT JOIN Diary ON latest.type = 'diary' AND latest.typeIdx = Diary.diaryIdx " +
+                "         LEFT JOIN Letter ON latest.type = 'letter' AND latest.typeIdx = Letter.letterIdx " +
+                "         LEFT JOIN Reply ON latest.type = 'reply' AND latest.typeIdx = Reply.replyIdx " +
+                "WHERE latest.rowNum = 1 ";
+    }
+
+    private RowMapper<History_Sender> senderSummaryRowMapper() {
+        return (rs, rowNum) -> new History_Sender(
+                rs.getInt("historyListNum"),
+                new History(
+                        rs.getString("type"),
                         rs.getInt("typeIdx"),
                         rs.getString("content"),
                         rs.getInt("emotionIdx"),
@@ -581,306 +162,164 @@ public class HistoryDao {
                         rs.getString("sendAt_raw"),
                         rs.getString("sendAt"),
                         rs.getString("senderNickName"),
-                        senderActive,
+                        rs.getString("senderStatus").compareTo("deleted") != 0, // User.status = delete -> false
                         rs.getInt("senderFontIdx")
-                ), userIdx, diaryIdx);
-    }
-
-    // 일기 (DiarySendList.receiverIdx = userIdx AND User.nickName = senderNickName)
-    public History getDiary_done(int userIdx, String senderNickName, boolean senderActive) {
-        String query = "SELECT Diary.diaryIdx                                   AS typeIdx, " +
-                "       Diary.content                                    AS content, " +
-                "       Diary.emotionIdx                                 AS emotionIdx, " +
-                "       COUNT(Done.diaryIdx)                             AS doneListNum, " +
-                "       DiarySendList.createdAt                          AS sendAt_raw, " +
-                "       date_format(DiarySendList.createdAt, '%Y.%m.%d') AS sendAt, " +
-                "User.fontIdx                                     AS senderFontIdx " +
-                "FROM DiarySendList " +
-                "         INNER JOIN Diary ON DiarySendList.diaryIdx = Diary.diaryIdx " +
-                "         INNER JOIN User ON Diary.userIdx = User.userIdx " +
-                "         INNER JOIN Done ON Diary.diaryIdx = Done.diaryIdx " +
-                "WHERE DiarySendList.receiverIdx = ? " +
-                "  AND User.nickName = ? " +
-                "  AND Diary.isSend = 1 " +
-                "  AND DiarySendList.status = 'active' " +
-                "ORDER BY sendAt DESC " + // 발신일 기준 내림차순 정렬
-                "LIMIT 1"; // 상위 첫번째 값
+                ));
+    }
+
+    /*
+     * 수신한 일기 / 편지 & 답장 목록 (커서 이후 limit개)
+     * senderNickName = null이면 전체 발신인, 아니면 해당 발신인만
+     * diary = true : 일기 포함 / letter = true : 편지 & 답장 포함
+     * search = null이면 전체, 아니면 내용 검색 (정규화된 검색어, SearchIndex)
+     * ReceivedItem 인덱스 범위 조회 후 본문은 type별 기본키로 조회
+     */
+    public List<History> getHistoryList_cursor(int userIdx, String senderNickName, boolean diary, boolean letter, String search, HistoryCursor cursor, int limit) {
+        String query = "SELECT ReceivedItem.type                                        AS type, " +
+                "       ReceivedItem.typeIdx                                     AS typeIdx, " +
+                "       COALESCE(Diary.content, Letter.content, Reply.content)   AS content, " +
+                "       IFNULL(Diary.emotionIdx, 0)                              AS emotionIdx, " +
+                "       IFNULL(Diary.doneCount, 0)                               AS doneListNum, " +
+                "       ReceivedItem.sendAt                                      AS sendAt_raw, " +
+                "       date_format(ReceivedItem.sendAt, '%Y.%m.%d')             AS sendAt, " +
+                "       User.nickName                                            AS senderNickName, " +
+                "       User.status                                              AS senderStatus, " +
+                "       User.fontIdx                                             AS senderFontIdx " +
+                getHistoryListQuery(senderNickName, diary, letter, search) +
+                "  AND ReceivedItem.sendAt <= ? " + // 인덱스 범위 조건
+                "  AND (ReceivedItem.sendAt, ReceivedItem.type, ReceivedItem.typeIdx) < (?, ?, ?) " +
+                "ORDER BY ReceivedItem.sendAt DESC, ReceivedItem.type DESC, ReceivedItem.typeIdx DESC " +
+                "LIMIT ?";
+
+        List<Object> paramList = getHistoryListParams(userIdx, senderNickName, search);
+        paramList.add(cursor.getSendAt());
+        paramList.add(cursor.getSendAt());
+        paramList.add(cursor.getType());
+        paramList.add(cursor.getTypeIdx());
+        paramList.add(limit);
 
-        return this.jdbcTemplate.queryForObject(query,
+        return this.jdbcTemplate.query(query,
                 (rs, rowNum) -> new History(
-                        "diary",
+                        rs.getString("type"),
                         rs.getInt("typeIdx"),
                         rs.getString("content"),
                         rs.getInt("emotionIdx"),
                         rs.getInt("doneListNum"),
                         rs.getString("sendAt_raw"),
                         rs.getString("sendAt"),
-                        senderNickName,
-                        senderActive,
-                        rs.getInt("senderFontIdx")
-                ), userIdx, senderNickName);
-    }
-
-    // 일기 (DiarySendList.receiverIdx = userIdx AND User.nickName = senderNickName)
-    public History getDiary_nonDone(int userIdx, String senderNickName, boolean senderActive) {
-        String query = "SELECT Diary.diaryIdx                                   AS typeIdx, " +
-                "       Diary.content                                    AS content, " +
-                "       Diary.emotionIdx                                 AS emotionIdx, " +
-                "       DiarySendList.createdAt                          AS sendAt_raw, " +
-                "       date_format(DiarySendList.createdAt, '%Y.%m.%d') AS sendAt, " +
-                "       User.fontIdx                                     AS senderFontIdx " +
-                "FROM DiarySendList " +
-                "         INNER JOIN Diary ON DiarySendList.diaryIdx = Diary.diaryIdx " +
-                "         INNER JOIN User ON Diary.userIdx = User.userIdx " +
-                "WHERE DiarySendList.receiverIdx = ? " +
-                "  AND User.nickName = ? " +
-                "  AND Diary.isSend = 1 " +
-                "  AND DiarySendList.status = 'active' " +
-                "ORDER BY sendAt DESC " + // 발신일 기준 내림차순 정렬
-                "LIMIT 1"; // 상위 첫번째 값
-
-        return this.jdbcTemplate.queryForObject(query,
-                (rs, rowNum) -> new History(
-                        "diary",
-                        rs.getInt("typeIdx"),
-                        rs.getString("content"),
-                        rs.getInt("emotionIdx"),
-                        0,
-                        rs.getString("sendAt_raw"),
-                        rs.getString("sendAt"),
-                        senderNickName,
-                        senderActive,
-                        rs.getInt("senderFontIdx")
-                ), userIdx, senderNickName);
-    }
-
-    // 편지
-    public History getLetter(int userIdx, int letterIdx, boolean senderActive) {
-        String query = "SELECT Letter.letterIdx                                  AS typeIdx, " +
-                "       Letter.content                                    AS content, " +
-                "       LetterSendList.createdAt                          AS sendAt_raw, " +
-                "       date_format(LetterSendList.createdAt, '%Y.%m.%d') AS sendAt, " +
-                "       User.nickName                                     AS senderNickName, " +
-                "       User.fontIdx                                      AS senderFontIdx " +
-                "FROM LetterSendList " +
-                "         INNER JOIN Letter ON LetterSendList.letterIdx = Letter.letterIdx " +
-                "         INNER JOIN User ON Letter.userIdx = User.userIdx " +
-                "WHERE LetterSendList.receiverIdx = ? " +
-                "  AND Letter.letterIdx = ? " +
-                "  AND LetterSendList.status = 'active'";
-
-        return this.jdbcTemplate.queryForObject(query,
-                (rs, rowNum) -> new History(
-                        "letter",
-                        rs.getInt("typeIdx"),
-                        rs.getString("content"),
-                        rs.getString("sendAt_raw"),
-                        rs.getString("sendAt"),
-                        rs.getString("senderNickName"),
-                        senderActive,
-                        rs.getInt("senderFontIdx")
-                ), userIdx, letterIdx);
-    }
-
-    // 편지 (LetterSendList.receiverIdx = userIdx AND User.nickName = senderNickName)
-    public History getLetter(int userIdx, String senderNickName, boolean senderActive) {
-        String query = "SELECT Letter.letterIdx                                  AS typeIdx, " +
-                "       Letter.content                                    AS content, " +
-                "       LetterSendList.createdAt                          AS sendAt_raw, " +
-                "       date_format(LetterSendList.createdAt, '%Y.%m.%d') AS sendAt, " +
-                "       User.nickName                                     AS senderNickName, " +
-                "       User.fontIdx                                      AS senderFontIdx " +
-                "FROM LetterSendList " +
-                "         INNER JOIN Letter ON LetterSendList.letterIdx = Letter.letterIdx " +
-                "         INNER JOIN User ON Letter.userIdx = User.userIdx " +
-                "WHERE LetterSendList.receiverIdx = ? " +
-                "  AND User.nickName = ? " +
-                "  AND LetterSendList.status = 'active' " +
-                "ORDER BY sendAt DESC\n" +
-                "LIMIT 1";
-
-        return this.jdbcTemplate.queryForObject(query,
-                (rs, rowNum) -> new History(
-                        "letter",
-                        rs.getInt("typeIdx"),
-                        rs.getString("content"),
-                        rs.getString("sendAt_raw"),
-                        rs.getString("sendAt"),
-                        senderNickName,
-                        senderActive,
-                        rs.getInt("senderFontIdx")
-                ), userIdx, senderNickName);
-    }
-
-    // 답장
-    public History getReply(int userIdx, int replyIdx, boolean senderActive) {
-        String query = "SELECT Reply.replyIdx                           AS typeIdx, " +
-                "       Reply.content                            AS content, " +
-                "       Reply.createdAt                          AS sendAt_raw, " +
-                "       date_format(Reply.createdAt, '%Y.%m.%d') AS sendAt, " +
-                "       User.nickName                            AS senderNickName, " +
-                "       User.fontIdx                             AS senderFontIdx " +
-                "FROM Reply " +
-                "         INNER JOIN User ON Reply.replierIdx = User.userIdx " +
-                "WHERE Reply.receiverIdx = ? " +
-                "  AND Reply.replyIdx = ? " +
-                "  AND Reply.status = 'active'";
-
-        return this.jdbcTemplate.queryForObject(query,
-                (rs, rowNum) -> new History(
-                        "reply",
-                        rs.getInt("typeIdx"),
-                        rs.getString("content"),
-                        rs.getString("sendAt_raw"),
-                        rs.getString("sendAt"),
                         rs.getString("senderNickName"),
-                        senderActive,
-                        rs.getInt("senderFontIdx")
-                ), userIdx, replyIdx);
-    }
-
-    // 답장 (Reply.receiverIdx = userIdx AND User.nickName = senderNickName)
-    public History getReply(int userIdx, String senderNickName, boolean senderActive) {
-        String query = "SELECT Reply.replyIdx                           AS typeIdx, " +
-                "       Reply.content                            AS content, " +
-                "       Reply.createdAt                          AS sendAt_raw, " +
-                "       date_format(Reply.createdAt, '%Y.%m.%d') AS sendAt, " +
-                "       User.nickName                            AS senderNickName, " +
-                "       User.fontIdx                             AS senderFontIdx " +
-                "FROM Reply " +
-                "         INNER JOIN User ON Reply.replierIdx = User.userIdx " +
-                "WHERE Reply.receiverIdx = ? " +
-                "  AND User.nickName = ? " +
-                "  AND Reply.status = 'active' " +
-                "ORDER BY sendAt DESC " +
-                "LIMIT 1";
-
-        return this.jdbcTemplate.queryForObject(query,
-                (rs, rowNum) -> new History(
-                        "reply",
-                        rs.getInt("typeIdx"),
-                        rs.getString("content"),
-                        rs.getString("sendAt_raw"),
-                        rs.getString("sendAt"),
-                        senderNickName,
-                        senderActive,
+                        rs.getString("senderStatus").compareTo("deleted") != 0, // User.status = delete -> false
                         rs.getInt("senderFontIdx")
-                ), userIdx, senderNickName);
-    }
-
-
-    // --------------------------------------- idxList ---------------------------------------
-    // search != null
-
-    // diaryIdx 리스트 반환 : filtering = sender
-    public List<Integer> getDiaryIdxList(int userIdx, String senderNickName) {
-        String query = "SELECT idx FROM (" +
-                "SELECT Diary.diaryIdx AS idx, DiarySendList.createdAt AS sendAt " +
-                "FROM DiarySendList " +
-                "INNER JOIN Diary ON DiarySendList.diaryIdx = Diary.diaryIdx " +
-                "INNER JOIN User ON Diary.userIdx = User.userIdx " +
-                "WHERE DiarySendList.receiverIdx = ? AND User.nickName = ? AND Diary.isSend = 1 AND DiarySendList.status = 'active' " +
-                "ORDER BY sendAt DESC) idx";
-
-        return this.jdbcTemplate.queryForList(query, int.class, userIdx, senderNickName);
+                ), paramList.toArray());
+    }
+
+    // 수신한 일기 / 편지 & 답장 개수 (getHistoryList_cursor와 같은 조건)
+    public int getHistoryList_dataNum(int userIdx, String senderNickName, boolean diary, boolean letter, String search) {
+        String query = "SELECT COUNT(*) " + getHistoryListQuery(senderNickName, diary, letter, search);
+        return this.jdbcTemplate.queryForObject(query, int.class, getHistoryListParams(userIdx, senderNickName, search).toArray());
+    }
+
+    // FROM ~ WHERE (커서 조건 제외)
+    private String getHistoryListQuery(String senderNickName, boolean diary, boolean letter, String search) {
+        List<String> typeList = new ArrayList<>();
+        if (diary) typeList.add("'diary'");
+        if (letter) {
+            typeList.add("'letter'");
+            typeList.add("'reply'");
+        }
+
+        return "FROM ReceivedItem " +
+                "         INNER JOIN User ON ReceivedItem.senderIdx = User.userIdx " +
+                "         LEFT JOIN Diary ON ReceivedItem.type = 'diary' AND ReceivedItem.typeIdx = Diary.diaryIdx " +
+                "         LEFT JOIN Letter ON ReceivedItem.type = 'letter' AND ReceivedItem.typeIdx = Letter.letterIdx " +
+                "         LEFT JOIN Reply ON ReceivedItem.type = 'reply' AND ReceivedItem.typeIdx = Reply.replyIdx " +
+                (search != null ? "         INNER JOIN SearchIndex ON ReceivedItem.type = SearchIndex.type AND ReceivedItem.typeIdx = SearchIndex.typeIdx " : "") +
+                "WHERE ReceivedItem.receiverIdx = ? " +
+                "  AND ReceivedItem.status = 'active' " +
+                "  AND ReceivedItem.type IN (" + String.join(", ", typeList) + ") " +
+                (senderNickName != null ? "  AND ReceivedItem.senderIdx = (SELECT userIdx FROM User WHERE nickName = ? LIMIT 1) " : "") +
+                (search != null ? "  AND " + SearchText.getCondition(search) : "") +
+                "  AND (ReceivedItem.type <> 'diary' OR Diary.isSend = 1) ";
+    }
+
+    // getHistoryListQuery()의 ? 순서대로 전달할 값
+    private List<Object> getHistoryListParams(int userIdx, String senderNickName, String search) {
+        List<Object> paramList = new ArrayList<>();
+        paramList.add(userIdx);
+        if (senderNickName != null) {
+            paramList.add(senderNickName);
+        }
+        if (search != null) {
+            paramList.addAll(SearchText.getParams(search));
+        }
+        return paramList;
     }
 
-    // letterIdx 리스트 반환 : filtering = sender
-    public List<Integer> getLetterIdxList(int userIdx, String senderNickName) {
-        String query = "SELECT idx FROM (" +
-                "SELECT Letter.letterIdx AS idx, LetterSendList.createdAt AS sendAt " +
-                "FROM LetterSendList " +
-                "INNER JOIN Letter ON LetterSendList.letterIdx = Letter.letterIdx " +
-                "INNER JOIN User ON Letter.userIdx = User.userIdx " +
-                "WHERE LetterSendList.receiverIdx = ? AND User.nickName = ? AND LetterSendList.status = 'active' " +
-                "ORDER BY sendAt DESC) idx";
+    public boolean getSenderActive_diary(int diaryIdx) {
+        String query =
+                "SELECT User.status " +
+                        "FROM DiarySendList " +
+                        "         INNER JOIN Diary ON DiarySendList.diaryIdx = Diary.diaryIdx " +
+                        "         INNER JOIN User ON Diary.userIdx = User.userIdx " +
+                        "WHERE Diary.diaryIdx = ? " +
+                        "  AND Diary.isSend = 1 " +
+                        "  AND DiarySendList.status = 'active' " +
+                        "GROUP BY User.status";
 
-        return this.jdbcTemplate.queryForList(query, int.class, userIdx, senderNickName);
+        String senderStatus = this.jdbcTemplate.queryForObject(query, String.class, diaryIdx);
+        return senderStatus.compareTo("deleted") != 0; // User.status = delete -> false
     }
 
-    // replyIdx 리스트 반환 : filtering = sender
-    public List<Integer> getReplyIdxList(int userIdx, String senderNickName) {
-        String query = "SELECT idx FROM (" +
-                "SELECT Reply.replyIdx AS idx, Reply.createdAt AS sendAt " +
-                "FROM Reply " +
-                "INNER JOIN User ON Reply.replierIdx = User.userIdx " +
-                "WHERE Reply.receiverIdx = ? AND User.nickName = ? AND Reply.status = 'active' " +
-                "ORDER BY sendAt DESC) idx";
+    public boolean getSenderActive_letter(int letterIdx) {
+        String query =
+                "SELECT User.status " +
+                        "FROM LetterSendList " +
+                        "         INNER JOIN Letter ON LetterSendList.letterIdx = Letter.letterIdx " +
+                        "         INNER JOIN User ON Letter.userIdx = User.userIdx " +
+                        "WHERE LetterSendList.letterIdx = ? " +
+                        "  AND LetterSendList.status = 'active' " +
+                        "GROUP BY User.status";
 
-        return this.jdbcTemplate.queryForList(query, int.class, userIdx, senderNickName);
+        String senderStatus = this.jdbcTemplate.queryForObject(query, String.class, letterIdx);
+        return senderStatus.compareTo("deleted") != 0; // User.status = delete -> false
     }
 
-    // diaryIdx 리스트 반환 : filtering = diary
-    public List<Integer> getDiaryIdxList(int userIdx) {
-        String query = "SELECT idx FROM (" +
-                "SELECT Diary.diaryIdx AS idx, DiarySendList.createdAt AS sendAt " +
-                "FROM DiarySendList " +
-                "INNER JOIN Diary ON DiarySendList.diaryIdx = Diary.diaryIdx " +
-                "INNER JOIN User ON Diary.userIdx = User.userIdx " +
-                "WHERE DiarySendList.receiverIdx = ? AND Diary.isSend = 1 AND DiarySendList.status = 'active' " +
-                "ORDER BY sendAt DESC) idx";
+    public boolean getSenderActive_reply(int replyIdx) {
+        String query =
+                "SELECT User.status " +
+                        "FROM Reply " +
+                        "         INNER JOIN User ON Reply.replierIdx = User.userIdx " +
+                        "WHERE Reply.replyIdx = ? " +
+                        "  AND Reply.status = 'active' ";
 
-        return this.jdbcTemplate.queryForList(query, int.class, userIdx);
+        String senderStatus = this.jdbcTemplate.queryForObject(query, String.class, replyIdx);
+        return senderStatus.compareTo("deleted") != 0; // User.status = delete -> false
     }
 
-    // diaryIdx 리스트 반환 : filtering = diary
-    public List<Integer> getDiaryIdxList(int userIdx, int pageNum) {
-        int startDataIdx = (pageNum - 1) * Constant.HISTORY_DATA_NUM;
-        int endDataIdx = pageNum * Constant.HISTORY_DATA_NUM;
 
-        String query = "SELECT idx FROM (" +
-                "SELECT Diary.diaryIdx AS idx, DiarySendList.createdAt AS sendAt " +
-                "FROM DiarySendList " +
-                "INNER JOIN Diary ON DiarySendList.diaryIdx = Diary.diaryIdx " +
-                "INNER JOIN User ON Diary.userIdx = User.userIdx " +
-                "WHERE DiarySendList.receiverIdx = ? AND Diary.isSend = 1 AND DiarySendList.status = 'active' " +
-                "ORDER BY sendAt DESC) idx " +
-                "LIMIT ?, ?";
+    // --------------------------------------- List<History> size ---------------------------------------
 
-        return this.jdbcTemplate.queryForList(query, int.class, userIdx, startDataIdx, endDataIdx);
+    // 일기 (filtering = diary)
+    public int getDiaryList_dataNum(int userIdx) {
+        String query = "SELECT COUNT(*) FROM DiarySendList WHERE DiarySendList.receiverIdx = ? AND DiarySendList.status = 'active'";
+        return this.jdbcTemplate.queryForObject(query, int.class, userIdx);
     }
 
-    // letterIdx 리스트 반환 : filtering = letter
-    public List<Integer> getLetterIdxList(int userIdx) {
-
-        String query = "SELECT idx FROM (" +
-                "SELECT Letter.letterIdx AS idx, LetterSendList.createdAt AS sendAt " +
-                "FROM LetterSendList " +
-                "INNER JOIN Letter ON LetterSendList.letterIdx = Letter.letterIdx " +
-                "INNER JOIN User ON Letter.userIdx = User.userIdx " +
-                "WHERE LetterSendList.receiverIdx = ? AND LetterSendList.status = 'active' " +
-                "ORDER BY sendAt DESC) idx";
-
-        return this.jdbcTemplate.queryForList(query, int.class, userIdx);
+    // 편지 (filtering = letter)
+    public int getLetterList_dataNum(int userIdx) {
+        String query = "SELECT COUNT(*) FROM LetterSendList WHERE LetterSendList.receiverIdx = ? AND LetterSendList.status = 'active'";
+        return this.jdbcTemplate.queryForObject(query, int.class, userIdx);
     }
 
-    // replyIdx 리스트 반환 : filtering = letter
-    public List<Integer> getReplyIdxList(int userIdx) {
-
-        String query = "SELECT idx FROM (" +
-                "SELECT Reply.replyIdx AS idx, Reply.createdAt AS sendAt " +
-                "FROM Reply " +
-                "INNER JOIN User ON Reply.replierIdx = User.userIdx " +
-                "WHERE Reply.receiverIdx = ? AND Reply.status = 'active' " +
-                "ORDER BY sendAt DESC) idx";
+    // 답장 (filtering = letter)
+    public int getReplyList_dataNum(int userIdx) {
 
-        return this.jdbcTemplate.queryForList(query, int.class, userIdx);
+        String query = "SELECT COUNT(*) FROM Reply WHERE Reply.receiverIdx = ? AND Reply.status = 'active'";
+        return this.jdbcTemplate.queryForObject(query, int.class, userIdx);
     }
 
     // --------------------------------------- idxList size ---------------------------------------
 
-    // diaryIdx 리스트 반환 시 (filtering = diary) data 개수 반환
-    public int getDiaryIdxList_dataNum(int userIdx) {
-        String query = "SELECT COUNT(*) " +
-                "FROM DiarySendList " +
-                "INNER JOIN Diary ON DiarySendList.diaryIdx = Diary.diaryIdx " +
-                "WHERE DiarySendList.receiverIdx = ? " +
-                "AND Diary.isSend = 1 " +
-                "AND DiarySendList.status = 'active'";
-
-        return this.jdbcTemplate.queryForObject(query, int.class, userIdx);
-    }
-
     // letterIdx 리스트 반환 시 (filtering = letter) data 개수 반환
     public int getLetterIdxList_dataNum(int userIdx) {
         String query = "SELECT COUNT(*) FROM LetterSendList WHERE LetterSendList.receiverIdx = ? AND LetterSendList.status = 'active'";
@@ -898,13 +337,12 @@ public class HistoryDao {
 
     // letterIdx (createAt 기준 내림차순 정렬 시 상위 1번째 항목)
     public int getLetterIdx_sender(int userIdx, String senderNickName) {
-        String query = "SELECT idx FROM (" +
-                "SELECT Letter.letterIdx AS idx, LetterSendList.createdAt AS sendAt " +
+        String query = "SELECT Letter.letterIdx AS idx " +
                 "FROM LetterSendList " +
                 "INNER JOIN Letter ON LetterSendList.letterIdx = Letter.letterIdx " +
                 "INNER JOIN User ON Letter.userIdx = User.userIdx " +
                 "WHERE LetterSendList.receiverIdx = ? AND User.nickName = ? AND LetterSendList.status = 'active' " +
-                "ORDER BY sendAt DESC) idx " +
+                "ORDER BY LetterSendList.createdAt DESC " +
                 "LIMIT 1";
 
         return this.jdbcTemplate.queryForObject(query, int.class, userIdx, senderNickName);
@@ -912,37 +350,16 @@ public class HistoryDao {
 
     // replyIdx (createAt 기준 내림차순 정렬 시 상위 1번째 항목)
     public int getReplyIdx_sender(int userIdx, String senderNickName) {
-        String query = "SELECT idx FROM (" +
-                "SELECT Reply.replyIdx AS idx, Reply.createdAt AS sendAt " +
+        String query = "SELECT Reply.replyIdx AS idx " +
                 "FROM Reply " +
                 "INNER JOIN User ON Reply.replierIdx = User.userIdx " +
                 "WHERE Reply.receiverIdx = ? AND User.nickName = ? AND Reply.status = 'active' " +
-                "ORDER BY sendAt DESC) idx " +
+                "ORDER BY Reply.createdAt DESC " +
                 "LIMIT 1";
 
         return this.jdbcTemplate.queryForObject(query, int.class, userIdx, senderNickName);
     }
 
-    // --------------------------------------- content ---------------------------------------
-
-    // Diary.content 반환
-    public String getDiaryContent(int diaryIdx) {
-        String query = "SELECT content FROM Diary WHERE diaryIdx = ? AND isSend = 1 AND status = 'active'";
-        return this.jdbcTemplate.queryForObject(query, String.class, diaryIdx);
-    }
-
-    // Letter.content 반환
-    public String getLetterContent(int letterIdx) {
-        String query = "SELECT content FROM Letter WHERE letterIdx = ? AND status = 'active'";
-        return this.jdbcTemplate.queryForObject(query, String.class, letterIdx);
-    }
-
-    // Reply.content 반환
-    public String getReplyContent(int replyIdx) {
-        String query = "SELECT content FROM Reply WHERE replyIdx = ? AND status = 'active'";
-        return this.jdbcTemplate.queryForObject(query, String.class, replyIdx);
-    }
-
     // ===================================  History 본문 조회 ===================================
 
     // --------------------------------------- 본문 ---------------------------------------
@@ -1005,17 +422,6 @@ public class HistoryDao {
         return this.jdbcTemplate.queryForObject(query, int.class, diaryIdx);
     }
 
-    // 해당 일기 done list 유무 반환
-    public int hasDone(int diaryIdx, String senderNickName) {
-        String query = "SELECT EXISTS(SELECT * " +
-                "FROM Diary " +
-                "INNER JOIN User ON Diary.userIdx = User.userIdx " +
-                "INNER JOIN Done ON Diary.diaryIdx = Done.diaryIdx " +
-                "WHERE Diary.diaryIdx = ? AND User.nickName = ?)";
-
-        return this.jdbcTemplate.queryForObject(query, int.class, diaryIdx, senderNickName);
-    }
-
     // 편지
     public GetHistoryRes getLetter_main(int letterIdx, boolean senderActive) {
         String query = "SELECT Letter.letterIdx                                  AS typeIdx, " +
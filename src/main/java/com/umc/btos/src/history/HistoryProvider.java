@@ -2,14 +2,17 @@ package com.umc.btos.src.history;
 
 import com.umc.btos.config.*;
 import com.umc.btos.src.history.model.*;
+import com.umc.btos.utils.SearchText;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import static com.umc.btos.config.BaseResponseStatus.*;
 
@@ -80,8 +83,14 @@ public class HistoryProvider {
      * 페이징 처리 (무한 스크롤) - 20개씩 조회
      */
     public GetHistoryListRes getHistoryList(String[] params, PagingRes pageInfo) throws BaseException, NullPointerException {
+        // 커서 페이징 : 커서가 전달되었거나 첫 페이지인 경우 (발신인 닉네임 검색 제외)
+        boolean isNickNameSearch = params[2] != null && params[1].compareTo("sender") == 0;
+        if (!isNickNameSearch && (params[3] != null || pageInfo.getCurrentPage() == 1)) {
+            return getHistoryList_cursor(params, pageInfo);
+        }
+
         try {
-            // String[] params = new String[]{userIdx, filtering, search};
+            // String[] params = new String[]{userIdx, filtering, search, cursor};
             int userIdx = Integer.parseInt(params[0]);
             String filtering = params[1];
             String search = params[2];
@@ -132,78 +141,11 @@ public class HistoryProvider {
                     historyListRes.setList(historyListRes_list);
                 }
 
-                // 일기만
-                else if (filtering.compareTo("diary") == 0) {
-                    List<History> historyList = new ArrayList<>(); // GetHistoryListRes.list
-
-                    dataNum_total = historyDao.getDiaryIdxList_dataNum(userIdx); // 총 데이터 개수
-                    if (dataNum_total == 0) {
-                        throw new NullPointerException(); // 검색 결과 없음
-                    }
-                    pageInfo.setDataNum_total((int) dataNum_total);
-
-                    List<Integer> diaryIdxList = historyDao.getDiaryIdxList(userIdx, pageNum); // 수신한 일기들 (createdAt 기준 내림차순 정렬, 페이징 처리)
-                    dataNum_currentPage = diaryIdxList.size(); // 현재 페이지의 데이터 개수
-                    pageInfo.setDataNum_currentPage(dataNum_currentPage);
-
-                    for (int diaryIdx : diaryIdxList) {
-                        if (historyDao.hasDone(diaryIdx) == 1) { // 해당 일기에 done list가 있는 경우
-                            historyList.add(historyDao.getDiary_done(userIdx, diaryIdx, historyDao.getSenderActive_diary(diaryIdx)));
-                        } else { // 해당 일기에 done list가 없는 경우
-                            historyList.add(historyDao.getDiary_nonDone(userIdx, diaryIdx, historyDao.getSenderActive_diary(diaryIdx)));
-                        }
-                    }
-
-                    historyListRes.setList(historyList);
-                }
-
-                // 편지만
+                // 일기만 & 편지만 -> pageNum 페이지의 마지막 항목까지 한 번의 쿼리로 조회 (발신인 상태 포함)
                 else {
-                    List<History> historyList = new ArrayList<>(); // GetHistoryListRes.list
-
-                    if (historyDao.hasHistory_letter(userIdx) != 0) { // 수신한 편지가 있는지 확인
-                        historyList.addAll(historyDao.getLetterList(userIdx)); // 편지 (createAt 기준 내림차순 정렬)
-                    }
-                    if (historyDao.hasHistory_reply(userIdx) != 0) { // 수신한 답장이 있는지 확인
-                        historyList.addAll(historyDao.getReplyList(userIdx)); // 답장 (createAt 기준 내림차순 정렬)
-                    }
-                    Collections.sort(historyList);
-
-                    dataNum_total = historyList.size(); // 총 데이터 개수
-                    if (dataNum_total == 0) {
-                        throw new NullPointerException(); // 검색 결과 없음
-                    }
-                    pageInfo.setDataNum_total((int) dataNum_total);
-
-                    // 페이징 처리
-                    if (dataNum_total > Constant.HISTORY_DATA_NUM) {
-                        int startDataIdx = (pageNum - 1) * Constant.HISTORY_DATA_NUM;
-                        int endDataIdx = pageNum * Constant.HISTORY_DATA_NUM;
-                        if (endDataIdx > dataNum_total) endDataIdx = (int) dataNum_total;
-
-                        List<History> historyList_paging = new ArrayList<>();
-                        for (int i = startDataIdx; i < endDataIdx; i++) {
-                            historyList_paging.add(historyList.get(i));
-                        }
-                        historyList = historyList_paging; // historyList 갱신
-                    }
-                    dataNum_currentPage = historyList.size(); // 현재 페이지의 데이터 개수
-                    pageInfo.setDataNum_currentPage(dataNum_currentPage); // 현재 페이지의 데이터 개수
-
-                    // setSenderActive
-                    for (History history : historyList) {
-                        int typeIdx = history.getTypeIdx();
-
-                        switch (history.getType()) {
-                            case "letter":
-                                history.setSenderActive(historyDao.getSenderActive_letter(typeIdx));
-                                break;
-                            case "reply":
-                                history.setSenderActive(historyDao.getSenderActive_reply(typeIdx));
-                                break;
-                        }
-                    }
-                    historyListRes.setList(historyList);
+                    boolean isDiary = filtering.compareTo("diary") == 0;
+                    historyListRes.setList(getHistoryList_offset(userIdx, null, isDiary, !isDiary, null, pageInfo));
+                    dataNum_total = pageInfo.getDataNum_total(); // 총 데이터 개수
                 }
 
             } else {
@@ -215,9 +157,7 @@ public class HistoryProvider {
                  * 2. filtering = diary(일기만) & letter(편지만) -> Diary.content 또는 Letter.content 검색
                  */
 
-                search = search.replaceAll("\"", ""); // 따옴표 제거
-                search = search.replaceAll(" ", ""); // 공백 제거
-                search = search.toLowerCase(); // 영문 대소문자 구분 X
+                search = SearchText.normalize(search); // 따옴표, 공백 제거 & 영문 대소문자 구분 X
 
                 // 발신인
                 if (filtering.compareTo("sender") == 0) {
@@ -259,126 +199,11 @@ public class HistoryProvider {
                     historyListRes.setList(historyListRes_list);
                 }
 
-                // 일기만
-                else if (filtering.compareTo("diary") == 0) {
-                    List<Integer> diaryIdxList = new ArrayList<>();
-
-                    if (historyDao.hasHistory_diary(userIdx) != 0) { // 수신한 일기가 있는지 확인
-                        diaryIdxList.addAll(historyDao.getDiaryIdxList(userIdx)); // 수신한 모든 일기 diaryIdx
-
-                        List<Integer> diaryIdxList_searched = new ArrayList<>();
-                        for (int diaryIdx : diaryIdxList) {
-                            String diaryContent = historyDao.getDiaryContent(diaryIdx);
-
-                            if (searchString(diaryContent, search)) { // 문자열 검색 -> 찾는 값이 존재하면 저장
-                                diaryIdxList_searched.add(diaryIdx);
-                            }
-                        }
-                        diaryIdxList = diaryIdxList_searched; // diaryIdxList 갱신
-                    }
-                    dataNum_total = diaryIdxList.size(); // 총 데이터 개수
-                    if (dataNum_total == 0) {
-                        throw new NullPointerException(); // 검색 결과 없음
-                    }
-                    pageInfo.setDataNum_total((int) dataNum_total);
-
-                    if (dataNum_total != 0) {
-                        // 페이징 처리
-                        if (dataNum_total > Constant.HISTORY_DATA_NUM) {
-                            int startDataIdx = (pageNum - 1) * Constant.HISTORY_DATA_NUM;
-                            int endDataIdx = pageNum * Constant.HISTORY_DATA_NUM;
-                            if (endDataIdx > dataNum_total) endDataIdx = (int) dataNum_total;
-
-                            List<Integer> diaryIdxList_paging = new ArrayList<>();
-                            for (int i = startDataIdx; i < endDataIdx; i++) {
-                                diaryIdxList_paging.add(diaryIdxList.get(i));
-                            }
-                            diaryIdxList = diaryIdxList_paging; // diaryIdxList 갱신
-                        }
-                        dataNum_currentPage = diaryIdxList.size(); // 현재 페이지의 데이터 개수
-                        pageInfo.setDataNum_currentPage(dataNum_currentPage);
-
-                        List<History> historyList = new ArrayList<>(); // HistoryList_Sender.historyList
-                        for (int diaryIdx : diaryIdxList) {
-                            if (historyDao.hasDone(diaryIdx) == 1) { // 해당 일기에 done list가 있는 경우
-                                historyList.add(historyDao.getDiary_done(userIdx, diaryIdx, historyDao.getSenderActive_diary(diaryIdx)));
-                            } else { // 해당 일기에 done list가 없는 경우
-                                historyList.add(historyDao.getDiary_nonDone(userIdx, diaryIdx, historyDao.getSenderActive_diary(diaryIdx)));
-                            }
-                        }
-                        Collections.sort(historyList); // createAt 기준 내림차순 정렬
-
-                        historyListRes.setList(historyList);
-                    }
-                }
-
-                // 편지만
+                // 일기만 & 편지만 -> 내용 검색 (SearchIndex)
                 else {
-                    List<Integer> letterIdxList = new ArrayList<>();
-                    List<Integer> replyIdxList = new ArrayList<>();
-
-                    // letter
-                    if (historyDao.hasHistory_letter(userIdx) != 0) { // 수신한 편지가 있는지 확인
-                        letterIdxList.addAll(historyDao.getLetterIdxList(userIdx)); // 수신한 모든 편지 letterIdx
-
-                        List<Integer> letterIdxList_searched = new ArrayList<>();
-                        for (int letterIdx : letterIdxList) {
-                            String letterContent = historyDao.getLetterContent(letterIdx);
-
-                            if (searchString(letterContent, search)) { // 문자열 검색 -> 찾는 값이 존재하면 저장
-                                letterIdxList_searched.add(letterIdx);
-                            }
-                        }
-                        letterIdxList = letterIdxList_searched; // letterIdxList 갱신
-                    }
-
-                    // reply
-                    if (historyDao.hasHistory_reply(userIdx) != 0) { // 수신한 답장이 있는지 확인
-                        replyIdxList.addAll(historyDao.getReplyIdxList(userIdx)); // 수신한 모든 답장 replyIdx
-
-                        List<Integer> replyIdxList_searched = new ArrayList<>();
-                        for (int replyIdx : replyIdxList) {
-                            String replyContent = historyDao.getReplyContent(replyIdx);
-
-                            if (searchString(replyContent, search)) { // 문자열 검색 -> 찾는 값이 존재하면 저장
-                                replyIdxList_searched.add(replyIdx);
-                            }
-                        }
-                        replyIdxList = replyIdxList_searched; // replyIdxList 갱신
-                    }
-
-                    if (letterIdxList.size() != 0 || replyIdxList.size() != 0) {
-                        List<History> historyList = new ArrayList<>(); // HistoryList_Sender.historyList
-
-                        for (int letterIdx : letterIdxList) {
-                            historyList.add(historyDao.getLetter(userIdx, letterIdx, historyDao.getSenderActive_letter(letterIdx)));
-                        }
-                        for (int replyIdx : replyIdxList) {
-                            historyList.add(historyDao.getReply(userIdx, replyIdx, historyDao.getSenderActive_reply(replyIdx)));
-                        }
-                        dataNum_total = historyList.size(); // 총 데이터 개수
-                        pageInfo.setDataNum_total((int) dataNum_total);
-                        Collections.sort(historyList); // createAt 기준 내림차순 정렬
-
-                        // 페이징 처리
-                        if (dataNum_total > Constant.HISTORY_DATA_NUM) {
-                            int startDataIdx = (pageNum - 1) * Constant.HISTORY_DATA_NUM;
-                            int endDataIdx = pageNum * Constant.HISTORY_DATA_NUM;
-                            if (endDataIdx > dataNum_total) endDataIdx = (int) dataNum_total;
-
-                            List<History> historyList_paging = new ArrayList<>();
-                            for (int i = startDataIdx; i < endDataIdx; i++) {
-                                historyList_paging.add(historyList.get(i));
-                            }
-                            historyList = historyList_paging; // historyList 갱신
-                        }
-                        dataNum_currentPage = historyList.size(); // 현재 페이지의 데이터 개수
-                        pageInfo.setDataNum_currentPage(dataNum_currentPage);
-
-                        historyListRes.setList(historyList);
-                    } else {
-                        throw new NullPointerException(); // 검색 결과 없음
-                    }
+                    boolean isDiary = filtering.compareTo("diary") == 0;
+                    historyListRes.setList(getHistoryList_offset(userIdx, null, isDiary, !isDiary, search, pageInfo));
+                    dataNum_total = pageInfo.getDataNum_total(); // 총 데이터 개수
                 }
             }
 
@@ -402,33 +227,101 @@ public class HistoryProvider {
         }
     }
 
-    // filtering = sender
-    private void setHistoryListRes_list(int userIdx, List<History_Sender> historyListRes_list, List<String> senderNickNameList) {
-        for (String senderNickName : senderNickNameList) {
-            List<History> historyList = new ArrayList<>(); // HistoryList_Sender.firstContent
-
-            // diary
-            if (historyDao.hasHistory_diary(userIdx, senderNickName) != 0) { // 해당 회원에게서 수신한 일기가 있는지 확인
-                if (historyDao.hasDone(userIdx, senderNickName) == 1) { // 해당 일기에 done list가 있는 경우
-                    historyList.add(historyDao.getDiary_done(userIdx, senderNickName, historyDao.getSenderActive_diary(userIdx, senderNickName))); // 가장 최근에 받은 일기
-                } else { // 해당 일기에 done list가 없는 경우
-                    historyList.add(historyDao.getDiary_nonDone(userIdx, senderNickName, historyDao.getSenderActive_diary(userIdx, senderNickName))); // 가장 최근에 받은 일기
+    /*
+     * History 목록 조회 - 커서 페이징 (발신인 닉네임 검색 제외)
+     * (sendAt, type, typeIdx) 기준 내림차순 정렬 -> 커서 이후 HISTORY_DATA_NUM개만 DB에서 조회
+     * filtering = sender인 경우 발신인별 가장 최근에 받은 항목의 (sendAt, type, typeIdx)가 기준
+     * filtering = diary or letter & search != null인 경우 내용 검색 (SearchIndex)
+     */
+    private GetHistoryListRes getHistoryList_cursor(String[] params, PagingRes pageInfo) throws BaseException {
+        try {
+            // String[] params = new String[]{userIdx, filtering, search, cursor};
+            int userIdx = Integer.parseInt(params[0]);
+            String filtering = params[1];
+            String search = (params[2] == null) ? null : SearchText.normalize(params[2]);
+            HistoryCursor cursor = (params[3] == null) ? HistoryCursor.first() : HistoryCursor.decode(params[3]);
+            int limit = Constant.HISTORY_DATA_NUM + 1; // 다음 페이지 존재 여부 확인용으로 1개 더 조회
+
+            GetHistoryListRes historyListRes = new GetHistoryListRes();
+            if (filtering.compareTo("sender") == 0) {
+                List<History_Sender> senderList = historyDao.getSenderSummaryList_cursor(userIdx, cursor, limit); // 발신인별 가장 최근에 받은 항목 + 전체 개수
+                if (senderList.size() == 0 && params[3] == null) {
+                    throw new NullPointerException(); // 검색 결과 없음
                 }
+                historyListRes.setList(setPageInfo_cursor(senderList, pageInfo, History_Sender::getFirstContent));
+
+            } else {
+                boolean isDiary = filtering.compareTo("diary") == 0;
+                List<History> historyList = historyDao.getHistoryList_cursor(userIdx, null, isDiary, !isDiary, search, cursor, limit);
+                if (historyList.size() == 0 && params[3] == null) {
+                    throw new NullPointerException(); // 검색 결과 없음
+                }
+                historyListRes.setList(setPageInfo_cursor(historyList, pageInfo, history -> history));
             }
-            // letter
-            if (historyDao.hasHistory_letter(userIdx, senderNickName) != 0) { // 해당 회원에게서 수신한 편지가 있는지 확인
-                historyList.add(historyDao.getLetter(userIdx, senderNickName, historyDao.getSenderActive_letter(userIdx, senderNickName))); // 가장 최근에 받은 편지
-            }
-            // reply
-            if (historyDao.hasHistory_reply(userIdx, senderNickName) != 0) { // 해당 회원에게서 수신한 편지가 있는지 확인
-                historyList.add(historyDao.getReply(userIdx, senderNickName, historyDao.getSenderActive_reply(userIdx, senderNickName))); // 가장 최근에 받은 답장
-            }
-            Collections.sort(historyList); // createAt 기준 내림차순 정렬
 
-            int historyListNum = historyDao.getDiaryListSize(userIdx, senderNickName) + historyDao.getLetterListSize(userIdx, senderNickName) + historyDao.getReplyListSize(userIdx, senderNickName);
+            return historyListRes;
+
+        } catch (BaseException exception) {
+            throw exception;
+        } catch (NullPointerException exception) {
+            throw new BaseException(EMPTY_RESULT); // 검색 결과 없음
+        } catch (Exception exception) {
+            throw new BaseException(DATABASE_ERROR);
+        }
+    }
+
+    /*
+     * 커서 페이징 정보 설정 (limit = HISTORY_DATA_NUM + 1개 조회한 결과) -> 현재 페이지의 데이터만 반환
+     * getKey : 각 항목의 커서 기준이 되는 History (sendAt_raw, type, typeIdx)
+     * 총 데이터 개수(dataNum_total) & 마지막 페이지(endPage)는 설정하지 않음 (페이지마다 전체 개수를 세지 않도록) -> hasNext & nextCursor만 설정
+     */
+    private <T> List<T> setPageInfo_cursor(List<T> list, PagingRes pageInfo, Function<T, History> getKey) {
+        boolean hasNext = list.size() > Constant.HISTORY_DATA_NUM;
+        if (hasNext) {
+            list = list.subList(0, Constant.HISTORY_DATA_NUM);
+
+            History last = getKey.apply(list.get(list.size() - 1)); // 현재 페이지의 마지막 항목
+            pageInfo.setNextCursor(new HistoryCursor(last.getSendAt_raw(), last.getType(), last.getTypeIdx()).encode());
+        }
+        pageInfo.setHasNext(hasNext);
+        pageInfo.setDataNum_currentPage(list.size());
+
+        return list;
+    }
+
+    /*
+     * offset 페이징 (커서 없이 2페이지 이상을 요청한 경우)
+     * 커서 페이징과 같은 쿼리로 pageNum 페이지의 마지막 항목까지만 정렬된 상태로 조회 (발신인 상태 포함 -> 항목별 추가 조회 X)
+     * search != null인 경우 SearchIndex로 검색된 항목만
+     */
+    private List<History> getHistoryList_offset(int userIdx, String senderNickName, boolean diary, boolean letter, String search, PagingRes pageInfo) {
+        int dataNum_total = historyDao.getHistoryList_dataNum(userIdx, senderNickName, diary, letter, search); // 총 데이터 개수
+        if (dataNum_total == 0) {
+            throw new NullPointerException(); // 검색 결과 없음
+        }
+        pageInfo.setDataNum_total(dataNum_total);
+
+        int pageNum = pageInfo.getCurrentPage();
+        int startDataIdx = (pageNum - 1) * Constant.HISTORY_DATA_NUM;
+        List<History> historyList = historyDao.getHistoryList_cursor(userIdx, senderNickName, diary, letter, search, HistoryCursor.first(), pageNum * Constant.HISTORY_DATA_NUM);
 
-            History_Sender historyList_sender = new History_Sender(historyListNum, historyList.get(0)); // 수신한 일기, 편지, 답장 중 가장 최근에 받은 값
-            historyListRes_list.add(historyList_sender);
+        historyList = (startDataIdx >= historyList.size()) ? new ArrayList<>() : new ArrayList<>(historyList.subList(startDataIdx, historyList.size()));
+        pageInfo.setDataNum_currentPage(historyList.size()); // 현재 페이지의 데이터 개수
+        return historyList;
+    }
+
+    // filtering = sender : 발신인별 가장 최근에 받은 항목 + 전체 개수를 한 번의 쿼리로 조회 (senderNickNameList 순서 유지)
+    private void setHistoryListRes_list(int userIdx, List<History_Sender> historyListRes_list, List<String> senderNickNameList) {
+        Map<String, History_Sender> senderMap = new HashMap<>(); // key = senderNickName
+        for (History_Sender sender : historyDao.getSenderSummaryList(userIdx, senderNickNameList)) {
+            senderMap.put(sender.getFirstContent().getSenderNickName(), sender);
+        }
+
+        for (String senderNickName : senderNickNameList) {
+            History_Sender historyList_sender = senderMap.get(senderNickName);
+            if (historyList_sender != null) {
+                historyListRes_list.add(historyList_sender);
+            }
         }
     }
 
@@ -447,172 +340,23 @@ public class HistoryProvider {
      * 페이징 처리 (무한 스크롤) - 20개씩 조회
      */
     public List<History> getHistoryList_sender(String[] params, PagingRes pageInfo) throws BaseException {
+        // 커서 페이징 : 커서가 전달되었거나 첫 페이지인 경우
+        if (params[3] != null || pageInfo.getCurrentPage() == 1) {
+            return getHistoryList_sender_cursor(params, pageInfo);
+        }
+
         try {
-            // String[] params = new String[]{userIdx, senderNickName, search};
+            // String[] params = new String[]{userIdx, senderNickName, search, cursor};
             int userIdx = Integer.parseInt(params[0]);
             String senderNickName = params[1];
             String search = params[2];
 
-            // PagingRes
-            int pageNum = pageInfo.getCurrentPage(); // 페이지 번호
-            double dataNum_total = 0; // 총 데이터 개수 (후에 Math.ceil 사용하는 연산 때문에 double)
-            int dataNum_currentPage = 0; // 현재 페이지의 데이터 개수
-
-            List<History> historyList = new ArrayList<>(); // GetSenderRes.historyList
-
-            if (search == null) {
-                // diary
-                if (historyDao.hasHistory_diary(userIdx, senderNickName) != 0) { // null 확인
-                    List<Integer> diaryIdxList = historyDao.getDiaryIdxList(userIdx, senderNickName); // 수신한 모든 일기 diaryIdx
-                    for (int diaryIdx : diaryIdxList) {
-                        if (historyDao.hasDone(diaryIdx) == 1) { // 해당 일기에 done list가 있는 경우
-                            historyList.add(historyDao.getDiary_done(userIdx, diaryIdx, historyDao.getSenderActive_diary(diaryIdx)));
-                        } else { // 해당 일기에 done list가 없는 경우
-                            historyList.add(historyDao.getDiary_nonDone(userIdx, diaryIdx, historyDao.getSenderActive_diary(diaryIdx)));
-                        }
-                    }
-                }
-                // letter
-                if (historyDao.hasHistory_letter(userIdx, senderNickName) != 0) { // null 확인
-                    historyList.addAll(historyDao.getLetterList(userIdx, senderNickName)); // 편지
-                }
-                // reply
-                if (historyDao.hasHistory_reply(userIdx, senderNickName) != 0) { // null 확인
-                    historyList.addAll(historyDao.getReplyList(userIdx, senderNickName)); // 답장
-                }
-                dataNum_total = historyList.size();
-                if (dataNum_total == 0) {
-                    throw new NullPointerException(); // 검색 결과 없음
-                }
-                pageInfo.setDataNum_total((int) dataNum_total); // 총 데이터 개수
-                Collections.sort(historyList); // createAt 기준 내림차순 정렬
-
-                // 페이징 처리
-                if (dataNum_total > Constant.HISTORY_DATA_NUM) {
-                    int startDataIdx = (pageNum - 1) * Constant.HISTORY_DATA_NUM;
-                    int endDataIdx = pageNum * Constant.HISTORY_DATA_NUM;
-                    if (endDataIdx > dataNum_total) endDataIdx = (int) dataNum_total;
-
-                    List<History> historyList_paging = new ArrayList<>();
-                    for (int i = startDataIdx; i < endDataIdx; i++) {
-                        historyList_paging.add(historyList.get(i));
-                    }
-                    historyList = historyList_paging;
-                }
-                dataNum_currentPage = historyList.size();
-                pageInfo.setDataNum_currentPage(dataNum_currentPage); // 현재 페이지의 데이터 개수
-
-                // setSenderActive
-                for (History history : historyList) {
-                    int typeIdx = history.getTypeIdx();
-
-                    switch (history.getType()) {
-                        case "letter":
-                            history.setSenderActive(historyDao.getSenderActive_letter(typeIdx));
-                            break;
-                        case "reply":
-                            history.setSenderActive(historyDao.getSenderActive_reply(typeIdx));
-                            break;
-                    }
-                }
-
-            } else {
-                /*
-                 * 문자열 검색 (search)
-                 * search && (Diary.content || Letter.content) : 띄어쓰기 모두 제거 후 찾기
-                 */
-
-                search = search.replaceAll("\"", ""); // 따옴표 제거
-                search = search.replaceAll(" ", ""); // 공백 제거
-                search = search.toLowerCase(); // 영문 대소문자 구분 X
-
-                List<Integer> diaryIdxList = new ArrayList<>();
-                List<Integer> letterIdxList = new ArrayList<>();
-                List<Integer> replyIdxList = new ArrayList<>();
-
-                // diaryIdxList
-                if (historyDao.hasHistory_diary(userIdx, senderNickName) != 0) { // 수신한 일기가 있는지 확인
-                    diaryIdxList.addAll(historyDao.getDiaryIdxList(userIdx, senderNickName)); // 수신한 모든 일기 diaryIdx
-
-                    List<Integer> diaryIdxList_searched = new ArrayList<>(); // 임시 list
-                    for (int diaryIdx : diaryIdxList) {
-                        String diaryContent = historyDao.getDiaryContent(diaryIdx);
-
-                        if (searchString(diaryContent, search)) { // 문자열 검색 -> 찾는 값이 존재하면 저장
-                            diaryIdxList_searched.add(diaryIdx);
-                        }
-                    }
-                    diaryIdxList = diaryIdxList_searched; // diaryIdxList 갱신
-                }
-
-                // letterIdxList
-                if (historyDao.hasHistory_letter(userIdx, senderNickName) != 0) { // 수신한 편지가 있는지 확인
-                    letterIdxList.addAll(historyDao.getLetterIdxList(userIdx, senderNickName)); // 수신한 모든 편지 letterIdx
-
-                    List<Integer> letterIdxList_searched = new ArrayList<>(); // 임시 list
-                    for (int letterIdx : letterIdxList) {
-                        String letterContent = historyDao.getLetterContent(letterIdx);
-
-                        if (searchString(letterContent, search)) { // 문자열 검색 -> 찾는 값이 존재하면 저장
-                            letterIdxList_searched.add(letterIdx);
-                        }
-                    }
-                    letterIdxList = letterIdxList_searched; // letterIdxList 갱신
-                }
-
-                // replyIdxList
-                if (historyDao.hasHistory_reply(userIdx, senderNickName) != 0) { // null 확인
-                    replyIdxList.addAll(historyDao.getReplyIdxList(userIdx, senderNickName)); // 수신한 모든 답장 replyIdx
-
-                    List<Integer> replyIdxList_searched = new ArrayList<>(); // 임시 list
-                    for (int replyIdx : replyIdxList) {
-                        String replyContent = historyDao.getReplyContent(replyIdx);
-
-                        if (searchString(replyContent, search)) { // 문자열 검색 -> 찾는 값이 존재하면 저장
-                            replyIdxList_searched.add(replyIdx);
-                        }
-                    }
-                    replyIdxList = replyIdxList_searched; // replyIdxList 갱신
-                }
-
-                if (diaryIdxList.size() != 0 || letterIdxList.size() != 0 || replyIdxList.size() != 0) {
-                    for (int diaryIdx : diaryIdxList) {
-                        if (historyDao.hasDone(diaryIdx) == 1) { // 해당 일기에 done list가 있는 경우
-                            historyList.add(historyDao.getDiary_done(userIdx, diaryIdx, senderNickName, historyDao.getSenderActive_diary(diaryIdx)));
-                        } else { // 해당 일기에 done list가 없는 경우
-                            historyList.add(historyDao.getDiary_nonDone(userIdx, diaryIdx, senderNickName, historyDao.getSenderActive_diary(diaryIdx)));
-                        }
-                    }
-
-                    for (int letterIdx : letterIdxList) {
-                        historyList.add(historyDao.getLetter(userIdx, letterIdx, historyDao.getSenderActive_letter(letterIdx)));
-                    }
-                    for (int replyIdx : replyIdxList) {
-                        historyList.add(historyDao.getReply(userIdx, replyIdx, historyDao.getSenderActive_reply(replyIdx)));
-                    }
-                    Collections.sort(historyList); // createAt 기준 내림차순 정렬
-                }
-                dataNum_total = historyList.size(); // 총 데이터 개수
-                if (dataNum_total == 0) {
-                    throw new NullPointerException(); // 검색 결과 없음
-                }
-                pageInfo.setDataNum_total((int) dataNum_total);
-
-                // 페이징 처리
-                if (dataNum_total > Constant.HISTORY_DATA_NUM) {
-                    int startDataIdx = (pageNum - 1) * Constant.HISTORY_DATA_NUM;
-                    int endDataIdx = pageNum * Constant.HISTORY_DATA_NUM;
-                    if (endDataIdx > dataNum_total) endDataIdx = (int) dataNum_total;
-
-                    List<History> historyList_paging = new ArrayList<>();
-                    for (int i = startDataIdx; i < endDataIdx; i++) {
-                        historyList_paging.add(historyList.get(i));
-                    }
-                    historyList = historyList_paging;
-                }
-                dataNum_currentPage = historyList.size();
-                pageInfo.setDataNum_currentPage(dataNum_currentPage); // 현재 페이지의 데이터 개수
-            }
+            /*
+             * search = null : 해당 발신인에게 받은 모든 일기 / 편지 / 답장
+             * search != null : 문자열 검색 - search && (Diary.content || Letter.content) : 띄어쓰기 모두 제거 후 찾기 (SearchIndex)
+             */
+            List<History> historyList = getHistoryList_offset(userIdx, senderNickName, true, true, (search == null) ? null : SearchText.normalize(search), pageInfo); // GetSenderRes.historyList
+            double dataNum_total = pageInfo.getDataNum_total(); // 총 데이터 개수 (후에 Math.ceil 사용하는 연산 때문에 double)
 
             // PagingRes
             int endPage = (int) Math.ceil(dataNum_total / Constant.HISTORY_DATA_NUM); // 마지막 페이지 번호
@@ -632,6 +376,32 @@ public class HistoryProvider {
         }
     }
 
+    // History 발신인 조회 - 커서 페이징 (search != null인 경우 내용 검색)
+    private List<History> getHistoryList_sender_cursor(String[] params, PagingRes pageInfo) throws BaseException {
+        try {
+            // String[] params = new String[]{userIdx, senderNickName, search, cursor};
+            int userIdx = Integer.parseInt(params[0]);
+            String senderNickName = params[1];
+            String search = (params[2] == null) ? null : SearchText.normalize(params[2]);
+            HistoryCursor cursor = (params[3] == null) ? HistoryCursor.first() : HistoryCursor.decode(params[3]);
+            int limit = Constant.HISTORY_DATA_NUM + 1; // 다음 페이지 존재 여부 확인용으로 1개 더 조회
+
+            List<History> historyList = historyDao.getHistoryList_cursor(userIdx, senderNickName, true, true, search, cursor, limit);
+            if (historyList.size() == 0 && params[3] == null) {
+                throw new NullPointerException(); // 검색 결과 없음
+            }
+
+            return setPageInfo_cursor(historyList, pageInfo, history -> history);
+
+        } catch (BaseException exception) {
+            throw exception;
+        } catch (NullPointerException exception) {
+            throw new BaseException(EMPTY_RESULT); // 검색 결과 없음
+        } catch (Exception exception) {
+            throw new BaseException(DATABASE_ERROR);
+        }
+    }
+
     /*
      * History 본문 보기 (일기 or 편지 & 답장 리스트)
      * [GET] /histories/:userIdx/:type/:typeIdx
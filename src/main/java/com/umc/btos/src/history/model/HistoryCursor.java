@@ -0,0 +1,51 @@
+package com.umc.btos.src.history.model;
+
+import com.umc.btos.config.BaseException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static com.umc.btos.config.BaseResponseStatus.INVALID_CURSOR;
+
+@Getter
+@AllArgsConstructor
+// History 목록 커서 페이징 (sendAt, type, typeIdx 기준 내림차순)
+public class HistoryCursor {
+    private String sendAt; // 마지막으로 조회된 항목의 발신일 (yyyy-MM-dd HH:mm:ss)
+    private String type; // diary / letter / reply
+    private int typeIdx; // diaryIdx / letterIdx / replyIdx
+
+    private static final String DELIMITER = "|";
+
+    // 첫 페이지 : 모든 항목보다 뒤에 있는 커서
+    public static HistoryCursor first() {
+        return new HistoryCursor("9999-12-31 23:59:59", "reply", Integer.MAX_VALUE);
+    }
+
+    // 클라이언트에 전달하는 값 (Base64 URL-safe 문자열)
+    public String encode() {
+        String raw = sendAt + DELIMITER + type + DELIMITER + typeIdx;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static HistoryCursor decode(String cursor) throws BaseException {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] values = raw.split("\\" + DELIMITER);
+
+            String type = values[1];
+            if (!type.equals("diary") && !type.equals("letter") && !type.equals("reply")) {
+                throw new BaseException(INVALID_CURSOR);
+            }
+            return new HistoryCursor(values[0], type, Integer.parseInt(values[2]));
+
+        } catch (BaseException exception) {
+            throw exception;
+        } catch (Exception exception) {
+            throw new BaseException(INVALID_CURSOR); // 잘못된 커서 값입니다.
+        }
+    }
+
+}
@@ -2,9 +2,7 @@ package com.umc.btos.src.letter;
 
 import com.umc.btos.config.BaseException;
 import com.umc.btos.config.BaseResponse;
-import com.umc.btos.config.Constant;
 import com.umc.btos.src.letter.model.*;
-import com.umc.btos.src.plant.PlantService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,16 +19,16 @@ public class LetterController {
     @Autowired
     private final LetterService letterService;
     @Autowired
-    private final PlantService plantService;
+    private final LetterDispatcher letterDispatcher;
 
-    public LetterController(LetterProvider letterProvider, LetterService letterService, PlantService plantService) {
+    public LetterController(LetterProvider letterProvider, LetterService letterService, LetterDispatcher letterDispatcher) {
         this.letterProvider = letterProvider;
         this.letterService = letterService;
-        this.plantService = plantService;
+        this.letterDispatcher = letterDispatcher;
     }
 
     /*
-     * 편지 저장 및 발송
+     * 편지 저장 및 발송 (발송은 백그라운드에서 처리)
      * [POST] /letters
      */
     @ResponseBody
@@ -43,11 +41,11 @@ public class LetterController {
                 throw new BaseException(LETTER_INVALID_USERIDX); // 존재하지 않는 회원입니다.
             }
 
-            // 편지 저장 및 발송
+            // 편지 저장 (Letter & LetterQueue)
             PostLetterRes postLetterRes = letterService.postLetter(postLetterReq);
 
-            // 화분 점수 증가
-            postLetterRes.setPlantRes(plantService.modifyScore_plus(postLetterReq.getUserIdx(), Constant.PLANT_LEVELUP_LETTER,"letter"));
+            // 편지 발송 및 화분 점수 증가 -> 백그라운드에서 처리
+            letterDispatcher.dispatch(postLetterRes.getLetterIdx());
 
             return new BaseResponse<>(postLetterRes);
 
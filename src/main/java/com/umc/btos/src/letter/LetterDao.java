@@ -30,6 +30,18 @@ public class LetterDao {
         return this.jdbcTemplate.queryForObject(query_getLetterIdx, int.class);
     }
 
+    // LetterQueue 저장 (발송 대기열, status = 'waiting')
+    public int postLetterQueue(int letterIdx) {
+        String query = "INSERT INTO LetterQueue (letterIdx) VALUES (?)";
+        return this.jdbcTemplate.update(query, letterIdx);
+    }
+
+    // 발신인 userIdx 반환
+    public int getSenderUserIdx(int letterIdx) {
+        String query = "SELECT userIdx FROM Letter WHERE letterIdx = ?";
+        return this.jdbcTemplate.queryForObject(query, int.class, letterIdx);
+    }
+
     // 발신인 User.nickName 반환
     public String getNickName(int userIdx) {
         String query = "SELECT nickName FROM User WHERE userIdx = ?";
@@ -50,53 +62,90 @@ public class LetterDao {
         return this.jdbcTemplate.queryForObject(query, int.class, senderUserIdx, senderUserIdx, senderUserIdx);
     }
 
-    // 회원마다 가장 최근에 받은 편지 letterIdx 반환
-    public int getUserIdx_recentReceived(int userIdx) {
-        String query = "SELECT userIdx " +
+    // 가장 최근에 수신한 편지가 발신인의 편지인 모든 회원의 userIdx 반환
+    // (발신인의 편지를 받은 적이 있는 수신인들만 확인하므로 전체 회원 수와 무관)
+    public List<Integer> getUserIdxList_recentReceived(int senderUserIdx) {
+        String query = "SELECT DISTINCT LetterSendList.receiverIdx " +
                 "FROM LetterSendList " +
                 "         INNER JOIN Letter ON LetterSendList.letterIdx = Letter.letterIdx " +
-                "WHERE receiverIdx = ? " +
+                "WHERE Letter.userIdx = ? " +
                 "  AND LetterSendList.status = 'active' " +
-                "ORDER BY LetterSendList.createdAt DESC " + // createdAt 기준 내림차순 정렬
-                "LIMIT 1"; // 상위 첫번째 값
+                "  AND LetterSendList.createdAt = (SELECT MAX(recent.createdAt) " + // 해당 수신인이 가장 최근에 받은 편지
+                "                                  FROM LetterSendList recent " +
+                "                                  WHERE recent.receiverIdx = LetterSendList.receiverIdx " +
+                "                                    AND recent.status = 'active')";
 
-        return this.jdbcTemplate.queryForObject(query, int.class, userIdx);
+        return this.jdbcTemplate.queryForList(query, int.class, senderUserIdx);
     }
 
-    // 발송 가능한 회원들의 목록
-    public List<User> getUserList(int senderUserIdx) {
-        String query = "SELECT userIdx, birth, recSimilarAge " +
-                "FROM User " +
-                "WHERE userIdx != ? " + // 발신인 제외
-                "  AND recOthers = 1 " +
-                "  AND status = 'active'";
+    // 편지 발송 (INSERT LetterSendList)
+    public int sendLetter(int letterIdx, int receiverIdx) {
+        String query = "INSERT LetterSendList (letterIdx, receiverIdx) VALUE(?,?)";
+        return this.jdbcTemplate.update(query, letterIdx, receiverIdx);
+    }
+
+    // 수신 목록 저장 (ReceivedItem) - 해당 편지의 LetterSendList를 한 번에 INSERT
+    public void setReceivedItem_letter(int letterIdx) {
+        String query = "INSERT IGNORE INTO ReceivedItem(receiverIdx, type, typeIdx, senderIdx, sendAt) " +
+                "SELECT LetterSendList.receiverIdx, 'letter', Letter.letterIdx, Letter.userIdx, LetterSendList.createdAt " +
+                "FROM LetterSendList " +
+                "INNER JOIN Letter ON LetterSendList.letterIdx = Letter.letterIdx " +
+                "WHERE LetterSendList.letterIdx = ? AND LetterSendList.status = 'active'";
 
-        return this.jdbcTemplate.query(query,
-                (rs, rowNum) -> new User(
-                        rs.getInt("userIdx"),
-                        rs.getInt("birth"),
-                        rs.getInt("recSimilarAge")
-                ), senderUserIdx);
+        this.jdbcTemplate.update(query, letterIdx);
     }
 
-    // 편지 수신 유무
-    public int hasReceivedLetter(int userIdx) {
-        String query = "SELECT EXISTS (SELECT * FROM LetterSendList WHERE receiverIdx = ?)"; // 수신한 적이 있다면 1, 없다면 0 반환
-        return this.jdbcTemplate.queryForObject(query, int.class, userIdx);
+    // 내용 검색 색인 저장 (SearchIndex)
+    public void setSearchIndex(int letterIdx) {
+        String query = "INSERT IGNORE INTO SearchIndex(type, typeIdx, userIdx, content) " +
+                "SELECT 'letter', letterIdx, userIdx, LOWER(REPLACE(content, ' ', '')) " +
+                "FROM Letter WHERE letterIdx = ?";
+
+        this.jdbcTemplate.update(query, letterIdx);
     }
 
-    // 편지 발송 (INSERT LetterSendList)
-    public int sendLetter(int letterIdx, int receiverIdx) {
-        String query = "INSERT LetterSendList (letterIdx, receiverIdx) VALUE(?,?)";
-        return this.jdbcTemplate.update(query, letterIdx, receiverIdx);
+    // =================================== 편지 발송 대기열 (LetterQueue) ===================================
+
+    // 발송 대기 중인 letterIdx 목록 반환 (오래된 순)
+    public List<Integer> getLetterQueue_waiting(int limit) {
+        String query = "SELECT letterIdx FROM LetterQueue WHERE status = 'waiting' ORDER BY createdAt LIMIT ?";
+        return this.jdbcTemplate.queryForList(query, int.class, limit);
     }
 
-    // 수신인 User.fcmToken 반환
-    public String getFcmToken(int userIdx) {
-        String query = "SELECT fcmToken FROM User WHERE userIdx = ?";
-        return this.jdbcTemplate.queryForObject(query, String.class, userIdx);
+    // 발송 처리 선점 (waiting -> processing) : 선점에 성공하면 1, 이미 다른 작업이 선점했다면 0 반환
+    public int claimLetterQueue(int letterIdx) {
+        String query = "UPDATE LetterQueue SET status = 'processing', updatedAt = CURRENT_TIMESTAMP WHERE letterIdx = ? AND status = 'waiting'";
+        return this.jdbcTemplate.update(query, letterIdx);
+    }
+
+    // LetterQueue.status 변경
+    public int modifyLetterQueueStatus(int letterIdx, String status) {
+        String query = "UPDATE LetterQueue SET status = ?, updatedAt = CURRENT_TIMESTAMP WHERE letterIdx = ?";
+        return this.jdbcTemplate.update(query, status, letterIdx);
     }
 
+    // 발송 실패 시 재시도 횟수 증가 후 대기열로 되돌림 (최대 재시도 횟수에 도달하면 status = 'failed')
+    public int releaseLetterQueue(int letterIdx, int maxRetryNum) {
+        String query = "UPDATE LetterQueue " +
+                "SET retryNum = retryNum + 1, " +
+                "    status = IF(retryNum >= ?, 'failed', 'waiting'), " + // 앞에서 증가된 retryNum으로 비교
+                "    updatedAt = CURRENT_TIMESTAMP " +
+                "WHERE letterIdx = ? AND status = 'processing'";
+        return this.jdbcTemplate.update(query, maxRetryNum, letterIdx);
+    }
+
+    // 처리 도중 서버가 종료되어 processing 상태로 남은 작업을 대기열로 되돌림 (재시도 횟수 증가 - 최대 재시도 횟수에 도달하면 status = 'failed')
+    public int resetLetterQueue_stale(int minute, int maxRetryNum) {
+        String query = "UPDATE LetterQueue " +
+                "SET retryNum = retryNum + 1, " +
+                "    status = IF(retryNum >= ?, 'failed', 'waiting'), " + // 앞에서 증가된 retryNum으로 비교
+                "    updatedAt = CURRENT_TIMESTAMP " +
+                "WHERE status = 'processing' AND updatedAt < DATE_SUB(CURRENT_TIMESTAMP, INTERVAL ? MINUTE)";
+        return this.jdbcTemplate.update(query, maxRetryNum, minute);
+    }
+
+    // ================================================================================================================
+
     //편지 삭제 // 해당 letterIdx의 편지 status를 deleted로 변경
     public int modifyLetterStatus(PatchLetterReq patchLetterReq) {
         String modifyLetterStatusQuery = "update Letter set status = ? where letterIdx = ? ";
@@ -124,7 +173,11 @@ public class LetterDao {
     //편지 조회 여부 변경 // 해당 letterIdx를 갖는 편지의 isChecked를 1로 update
     public int modifyIsChecked(int letterIdx, int receiverIdx) {
         String getReplyQuery = "UPDATE LetterSendList SET isChecked = 1 WHERE letterIdx = ? AND receiverIdx = ?";
-        return this.jdbcTemplate.update(getReplyQuery, letterIdx, receiverIdx); // 대응시켜 매핑시켜 쿼리 요청 (성공했으면 1, 실패했으면 0)
+        int result = this.jdbcTemplate.update(getReplyQuery, letterIdx, receiverIdx); // 대응시켜 매핑시켜 쿼리 요청 (성공했으면 1, 실패했으면 0)
+
+        String receivedQuery = "UPDATE ReceivedItem SET isChecked = 1 WHERE receiverIdx = ? AND type = 'letter' AND typeIdx = ?";
+        this.jdbcTemplate.update(receivedQuery, receiverIdx, letterIdx);
+        return result;
     }
 
     // 형식적 validation - 회원 존재 여부 확인
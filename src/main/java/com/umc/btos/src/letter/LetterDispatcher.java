@@ -0,0 +1,81 @@
+package com.umc.btos.src.letter;
+
+import com.umc.btos.config.Constant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 편지 백그라운드 발송
+ * [POST] /letters 에서 저장된 LetterQueue(status = 'waiting')를 크기가 제한된 스레드 풀에서 처리 (LetterService.sendLetter)
+ *
+ * LetterQueue 테이블이 작업의 원본이므로 서버가 재시작되어도 작업이 유실되지 않는다.
+ *      - 메모리 작업 큐가 가득 차 버려진 작업 & 실패 후 대기열로 돌아간 작업 -> polling으로 다시 처리
+ *      - 처리 도중 서버가 종료되어 processing 상태로 남은 작업 -> 일정 시간 후 대기열로 되돌림
+ *      - 같은 작업이 여러 번 제출되어도 claimLetterQueue(waiting -> processing)에 성공한 하나만 처리
+ */
+@Component
+public class LetterDispatcher {
+    final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final LetterDao letterDao;
+    private final LetterService letterService;
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            Constant.LETTER_DISPATCH_THREAD_NUM, Constant.LETTER_DISPATCH_THREAD_NUM,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Constant.LETTER_DISPATCH_QUEUE_SIZE),
+            new ThreadPoolExecutor.DiscardPolicy()); // 큐가 가득 찬 경우 버림 -> LetterQueue에 남아 있으므로 polling 때 다시 처리
+
+    @Autowired
+    public LetterDispatcher(LetterDao letterDao, LetterService letterService) {
+        this.letterDao = letterDao;
+        this.letterService = letterService;
+    }
+
+    // 편지 발송 작업 제출 (LetterQueue 저장이 커밋된 이후 호출)
+    public void dispatch(int letterIdx) {
+        executor.execute(() -> process(letterIdx));
+    }
+
+    // 10초마다 대기열 확인
+    @Scheduled(fixedDelay = 10000)
+    public void pollLetterQueue() {
+        letterDao.resetLetterQueue_stale(Constant.LETTER_DISPATCH_STALE_MINUTE, Constant.LETTER_DISPATCH_MAX_RETRY);
+
+        int capacity = executor.getQueue().remainingCapacity(); // 메모리 작업 큐에 남은 자리만큼만 가져옴
+        if (capacity == 0) {
+            return;
+        }
+        for (int letterIdx : letterDao.getLetterQueue_waiting(capacity)) {
+            dispatch(letterIdx);
+        }
+    }
+
+    private void process(int letterIdx) {
+        if (letterDao.claimLetterQueue(letterIdx) == 0) { // 이미 다른 작업이 처리 중이거나 처리 완료된 경우
+            return;
+        }
+
+        try {
+            letterService.sendLetter(letterIdx); // 발송 완료 시 LetterQueue.status = 'done'
+
+        } catch (Exception exception) {
+            logger.error("편지 발송 실패 (letterIdx = " + letterIdx + ")", exception);
+            letterDao.releaseLetterQueue(letterIdx, Constant.LETTER_DISPATCH_MAX_RETRY);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown(); // 진행 중인 작업만 마무리 (남은 작업은 LetterQueue에 waiting 상태로 남음)
+    }
+
+}
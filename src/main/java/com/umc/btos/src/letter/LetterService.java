@@ -2,12 +2,17 @@ package com.umc.btos.src.letter;
 
 import com.umc.btos.config.BaseException;
 import com.umc.btos.config.Constant;
+import com.umc.btos.src.alarm.AlarmService;
 import com.umc.btos.src.letter.model.*;
+import com.umc.btos.src.plant.PlantService;
+import com.umc.btos.src.user.RecipientIndex;
+import com.umc.btos.src.user.model.Recipient;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 
@@ -19,27 +24,53 @@ public class LetterService {
     final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final LetterDao letterDao;
     private final LetterProvider letterProvider;
+    private final RecipientIndex recipientIndex;
+    private final AlarmService alarmService;
+    private final PlantService plantService;
 
     @Autowired
-    public LetterService(LetterDao letterDao, LetterProvider letterProvider) {
+    public LetterService(LetterDao letterDao, LetterProvider letterProvider, RecipientIndex recipientIndex,
+                         AlarmService alarmService, PlantService plantService) {
         this.letterDao = letterDao;
         this.letterProvider = letterProvider;
+        this.recipientIndex = recipientIndex;
+        this.alarmService = alarmService;
+        this.plantService = plantService;
     }
 
     /*
-     * 편지 저장 및 발송
+     * 편지 저장
      * [POST] /letters
+     * Letter와 LetterQueue(발송 대기열)를 하나의 트랜잭션으로 저장한 뒤 바로 반환
+     * -> 수신인 선택 및 발송, 알림 저장, 화분 점수 증가는 LetterDispatcher가 백그라운드에서 처리 (sendLetter)
      */
+    @Transactional(rollbackFor = Exception.class)
     public PostLetterRes postLetter(PostLetterReq postLetterReq) throws BaseException {
         try {
-            int senderUserIdx = postLetterReq.getUserIdx(); // 발신인 userIdx
+            int letterIdx = letterDao.postLetter(postLetterReq); // INSERT Letter
+            letterDao.postLetterQueue(letterIdx); // INSERT LetterQueue (status = 'waiting')
+            letterDao.setSearchIndex(letterIdx); // INSERT SearchIndex (내용 검색 색인)
 
-            // 1. 편지 저장 (INSERT Letter)
-            int letterIdx = letterDao.postLetter(postLetterReq);
+            String senderNickName = letterDao.getNickName(postLetterReq.getUserIdx()); // 발신인 닉네임
+            return new PostLetterRes(letterIdx, senderNickName, new ArrayList<>()); // 수신인 목록은 발송 완료 후 알림으로 확인
+
+        } catch (Exception exception) {
+            throw new BaseException(DATABASE_ERROR);
+        }
+    }
+
+    /*
+     * 편지 발송 (LetterDispatcher에서 호출)
+     * 수신인 선택 -> LetterSendList 저장 -> 알림 저장 -> 화분 점수 증가 -> LetterQueue.status = 'done'
+     * 하나의 트랜잭션으로 처리하므로 중간에 실패하면 전부 롤백되고 LetterQueue에 남아 다시 처리된다.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void sendLetter(int letterIdx) throws BaseException {
+        try {
+            int senderUserIdx = letterDao.getSenderUserIdx(letterIdx); // 발신인 userIdx
             String senderNickName = letterDao.getNickName(senderUserIdx); // 발신인 닉네임
 
-            // 2. 편지 발송 (INSERT LetterSendList)
-            List<Receiver> receiverList = new ArrayList<>(); // Receiver 객체 - 해당 편지를 발송받은 회원의 정보 저장 (userIdx, fcmToken)
+            // 편지 발송 (INSERT LetterSendList)
             List<Integer> receiverIdxList = new ArrayList<>(); // 해당 편지를 발송받은 회원들의 목록 (userIdx)
 
             /*
@@ -75,22 +106,27 @@ public class LetterService {
             int similarNum = Constant.LETTER_SEND_SIMILAR_AGE_NUM; // 비슷한 나이대의 회원들에게 편지를 발송할 횟수 (3회)
             int leftNum = totalNum - similarNum; // 비슷한 나이대 회원들을 제외한 집단에서 무작위로 편지를 발송해야 하는 횟수
 
-            List<User> userList = letterDao.getUserList(senderUserIdx); // 편지 발송 가능한 회원들의 목록 (본인 제외)
+            List<User> userList = new ArrayList<>(); // 편지 발송 가능한 회원들의 목록 (본인 제외) - RecipientIndex(메모리)에서 조회
+            for (Recipient recipient : recipientIndex.getRecipientList()) {
+                if (recipient.getUserIdx() != senderUserIdx) {
+                    userList.add(new User(recipient.getUserIdx(), recipient.getBirth(), recipient.getRecSimilarAge()));
+                }
+            }
 //            System.out.println("userList.size() = " + userList.size());
+            Map<Integer, User> userMap = new HashMap<>(); // key = userIdx, value = 편지 발송 가능한 회원
             Map<Integer, Boolean> userIdx_sendMap = new HashMap<>(); // key = userIdx, value = 편지 발송 유무 (발송되었다면 true, 아직 안 되었다면 false)
             for (User user : userList) {
+                userMap.put(user.getUserIdx(), user);
                 userIdx_sendMap.put(user.getUserIdx(), false); // 편지 발송이 가능한 회원마다 저장 공간 생성
             }
 
             // 가장 최근에 수신한 편지의 발신인 userIdx 저장
+            // 가장 최근에 수신한 편지가 발신인의 편지인 회원들만 한 번의 쿼리로 조회 (나머지 회원은 0 : 비교 대상인 발신인이 아님)
+            Set<Integer> userIdxSet_recentReceived = new HashSet<>(letterDao.getUserIdxList_recentReceived(senderUserIdx));
             for (User user : userList) {
-                int userIdx = user.getUserIdx();
-
-                // 해당 회원이 편지를 발송받은 적이 있는지 확인
-                if (letterDao.hasReceivedLetter(userIdx) == 1) { // 편지를 발송받은 적이 있는 경우
-                    int userIdx_recentReceived = letterDao.getUserIdx_recentReceived(userIdx);
-                    user.setUserIdx_recentReceived(userIdx_recentReceived);
-                } else { // 편지를 한번도 발송받지 못한 경우
+                if (userIdxSet_recentReceived.contains(user.getUserIdx())) {
+                    user.setUserIdx_recentReceived(senderUserIdx);
+                } else {
                     user.setUserIdx_recentReceived(0);
                 }
             }
@@ -101,16 +137,11 @@ public class LetterService {
 
             // 발신인 생년 정보가 존재하는 경우
             if (senderBirth != 0) {
-                // 비슷한 나이대 : 발신인의 생년 -5 ~ +5
-                int similarAge_min = senderBirth - Constant.SIMILAR_AGE_STANDARD; // 비슷한 나이대로 불러올 최소 생년
-                int similarAge_max = senderBirth + Constant.SIMILAR_AGE_STANDARD; // 비슷한 나이대로 불러올 최대 생년
-
-                for (User user : userList) {
-                    if (user.getUserIdx_recentReceived() != senderUserIdx) { // 가장 최근에 수신한 편지 != 발신인의 편지
-                        int userBirth = user.getBirth(); // 회원의 생년
-                        if (user.getRecSimilarAge() == 1 && userBirth >= similarAge_min && userBirth <= similarAge_max) {
-                            userList_similarAge.add(user);
-                        }
+                // 비슷한 나이대 : 발신인의 생년 -5 ~ +5 (RecipientIndex 생년별 bucket의 합집합)
+                for (int userIdx : recipientIndex.getUserIdxList_similarAge(senderBirth)) {
+                    User user = userMap.get(userIdx); // 본인이거나 목록을 불러온 이후 수신 동의한 회원이라면 null
+                    if (user != null && user.getUserIdx_recentReceived() != senderUserIdx) { // 가장 최근에 수신한 편지 != 발신인의 편지
+                        userList_similarAge.add(user);
                     }
                 }
 
@@ -176,14 +207,11 @@ public class LetterService {
             }
 //            System.out.println();
 
-            // set receiverList
-            for (int userIdx : receiverIdxList) {
-                Receiver receiver = new Receiver(userIdx);
-                receiver.setFcmToken(letterDao.getFcmToken(userIdx));
-                receiverList.add(receiver);
-            }
+            letterDao.setReceivedItem_letter(letterIdx); // INSERT INTO ReceivedItem Table
+            alarmService.postAlarm_letter(letterIdx, senderNickName, receiverIdxList); // 알림 저장
+            plantService.modifyScore_plus(senderUserIdx, Constant.PLANT_LEVELUP_LETTER, "letter"); // 화분 점수 증가
 
-            return new PostLetterRes(letterIdx, senderNickName, receiverList);
+            letterDao.modifyLetterQueueStatus(letterIdx, "done"); // 발송 완료
 
         } catch (Exception exception) {
             throw new BaseException(DATABASE_ERROR);
@@ -43,56 +43,21 @@ public class MailboxDao {
 
     // =================================== 우편함 조회 ===================================
 
-    // 우편함 조회 - 일기 수신 목록
-    public List<GetMailboxRes> getMailbox_diary(int userIdx) {
-        String query = "SELECT Diary.diaryIdx AS idx, User.nickName AS senderNickName, Diary.updatedAt AS sendAt " +
-                "FROM Diary " +
-                "INNER JOIN User ON Diary.userIdx = User.userIdx " +
-                "INNER JOIN DiarySendList ON Diary.diaryIdx = DiarySendList.diaryIdx " +
-                "WHERE DiarySendList.receiverIdx = ? AND DiarySendList.isChecked = 0";
-
-        return this.jdbcTemplate.query(query,
-                (rs, rowNum) -> new GetMailboxRes(
-                        "diary",
-                        rs.getInt("idx"),
-                        rs.getString("senderNickName"),
-                        rs.getString("sendAt"),
-                        true
-                ), userIdx);
-    }
-
-    // 우편함 조회 - 편지 수신 목록
-    public List<GetMailboxRes> getMailbox_letter(int userIdx) {
-        String query = "SELECT Letter.letterIdx AS idx, User.nickName AS senderNickName, Letter.updatedAt AS sendAt " +
-                "FROM Letter " +
-                "INNER JOIN User ON Letter.userIdx = User.userIdx " +
-                "INNER JOIN LetterSendList ON Letter.letterIdx = LetterSendList.letterIdx " +
-                "WHERE LetterSendList.receiverIdx = ? AND LetterSendList.isChecked = 0";
-
-        return this.jdbcTemplate.query(query,
-                (rs, rowNum) -> new GetMailboxRes(
-                        "letter",
-                        rs.getInt("idx"),
-                        rs.getString("senderNickName"),
-                        rs.getString("sendAt"),
-                        false
-                ), userIdx);
-    }
-
-    // 우편함 조회 - 답장 수신 목록
-    public List<GetMailboxRes> getMailbox_reply(int userIdx) {
-        String query = "SELECT Reply.replyIdx AS idx, User.nickName AS senderNickName, Reply.createdAt AS sendAt " +
-                "FROM Reply " +
-                "INNER JOIN User ON Reply.replierIdx = User.userIdx " +
-                "WHERE Reply.receiverIdx = ? AND Reply.isChecked = 0";
+    // 우편함 조회 - 아직 열람하지 않은 일기 / 편지 / 답장 수신 목록 (ReceivedItem, sendAt 기준 내림차순 정렬)
+    public List<GetMailboxRes> getMailbox(int userIdx) {
+        String query = "SELECT ReceivedItem.type AS type, ReceivedItem.typeIdx AS idx, User.nickName AS senderNickName, ReceivedItem.sendAt AS sendAt " +
+                "FROM ReceivedItem " +
+                "INNER JOIN User ON ReceivedItem.senderIdx = User.userIdx " +
+                "WHERE ReceivedItem.receiverIdx = ? AND ReceivedItem.isChecked = 0 AND ReceivedItem.status = 'active' " +
+                "ORDER BY ReceivedItem.sendAt DESC, ReceivedItem.type DESC, ReceivedItem.typeIdx DESC";
 
         return this.jdbcTemplate.query(query,
                 (rs, rowNum) -> new GetMailboxRes(
-                        "reply",
+                        rs.getString("type"),
                         rs.getInt("idx"),
                         rs.getString("senderNickName"),
                         rs.getString("sendAt"),
-                        false
+                        rs.getString("type").compareTo("diary") == 0 // 일기만 실링 O
                 ), userIdx);
     }
 
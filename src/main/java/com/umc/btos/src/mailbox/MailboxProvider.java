@@ -11,8 +11,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import static com.umc.btos.config.BaseResponseStatus.*;
@@ -74,13 +72,7 @@ public class MailboxProvider {
      */
     public List<GetMailboxRes> getMailbox(int userIdx) throws BaseException {
         try {
-            List<GetMailboxRes> mailbox = new ArrayList<>();
-            mailbox.addAll(mailboxDao.getMailbox_diary(userIdx)); // 일기 수신 목록 - DiarySendList.receiverIdx
-            mailbox.addAll(mailboxDao.getMailbox_letter(userIdx)); // 편지 수신 목록 - LetterSendList.receiverIdx
-            mailbox.addAll(mailboxDao.getMailbox_reply(userIdx)); // 답장 수신 목록 - Reply.receiverIdx
-
-            Collections.sort(mailbox); // sendAt 기준 내림차순 정렬
-            return mailbox;
+            return mailboxDao.getMailbox(userIdx); // 일기, 편지, 답장 수신 목록 - ReceivedItem.receiverIdx (sendAt 기준 내림차순 정렬)
 
         } catch (Exception exception) {
             throw new BaseException(DATABASE_ERROR);
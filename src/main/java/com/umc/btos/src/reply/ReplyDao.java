@@ -33,6 +33,22 @@ public class ReplyDao {
         return replyIdx;
     }
 
+    // 수신 목록 저장 (ReceivedItem)
+    public int createReceivedItem(int replyIdx) {
+        String createReceivedItemQuery = "INSERT INTO ReceivedItem(receiverIdx, type, typeIdx, senderIdx, sendAt) " +
+                "SELECT receiverIdx, 'reply', replyIdx, replierIdx, createdAt " +
+                "FROM Reply WHERE replyIdx = ?";
+        return this.jdbcTemplate.update(createReceivedItemQuery, replyIdx);
+    }
+
+    // 내용 검색 색인 저장 (SearchIndex)
+    public int createSearchIndex(int replyIdx) {
+        String createSearchIndexQuery = "INSERT IGNORE INTO SearchIndex(type, typeIdx, userIdx, content) " +
+                "SELECT 'reply', replyIdx, replierIdx, LOWER(REPLACE(content, ' ', '')) " +
+                "FROM Reply WHERE replyIdx = ?";
+        return this.jdbcTemplate.update(createSearchIndexQuery, replyIdx);
+    }
+
     // 답장을 보내는 유저의 닉네임 반환
     public String getNickname(int userIdx) {
         String getNickNameQuery = "select nickName from User where userIdx = ?; ";
@@ -43,7 +59,12 @@ public class ReplyDao {
     public int modifyReplyStatus(PatchReplyReq patchReplyReq) {
         String modifyReplyStatusQuery = "update Reply set status = ? where replyIdx = ? ";
         Object[] modifyReplyStatusParams = new Object[]{"deleted", patchReplyReq.getReplyIdx()};
-        return this.jdbcTemplate.update(modifyReplyStatusQuery, modifyReplyStatusParams);
+        int result = this.jdbcTemplate.update(modifyReplyStatusQuery, modifyReplyStatusParams);
+
+        // 수신 목록에서도 제거
+        String modifyReceivedItemQuery = "update ReceivedItem set status = 'deleted' where type = 'reply' and typeIdx = ? ";
+        this.jdbcTemplate.update(modifyReceivedItemQuery, patchReplyReq.getReplyIdx());
+        return result;
     }
 
     // =================================== 우편 조회 - 답장 ===================================
@@ -62,7 +83,11 @@ public class ReplyDao {
     // 답장 열람 여부 // 해당 replyIdx를 갖는 답장의 isChecked를 1로 update
     public int modifyIsChecked(int replyIdx) {
         String getReplyQuery = "UPDATE Reply SET isChecked = 1 WHERE replyIdx = ? ";
-        return this.jdbcTemplate.update(getReplyQuery, replyIdx);
+        int result = this.jdbcTemplate.update(getReplyQuery, replyIdx);
+
+        String receivedQuery = "UPDATE ReceivedItem SET isChecked = 1 WHERE type = 'reply' AND typeIdx = ? ";
+        this.jdbcTemplate.update(receivedQuery, replyIdx);
+        return result;
     }
 
 }
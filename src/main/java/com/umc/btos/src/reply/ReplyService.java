@@ -10,6 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import static com.umc.btos.config.BaseResponseStatus.*;
 
@@ -32,10 +33,13 @@ public class ReplyService {
 // ******************************************************************************
 
     // 답장 작성(POST)
+    @Transactional(rollbackFor = Exception.class)
     public PostReplyFinalRes createReply(PostReplyReq postReplyReq) throws BaseException {
 
         try {
             int replyIdx = replyDao.createReply(postReplyReq);
+            replyDao.createReceivedItem(replyIdx); // 수신 목록 저장
+            replyDao.createSearchIndex(replyIdx); // 내용 검색 색인 저장
             PostReplyFinalRes postReplyFinalRes = getReplyreceiverNickname(replyIdx,postReplyReq); // 받는 유저의 userIdx, 답장을 보내는 사람의 닉네임 반환
 
             alarmService.postAlarm_reply(postReplyFinalRes.getReplyIdx(), postReplyFinalRes.getSenderNickName(), postReplyFinalRes.getReceiverIdx()); // 알림 저장
@@ -2,6 +2,7 @@ package com.umc.btos.src.shop;
 
 import com.umc.btos.config.BaseException;
 import com.umc.btos.config.BaseResponseStatus;
+import com.umc.btos.src.archive.CalendarCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,17 +15,21 @@ public class ShopService {
     final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private final ShopDao shopDao;
+    private final CalendarCache calendarCache;
 
     @Autowired
-    public ShopService(ShopDao shopDao) {
+    public ShopService(ShopDao shopDao, CalendarCache calendarCache) {
         this.shopDao = shopDao;
+        this.calendarCache = calendarCache;
     }
 
     //프리미엄 계정으로 변경 API
     public BaseResponseStatus joinPremium(int userIdx) throws BaseException {
         try {
-            if (shopDao.joinPremium(userIdx) == 1) //변경 성공
+            if (shopDao.joinPremium(userIdx) == 1) { //변경 성공
+                calendarCache.invalidate(userIdx); // 달력 캐시 삭제 (감정 이모티콘 조회 가능 여부 변경)
                 return SUCCESS;
+            }
             else //변경 실패
                 throw new BaseException(MODIFY_FAIL_PREMIUM);
         } catch (Exception exception) {
@@ -35,8 +40,10 @@ public class ShopService {
     //청약철회 API
     public BaseResponseStatus withdrawPremium(int userIdx) throws BaseException {
         try {
-            if (shopDao.withdrawPremium(userIdx) == 1) //변경 성공
+            if (shopDao.withdrawPremium(userIdx) == 1) { //변경 성공
+                calendarCache.invalidate(userIdx); // 달력 캐시 삭제 (감정 이모티콘 조회 가능 여부 변경)
                 return SUCCESS;
+            }
             else //변경 실패
                 throw new BaseException(MODIFY_FAIL_WITHDRAW);
         } catch (Exception exception) {
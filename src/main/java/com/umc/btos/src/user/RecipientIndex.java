@@ -0,0 +1,207 @@
+package com.umc.btos.src.user;
+
+import com.umc.btos.config.Constant;
+import com.umc.btos.src.user.model.Recipient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * 일기 및 편지 수신 가능한 회원 목록 (메모리)
+ * 수신 동의한 회원(User.recOthers = 1 & status = 'active')을 userIdx로, 그 중 비슷한 나이대 수신에 동의한 회원(recSimilarAge = 1)은 생년별 bucket으로 저장
+ * -> 비슷한 나이대(생년 -5 ~ +5) 후보 = 11개 bucket의 합집합 (DB 조회 X)
+ *
+ * 회원 정보(생년, 수신 설정, 상태)가 변경되면 refresh(userIdx)로 해당 회원만 갱신하고,
+ * 스케줄러에서 직접 변경되는 값(휴면 처리 등)은 매일 전체를 다시 불러와 맞춘다.
+ */
+@Component
+public class RecipientIndex {
+    final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private static final int LOCK_STRIPE_NUM = 64; // refresh 시 같은 회원끼리만 직렬화하기 위한 lock 개수
+
+    private final UserDao userDao;
+
+    /*
+     * 현재 회원 목록 (Snapshot)
+     * reload 시에는 새 Snapshot을 만든 뒤 참조 하나만 교체 -> 읽는 쪽은 비어 있거나 일부만 채워진 목록을 보지 않음
+     * refresh 시에는 현재 Snapshot의 concurrent map에서 해당 회원만 교체 (전체 복사 X)
+     * bucket은 수정하지 않고, 변경되는 bucket 하나만 새로 만들어 교체 (읽는 도중인 bucket이 바뀌지 않음)
+     */
+    private volatile Snapshot snapshot = new Snapshot(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+    // reload(전체 교체) 중에는 refresh 대기 - refresh끼리는 회원별 lock으로만 직렬화
+    private final ReadWriteLock reloadLock = new ReentrantReadWriteLock();
+    private final Object[] userLocks = new Object[LOCK_STRIPE_NUM];
+
+    // userIdx 오름차순으로 정렬된 회원 목록 (변경될 때마다 version 증가 -> 다음 조회 시 한 번만 다시 정렬)
+    private final AtomicInteger version = new AtomicInteger();
+    private volatile SortedRecipientList sortedRecipientList;
+
+    @Autowired
+    public RecipientIndex(UserDao userDao) {
+        this.userDao = userDao;
+        for (int i = 0; i < LOCK_STRIPE_NUM; i++) {
+            userLocks[i] = new Object();
+        }
+    }
+
+    // 전체 회원 불러오기 (서버 시작 시 & 매일 00:10:00 - 자정 휴면 처리 이후)
+    @PostConstruct
+    @Scheduled(cron = "00 10 00 * * *")
+    public void reload() {
+        reloadLock.writeLock().lock();
+        try {
+            List<Recipient> recipientList = userDao.getRecipientList();
+
+            Map<Integer, Recipient> recipientMap = new ConcurrentHashMap<>();
+            Map<Integer, Set<Integer>> birthBucketMap = new HashMap<>();
+            for (Recipient recipient : recipientList) {
+                recipientMap.put(recipient.getUserIdx(), recipient);
+
+                if (isSimilarAge(recipient)) {
+                    birthBucketMap.computeIfAbsent(recipient.getBirth(), birth -> new HashSet<>()).add(recipient.getUserIdx());
+                }
+            }
+
+            Map<Integer, Set<Integer>> bucketMap = new ConcurrentHashMap<>();
+            for (Map.Entry<Integer, Set<Integer>> entry : birthBucketMap.entrySet()) {
+                bucketMap.put(entry.getKey(), Collections.unmodifiableSet(entry.getValue()));
+            }
+
+            snapshot = new Snapshot(recipientMap, bucketMap);
+            version.incrementAndGet();
+            logger.info("RecipientIndex reloaded : " + recipientMap.size() + " recipients");
+        } finally {
+            reloadLock.writeLock().unlock();
+        }
+    }
+
+    // 회원 한 명 갱신 (생년, 수신 설정, 회원 상태 변경 시) - 해당 회원과 변경되는 bucket만 교체
+    public void refresh(int userIdx) {
+        reloadLock.readLock().lock();
+        try {
+            synchronized (userLocks[Math.floorMod(userIdx, LOCK_STRIPE_NUM)]) {
+                List<Recipient> recipient = userDao.getRecipient(userIdx); // 수신 가능한 회원이 아니라면 빈 리스트
+                Snapshot current = snapshot;
+
+                Recipient removed;
+                if (recipient.size() != 0) {
+                    Recipient added = recipient.get(0);
+                    removed = current.recipientMap.put(userIdx, added);
+                    boolean sameBucket = removed != null && isSimilarAge(removed) && isSimilarAge(added)
+                            && removed.getBirth() == added.getBirth(); // bucket이 그대로라면 교체 X
+                    if (!sameBucket) {
+                        if (removed != null && isSimilarAge(removed)) {
+                            removeFromBucket(current.birthBucketMap, removed.getBirth(), userIdx);
+                        }
+                        if (isSimilarAge(added)) {
+                            addToBucket(current.birthBucketMap, added.getBirth(), userIdx);
+                        }
+                    }
+                } else {
+                    removed = current.recipientMap.remove(userIdx);
+                    if (removed != null && isSimilarAge(removed)) {
+                        removeFromBucket(current.birthBucketMap, removed.getBirth(), userIdx);
+                    }
+                }
+
+                version.incrementAndGet();
+            }
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+    }
+
+    // 수신 동의한 모든 회원 (userIdx 오름차순) - 수정 불가능한 목록 (호출하는 쪽에서 변경 X)
+    public List<Recipient> getRecipientList() {
+        int currentVersion = version.get();
+        SortedRecipientList cached = sortedRecipientList;
+        if (cached != null && cached.version == currentVersion) {
+            return cached.recipientList;
+        }
+
+        // 정렬 도중 refresh가 일어나면 version이 달라지므로 다음 조회 시 다시 정렬
+        List<Recipient> recipientList = new ArrayList<>(snapshot.recipientMap.values());
+        recipientList.sort(Comparator.comparingInt(Recipient::getUserIdx));
+        recipientList = Collections.unmodifiableList(recipientList);
+        sortedRecipientList = new SortedRecipientList(currentVersion, recipientList);
+        return recipientList;
+    }
+
+    // 비슷한 나이대 수신 동의한 회원 수
+    public int getRecipientNum_similarAge() {
+        int num = 0;
+        for (Set<Integer> bucket : snapshot.birthBucketMap.values()) {
+            num += bucket.size();
+        }
+        return num;
+    }
+
+    // 비슷한 나이대(birth -5 ~ +5) 수신 동의한 모든 userIdx (birth = 0인 경우 빈 리스트)
+    public List<Integer> getUserIdxList_similarAge(int birth) {
+        List<Integer> userIdxList = new ArrayList<>();
+        if (birth == 0) {
+            return userIdxList;
+        }
+
+        Map<Integer, Set<Integer>> birthBucketMap = snapshot.birthBucketMap; // 한 번만 읽어 같은 Snapshot 안에서 조회
+        for (int year = birth - Constant.SIMILAR_AGE_STANDARD; year <= birth + Constant.SIMILAR_AGE_STANDARD; year++) {
+            Set<Integer> bucket = birthBucketMap.get(year);
+            if (bucket != null) {
+                userIdxList.addAll(bucket);
+            }
+        }
+        return userIdxList;
+    }
+
+    private static void addToBucket(Map<Integer, Set<Integer>> birthBucketMap, int birth, int userIdx) {
+        birthBucketMap.compute(birth, (key, bucket) -> {
+            Set<Integer> newBucket = (bucket == null) ? new HashSet<>() : new HashSet<>(bucket);
+            newBucket.add(userIdx);
+            return Collections.unmodifiableSet(newBucket);
+        });
+    }
+
+    private static void removeFromBucket(Map<Integer, Set<Integer>> birthBucketMap, int birth, int userIdx) {
+        birthBucketMap.computeIfPresent(birth, (key, bucket) -> {
+            Set<Integer> newBucket = new HashSet<>(bucket);
+            newBucket.remove(userIdx);
+            return newBucket.isEmpty() ? null : Collections.unmodifiableSet(newBucket); // 빈 bucket은 삭제
+        });
+    }
+
+    private static boolean isSimilarAge(Recipient recipient) {
+        return recipient.getRecSimilarAge() == 1 && recipient.getBirth() != 0;
+    }
+
+    private static class Snapshot {
+        private final Map<Integer, Recipient> recipientMap; // key = userIdx, value = 수신 동의한 회원
+        private final Map<Integer, Set<Integer>> birthBucketMap; // key = 생년, value = 비슷한 나이대 수신 동의한 userIdx 목록 (수정 불가능)
+
+        private Snapshot(Map<Integer, Recipient> recipientMap, Map<Integer, Set<Integer>> birthBucketMap) {
+            this.recipientMap = recipientMap;
+            this.birthBucketMap = birthBucketMap;
+        }
+    }
+
+    private static class SortedRecipientList {
+        private final int version;
+        private final List<Recipient> recipientList;
+
+        private SortedRecipientList(int version, List<Recipient> recipientList) {
+            this.version = version;
+            this.recipientList = recipientList;
+        }
+    }
+
+}
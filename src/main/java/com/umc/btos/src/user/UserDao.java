@@ -175,6 +175,27 @@ public class UserDao {
         // 대응시켜 매핑시켜 쿼리 요청(변경했으면 1, 실패했으면 0)
     }
 
+    // 일기 및 편지 수신 동의한 모든 회원 (RecipientIndex)
+    public List<Recipient> getRecipientList() {
+        String getRecipientListQuery = "select userIdx, ifnull(birth, 0) as birth, recSimilarAge from User where recOthers = 1 and status = 'active'";
+        return this.jdbcTemplate.query(getRecipientListQuery,
+                (rs, rowNum) -> new Recipient(
+                        rs.getInt("userIdx"),
+                        rs.getInt("birth"),
+                        rs.getInt("recSimilarAge")));
+    }
+
+    // 해당 userIdx를 갖는 수신 동의한 회원 (수신 동의하지 않았거나 active가 아니라면 빈 리스트)
+    public List<Recipient> getRecipient(int userIdx) {
+        String getRecipientQuery = "select userIdx, ifnull(birth, 0) as birth, recSimilarAge from User where userIdx = ? and recOthers = 1 and status = 'active'";
+        return this.jdbcTemplate.query(getRecipientQuery,
+                (rs, rowNum) -> new Recipient(
+                        rs.getInt("userIdx"),
+                        rs.getInt("birth"),
+                        rs.getInt("recSimilarAge")),
+                userIdx);
+    }
+
     // 정해진 시간마다 마지막 로그인 기록과 현재 시간과의 차이 계산
     @Scheduled(cron = "0 0 0 * * *") // 매일 자정에 미접속 기간 체크 하도록 주기 설정
     public void checkLastConnect() {
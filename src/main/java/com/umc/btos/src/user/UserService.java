@@ -19,14 +19,17 @@ public class UserService {
     private final UserDao userDao;
     private final UserProvider userProvider;
     private final JwtService jwtService;
+    private final RecipientIndex recipientIndex;
 
     @Autowired
     public UserService(UserDao userDao,
                        UserProvider userProvider,
-                       JwtService jwtService) {
+                       JwtService jwtService,
+                       RecipientIndex recipientIndex) {
         this.userDao = userDao;
         this.userProvider = userProvider;
         this.jwtService = jwtService;
+        this.recipientIndex = recipientIndex;
 
     }
 
@@ -50,6 +53,7 @@ public class UserService {
 
         try{
             int userIdx = userDao.createUser(postUserReq);
+            recipientIndex.refresh(userIdx); // 수신 가능한 회원 목록 갱신
             return new PostUserRes(userIdx);
 
         } catch (Exception ignored){
@@ -62,6 +66,7 @@ public class UserService {
         try {
             int result = userDao.changeStatusOfUser(patchUserReq);
             if (result == 0) throw new BaseException(MODIFY_FAIL_STATUS); // 상태 변경 실패시 에러 메시지
+            recipientIndex.refresh(patchUserReq.getUserIdx()); // 수신 가능한 회원 목록 갱신
 
         }
         catch (Exception exception){
@@ -89,6 +94,7 @@ public class UserService {
         try {
             int result = userDao.modifyUserBirth(patchUserBirthReq);
             if (result == 0) throw new BaseException(MODIFY_FAIL_INFO); // 생년 변경 실패시 에러 메시지
+            recipientIndex.refresh(patchUserBirthReq.getUserIdx()); // 수신 가능한 회원 목록 갱신
 
         } catch(Exception exception) {
             throw new BaseException(DATABASE_ERROR);
@@ -101,6 +107,7 @@ public class UserService {
             //userDao.checkLastConnect();
             int result = userDao.modifyReceiveOthers(patchUserReceiveOthersReq);
             if (result == 0) throw new BaseException(MODIFY_FAIL_RECEIVE_OTHERS); // 푸시 알람 수신 여부 변경 실패시 에러 메시지
+            recipientIndex.refresh(patchUserReceiveOthersReq.getUserIdx()); // 수신 가능한 회원 목록 갱신
 
         } catch(Exception exception) {
             throw new BaseException(DATABASE_ERROR);
@@ -112,6 +119,7 @@ public class UserService {
         try {
             int result = userDao.modifyReceiveSimilarAge(patchUserRecSimilarAgeReq);
             if (result == 0) throw new BaseException(MODIFY_FAIL_RECEIVE_OTHERS); // 푸시 알람 수신 여부 변경 실패시 에러 메시지
+            recipientIndex.refresh(patchUserRecSimilarAgeReq.getUserIdx()); // 수신 가능한 회원 목록 갱신
 
         } catch(Exception exception) {
             throw new BaseException(DATABASE_ERROR);
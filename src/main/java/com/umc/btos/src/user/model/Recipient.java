@@ -0,0 +1,14 @@
+package com.umc.btos.src.user.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class Recipient {
+    private int userIdx; // 일기 및 편지 수신 동의한 회원 식별자 (User.recOthers = 1 & status = 'active')
+    private int birth; // 생년 (User.birth = null인 경우 0)
+    private int recSimilarAge; // 비슷한 나이대 수신 동의 여부
+}
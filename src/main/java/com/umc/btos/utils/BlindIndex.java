@@ -0,0 +1,85 @@
+package com.umc.btos.utils;
+
+import com.umc.btos.config.secret.Secret;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class BlindIndex {
+    /*
+     * private 일기 검색용 blind index (DiaryToken)
+     * 띄어쓰기 제거 & 영문 소문자로 바꾼 content의 1-gram, 2-gram을 HMAC-SHA256으로 변환한 값만 저장 (평문 저장 X)
+     * 검색어 -> 같은 방식으로 token 생성 -> 모든 token을 가진 일기만 복호화하여 최종 확인
+     *
+     * - token 입력에 userIdx를 포함 -> 같은 단어라도 회원마다 다른 token
+     * - 일기마다 빈 문자열 token(색인 완료 표시)을 하나 더 저장 -> 색인되지 않은 기존 일기와 구분
+     * - HMAC key는 PRIVATE_DIARY_KEY에서 용도별로 파생 (암호화 key와 분리)
+     */
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int TOKEN_BYTE_LENGTH = 16; // HMAC 결과 앞 16 byte만 사용 (hex 32자)
+
+    private static final byte[] TOKEN_KEY = deriveKey(Secret.PRIVATE_DIARY_KEY, "btos-diary-blind-index");
+    private static final ThreadLocal<Mac> MAC = ThreadLocal.withInitial(() -> newMac(TOKEN_KEY));
+
+    // 일기 저장 & 수정 시 - content(평문)의 모든 token (중복 제거)
+    public static List<String> getTokens(int userIdx, String content) {
+        int[] chars = content.replaceAll(" ", "").toLowerCase().codePoints().toArray(); // 공백 제거, 영문 대소문자 구별 X
+
+        Set<String> tokenSet = new LinkedHashSet<>();
+        tokenSet.add(toToken(userIdx, "")); // 색인 완료 표시
+        for (int i = 0; i < chars.length; i++) {
+            tokenSet.add(toToken(userIdx, new String(chars, i, 1)));
+            if (i + 1 < chars.length) {
+                tokenSet.add(toToken(userIdx, new String(chars, i, 2)));
+            }
+        }
+        return new ArrayList<>(tokenSet);
+    }
+
+    // 검색 시 - 정규화된 검색어의 token (1글자 : 1-gram, 2글자 이상 : 2-gram / 빈 문자열 : 빈 리스트)
+    public static List<String> getSearchTokens(int userIdx, String search) {
+        int[] chars = search.codePoints().toArray();
+
+        Set<String> tokenSet = new LinkedHashSet<>();
+        if (chars.length == 1) {
+            tokenSet.add(toToken(userIdx, search));
+        }
+        for (int i = 0; i + 1 < chars.length; i++) {
+            tokenSet.add(toToken(userIdx, new String(chars, i, 2)));
+        }
+        return new ArrayList<>(tokenSet);
+    }
+
+    private static String toToken(int userIdx, String gram) {
+        byte[] hash = MAC.get().doFinal((userIdx + ":" + gram).getBytes(UTF_8));
+
+        StringBuilder token = new StringBuilder(TOKEN_BYTE_LENGTH * 2);
+        for (int i = 0; i < TOKEN_BYTE_LENGTH; i++) {
+            token.append(String.format("%02x", hash[i]));
+        }
+        return token.toString();
+    }
+
+    private static byte[] deriveKey(String key, String label) {
+        return newMac(key.getBytes(UTF_8)).doFinal(label.getBytes(UTF_8));
+    }
+
+    private static Mac newMac(byte[] key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(key, ALGORITHM));
+            return mac;
+
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+}
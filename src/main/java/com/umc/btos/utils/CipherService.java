@@ -0,0 +1,97 @@
+package com.umc.btos.utils;
+
+import com.umc.btos.config.secret.Secret;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@Service
+public class CipherService {
+    /*
+     * private 일기 암호화 & 복호화 (AES/CBC/PKCS5Padding, key = PRIVATE_DIARY_KEY 앞 16 byte)
+     * Cipher 객체는 thread-safe하지 않으므로 스레드마다 한 번만 생성하여 재사용 (Cipher.getInstance 비용 1회)
+     *
+     * 저장 형식
+     * - v1 : "v1:" + Base64(IV 16 byte + 암호문) -> 레코드마다 임의의 IV
+     * - 기존 형식 (접두어 없음) : Base64(암호문), IV = PRIVATE_DIARY_KEY 앞 16자 -> 복호화만 지원
+     * (Base64 문자열에는 ':'가 없으므로 기존 형식과 구분됨)
+     */
+
+    private static final String TRANSFORMATION = "AES/CBC/PKCS5Padding";
+    private static final String VERSION_1 = "v1:";
+    private static final int IV_LENGTH = 16;
+
+    private final SecretKeySpec keySpec;
+    private final IvParameterSpec legacyIv;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final ThreadLocal<Cipher> cipher = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException(exception);
+        }
+    });
+
+    public CipherService() {
+        byte[] keyBytes = new byte[16];
+        System.arraycopy(Secret.PRIVATE_DIARY_KEY.getBytes(UTF_8), 0, keyBytes, 0, keyBytes.length);
+        this.keySpec = new SecretKeySpec(keyBytes, "AES");
+        this.legacyIv = new IvParameterSpec(Secret.PRIVATE_DIARY_KEY.substring(0, 16).getBytes(UTF_8));
+    }
+
+    // 암호화 (v1 형식)
+    public String encrypt(String value) throws GeneralSecurityException {
+        byte[] iv = new byte[IV_LENGTH];
+        secureRandom.nextBytes(iv);
+
+        Cipher cipher = this.cipher.get();
+        cipher.init(Cipher.ENCRYPT_MODE, keySpec, new IvParameterSpec(iv));
+        byte[] encrypted = cipher.doFinal(value.getBytes(UTF_8));
+
+        byte[] envelope = ByteBuffer.allocate(IV_LENGTH + encrypted.length).put(iv).put(encrypted).array();
+        return VERSION_1 + Base64.getEncoder().encodeToString(envelope);
+    }
+
+    // 복호화 (v1 형식 & 기존 형식)
+    public String decrypt(String value) throws GeneralSecurityException {
+        Cipher cipher = this.cipher.get();
+
+        if (value.startsWith(VERSION_1)) {
+            byte[] envelope = Base64.getDecoder().decode(value.substring(VERSION_1.length()));
+            cipher.init(Cipher.DECRYPT_MODE, keySpec, new IvParameterSpec(envelope, 0, IV_LENGTH));
+            return new String(cipher.doFinal(envelope, IV_LENGTH, envelope.length - IV_LENGTH), UTF_8);
+        }
+
+        cipher.init(Cipher.DECRYPT_MODE, keySpec, legacyIv);
+        return new String(cipher.doFinal(Base64.getDecoder().decode(value)), UTF_8);
+    }
+
+    // 여러 값 암호화 (순서 유지)
+    public List<String> encryptAll(List<String> valueList) throws GeneralSecurityException {
+        List<String> encryptedList = new ArrayList<>(valueList.size());
+        for (String value : valueList) {
+            encryptedList.add(encrypt(value));
+        }
+        return encryptedList;
+    }
+
+    // 여러 값 복호화 (순서 유지)
+    public List<String> decryptAll(List<String> valueList) throws GeneralSecurityException {
+        List<String> decryptedList = new ArrayList<>(valueList.size());
+        for (String value : valueList) {
+            decryptedList.add(decrypt(value));
+        }
+        return decryptedList;
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.umc.btos.utils;
+
+import com.umc.btos.config.Constant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * private 일기 content 병렬 복호화 (일기 리스트 한 페이지, 일기 & done list)
+ * DECRYPT_PARALLEL_MIN_NUM개 미만이면 요청 스레드에서 바로 복호화하고,
+ * 그 이상이면 스레드 수만큼 나누어 크기가 제한된 스레드 풀에서 복호화한다.
+ * (작업 큐가 가득 찬 경우 요청 스레드에서 직접 처리 -> 요청이 몰려도 작업이 쌓이지 않음)
+ *
+ * 처리 시간은 누적하여 10분마다 로그로 남긴다. (복호화 요청 수, 병렬 처리 수, 평균 & 최대 처리 시간)
+ */
+@Component
+public class DecryptionStage {
+    final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final CipherService cipherService;
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            Constant.DECRYPT_THREAD_NUM, Constant.DECRYPT_THREAD_NUM,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Constant.DECRYPT_QUEUE_SIZE),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+    // 처리 시간 (10분 단위로 초기화)
+    private final LongAdder batchNum = new LongAdder(); // decryptAll 호출 수
+    private final LongAdder batchNum_parallel = new LongAdder(); // 그 중 병렬로 처리한 수
+    private final LongAdder itemNum = new LongAdder(); // 복호화한 값의 수
+    private final LongAdder elapsedNanos = new LongAdder();
+    private final LongAccumulator maxElapsedNanos = new LongAccumulator(Long::max, 0);
+
+    @Autowired
+    public DecryptionStage(CipherService cipherService) {
+        this.cipherService = cipherService;
+    }
+
+    // 여러 값 복호화 (순서 유지)
+    public List<String> decryptAll(List<String> valueList) throws GeneralSecurityException {
+        long startTime = System.nanoTime();
+        boolean isParallel = valueList.size() >= Constant.DECRYPT_PARALLEL_MIN_NUM;
+
+        try {
+            return isParallel ? decryptAll_parallel(valueList) : cipherService.decryptAll(valueList);
+
+        } finally {
+            long elapsed = System.nanoTime() - startTime;
+            batchNum.increment();
+            if (isParallel) batchNum_parallel.increment();
+            itemNum.add(valueList.size());
+            elapsedNanos.add(elapsed);
+            maxElapsedNanos.accumulate(elapsed);
+        }
+    }
+
+    private List<String> decryptAll_parallel(List<String> valueList) throws GeneralSecurityException {
+        int chunkSize = (valueList.size() + Constant.DECRYPT_THREAD_NUM - 1) / Constant.DECRYPT_THREAD_NUM;
+
+        List<Future<List<String>>> futureList = new ArrayList<>();
+        for (int start = 0; start < valueList.size(); start += chunkSize) {
+            List<String> chunk = valueList.subList(start, Math.min(start + chunkSize, valueList.size()));
+            futureList.add(executor.submit(() -> cipherService.decryptAll(chunk)));
+        }
+
+        List<String> decryptedList = new ArrayList<>(valueList.size());
+        try {
+            for (Future<List<String>> future : futureList) {
+                decryptedList.addAll(future.get()); // chunk 순서대로 합침
+            }
+            return decryptedList;
+
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof GeneralSecurityException) {
+                throw (GeneralSecurityException) exception.getCause();
+            }
+            throw new IllegalStateException(exception.getCause());
+
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+
+        } finally {
+            for (Future<List<String>> future : futureList) {
+                future.cancel(true); // 실패한 경우 남은 작업 취소 (완료된 작업에는 영향 X)
+            }
+        }
+    }
+
+    // 처리 시간 로그 (10분마다)
+    @Scheduled(fixedRate = 600000)
+    public void logLatency() {
+        long batchNum = this.batchNum.sumThenReset();
+        long batchNum_parallel = this.batchNum_parallel.sumThenReset();
+        long itemNum = this.itemNum.sumThenReset();
+        long elapsedNanos = this.elapsedNanos.sumThenReset();
+        long maxElapsedNanos = this.maxElapsedNanos.getThenReset();
+
+        if (batchNum == 0) {
+            return;
+        }
+        logger.info("DecryptionStage : batch = " + batchNum + " (parallel = " + batchNum_parallel + "), item = " + itemNum
+                + ", avg = " + TimeUnit.NANOSECONDS.toMicros(elapsedNanos / batchNum) + "us"
+                + ", max = " + TimeUnit.NANOSECONDS.toMicros(maxElapsedNanos) + "us");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+}
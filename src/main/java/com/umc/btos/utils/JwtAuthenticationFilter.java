@@ -0,0 +1,47 @@
+package com.umc.btos.utils;
+
+import com.umc.btos.config.BaseException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+
+/*
+ * 요청마다 X-ACCESS-TOKEN을 한 번만 검증하여 SecurityContext에 저장 (principal = userIdx)
+ * 이후 JwtService.getUserIdx()는 다시 parsing하지 않고 SecurityContext의 userIdx 반환
+ *
+ * 검증에 실패하더라도 요청은 그대로 진행 -> JWT가 필요한 API에서 JwtService.getUserIdx() 호출 시 기존과 같은 오류 반환
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private final JwtService jwtService;
+
+    public JwtAuthenticationFilter(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String accessToken = request.getHeader(JwtService.HEADER);
+
+        if (accessToken != null && accessToken.length() != 0) {
+            try {
+                int userIdx = jwtService.verifyJwt(accessToken);
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(userIdx, null, Collections.emptyList()));
+
+            } catch (BaseException ignored) {
+                SecurityContextHolder.clearContext();
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+}
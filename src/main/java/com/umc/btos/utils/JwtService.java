@@ -6,18 +6,40 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import javax.servlet.http.HttpServletRequest;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static com.umc.btos.config.BaseResponseStatus.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 @Service
 public class JwtService {
 
+    public static final String HEADER = "X-ACCESS-TOKEN";
+
+    /*
+     * 검증된 JWT 캐시 (최근 검증한 JWT_CACHE_SIZE개, LRU)
+     * key = JWT의 SHA-256 hash (원문 저장 X), value = {userIdx, 만료 시각(ms)}
+     * 같은 JWT로 다시 요청하면 서명 검증 없이 userIdx 반환 (만료 시각이 지났다면 캐시에서 삭제 후 다시 검증)
+     */
+    private final Map<String, long[]> verifiedJwtMap = new LinkedHashMap<String, long[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, long[]> eldest) {
+            return size() > Constant.JWT_CACHE_SIZE;
+        }
+    };
+
     /**
      * JWT 생성
      *
@@ -42,22 +64,54 @@ public class JwtService {
      */
     public String getJwt() {
         HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
-        return request.getHeader("X-ACCESS-TOKEN");
+        return request.getHeader(HEADER);
     }
 
     /**
      * JWT에서 userIdx 추출
+     * JwtAuthenticationFilter에서 검증한 경우 SecurityContext의 userIdx 반환
      *
      * @return int
      * @throws BaseException
      */
     public int getUserIdx() throws BaseException {
-        // 1. JWT 추출
+        // 1. 이번 요청에서 이미 검증한 경우
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof Integer) {
+            return (Integer) authentication.getPrincipal();
+        }
+
+        // 2. JWT 추출
         String accessToken = getJwt();
         if (accessToken == null || accessToken.length() == 0) {
             throw new BaseException(EMPTY_JWT);
         }
 
+        // 3. JWT 검증 & userIdx 추출
+        return verifyJwt(accessToken);
+    }
+
+    /**
+     * JWT 검증 & userIdx 추출 (검증된 JWT 캐시 사용)
+     *
+     * @param accessToken
+     * @return int
+     * @throws BaseException
+     */
+    public int verifyJwt(String accessToken) throws BaseException {
+        String key = hash(accessToken);
+
+        // 1. 캐시 확인
+        synchronized (verifiedJwtMap) {
+            long[] verifiedJwt = verifiedJwtMap.get(key);
+            if (verifiedJwt != null) {
+                if (verifiedJwt[1] > System.currentTimeMillis()) {
+                    return (int) verifiedJwt[0];
+                }
+                verifiedJwtMap.remove(key); // 만료된 JWT
+            }
+        }
+
         // 2. JWT parsing
         Jws<Claims> claims;
         try {
@@ -69,7 +123,29 @@ public class JwtService {
         }
 
         // 3. userIdx 추출
-        return claims.getBody().get("userIdx", Integer.class);  // jwt에서 userIdx 추출
+        Integer userIdx = claims.getBody().get("userIdx", Integer.class); // jwt에서 userIdx 추출
+        if (userIdx == null) {
+            throw new BaseException(INVALID_JWT);
+        }
+
+        // 4. 캐시 저장 (만료 시각이 없는 JWT는 저장 X)
+        Date expiration = claims.getBody().getExpiration();
+        if (expiration != null) {
+            synchronized (verifiedJwtMap) {
+                verifiedJwtMap.put(key, new long[]{userIdx, expiration.getTime()});
+            }
+        }
+        return userIdx;
+    }
+
+    private String hash(String accessToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(accessToken.getBytes(UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
     }
 
 }
@@ -0,0 +1,46 @@
+package com.umc.btos.utils;
+
+import com.umc.btos.config.Constant;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SearchText {
+    /*
+     * 내용 검색 (SearchIndex)
+     * SearchIndex.content = LOWER(REPLACE(content, ' ', '')) -> 띄어쓰기, 영문 대소문자 구분없이 검색
+     * 검색어가 ngram 토큰 길이 이상이면 FULLTEXT 인덱스로 후보를 찾고, LIKE로 연속된 문자열인지 최종 확인
+     * (ngram 구문 검색은 토큰 순서만 확인하므로 LIKE 조건으로 기존 contains 결과와 동일하게 맞춤)
+     */
+
+    // 검색어 정규화 - 따옴표, 공백 제거 & 영문 소문자
+    public static String normalize(String search) {
+        search = search.replaceAll("\"", ""); // 따옴표 제거
+        search = search.replaceAll(" ", ""); // 공백 제거
+        return search.toLowerCase(); // 영문 대소문자 구분 X
+    }
+
+    // WHERE 조건 (search = 정규화된 검색어)
+    public static String getCondition(String search) {
+        if (canMatch(search)) {
+            return "MATCH(SearchIndex.content) AGAINST(? IN BOOLEAN MODE) AND SearchIndex.content LIKE ? ";
+        }
+        return "SearchIndex.content LIKE ? ";
+    }
+
+    // getCondition()의 ? 순서대로 전달할 값
+    public static List<Object> getParams(String search) {
+        List<Object> params = new ArrayList<>();
+        if (canMatch(search)) {
+            params.add("\"" + search + "\""); // BOOLEAN MODE 구문 검색
+        }
+        params.add("%" + search.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+        return params;
+    }
+
+    // ngram 토큰 길이보다 짧은 검색어는 FULLTEXT 인덱스로 찾을 수 없음
+    private static boolean canMatch(String search) {
+        return search.codePointCount(0, search.length()) >= Constant.SEARCH_NGRAM_TOKEN_SIZE;
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.umc.btos.src.alarm.model;
+
+import com.umc.btos.config.BaseException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static com.umc.btos.config.BaseResponseStatus.INVALID_CURSOR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class AlarmCursorTest {
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void encode_decode_roundTrip() throws Exception {
+        AlarmCursor cursor = new AlarmCursor("2022-02-02 12:34:56", 42);
+
+        AlarmCursor decoded = AlarmCursor.decode(cursor.encode());
+
+        assertThat(decoded.getCreatedAt()).isEqualTo("2022-02-02 12:34:56");
+        assertThat(decoded.getAlarmIdx()).isEqualTo(42);
+    }
+
+    @Test
+    void first_roundTrip() throws Exception {
+        AlarmCursor decoded = AlarmCursor.decode(AlarmCursor.first().encode());
+
+        assertThat(decoded.getCreatedAt()).isEqualTo("9999-12-31 23:59:59");
+        assertThat(decoded.getAlarmIdx()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void decode_malformed() {
+        for (String cursor : new String[]{"not base64!", encodeRaw("2022-02-02 12:34:56"), encodeRaw("2022-02-02 12:34:56|abc")}) {
+            BaseException exception = catchThrowableOfType(() -> AlarmCursor.decode(cursor), BaseException.class);
+
+            assertThat(exception.getStatus()).isEqualTo(INVALID_CURSOR);
+        }
+    }
+
+}
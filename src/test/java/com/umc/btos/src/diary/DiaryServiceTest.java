@@ -0,0 +1,109 @@
+package com.umc.btos.src.diary;
+
+import com.umc.btos.config.BaseException;
+import com.umc.btos.src.archive.CalendarCache;
+import com.umc.btos.src.diary.model.PutDiaryReq;
+import com.umc.btos.utils.CipherService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.umc.btos.config.BaseResponseStatus.MODIFY_FAIL_DONE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// 일기 수정 - 기존 & 수정 done list 비교 (UPDATE / INSERT / status = 'deleted')
+class DiaryServiceTest {
+
+    private static final int DIARY_IDX = 10;
+    private static final int USER_IDX = 1;
+
+    private DiaryDao diaryDao;
+    private DiaryService diaryService;
+
+    @BeforeEach
+    void setUp() {
+        diaryDao = mock(DiaryDao.class);
+        diaryService = new DiaryService(diaryDao, mock(CipherService.class), mock(CalendarCache.class));
+
+        String today = LocalDate.now().toString().replaceAll("-", ".");
+        when(diaryDao.getDiaryDate(DIARY_IDX)).thenReturn(today);
+        when(diaryDao.modifyDiary(any())).thenReturn(1);
+        when(diaryDao.modifyDoneList(anyList(), anyList())).thenAnswer(invocation -> success(invocation.getArgument(0)));
+        when(diaryDao.insertDoneList(anyInt(), anyList())).thenAnswer(invocation -> success(invocation.getArgument(1)));
+        when(diaryDao.modifyDoneList_modifyStatus(anyList())).thenAnswer(invocation -> success(invocation.getArgument(0)));
+    }
+
+    // 모든 행 반영 (batch 1개)
+    private static int[][] success(List<?> rowList) {
+        int[] counts = new int[rowList.size()];
+        Arrays.fill(counts, 1);
+        return new int[][]{counts};
+    }
+
+    // public 일기 (암호화 X) - 당일 날짜
+    private static PutDiaryReq putDiaryReq(String... doneList) {
+        String today = LocalDate.now().toString().replaceAll("-", ".");
+        return new PutDiaryReq(DIARY_IDX, USER_IDX, 1, today, "content", true, new ArrayList<>(Arrays.asList(doneList)));
+    }
+
+    @Test
+    void moreOriginDone_updatesCommonAndDeletesRest() throws Exception {
+        when(diaryDao.getDoneIdxList(any())).thenReturn(Arrays.asList(101, 102, 103));
+
+        diaryService.modifyDiary(putDiaryReq("a", "b"));
+
+        verify(diaryDao).modifyDoneList(Arrays.asList(101, 102), Arrays.asList("a", "b"));
+        verify(diaryDao).insertDoneList(DIARY_IDX, Collections.emptyList());
+        verify(diaryDao).modifyDoneList_modifyStatus(Collections.singletonList(103));
+    }
+
+    @Test
+    void moreModifiedDone_updatesCommonAndInsertsRest() throws Exception {
+        when(diaryDao.getDoneIdxList(any())).thenReturn(Collections.singletonList(101));
+
+        diaryService.modifyDiary(putDiaryReq("a", "b", "c"));
+
+        verify(diaryDao).modifyDoneList(Collections.singletonList(101), Collections.singletonList("a"));
+        verify(diaryDao).insertDoneList(DIARY_IDX, Arrays.asList("b", "c"));
+        verify(diaryDao).modifyDoneList_modifyStatus(Collections.emptyList());
+    }
+
+    @Test
+    void sameSize_updatesOnly() throws Exception {
+        when(diaryDao.getDoneIdxList(any())).thenReturn(Arrays.asList(101, 102));
+
+        diaryService.modifyDiary(putDiaryReq("a", "b"));
+
+        verify(diaryDao).modifyDoneList(Arrays.asList(101, 102), Arrays.asList("a", "b"));
+        verify(diaryDao).insertDoneList(DIARY_IDX, Collections.emptyList());
+        verify(diaryDao).modifyDoneList_modifyStatus(Collections.emptyList());
+    }
+
+    @Test
+    void successNoInfo_isSuccess() throws Exception {
+        when(diaryDao.getDoneIdxList(any())).thenReturn(Arrays.asList(101, 102));
+        when(diaryDao.modifyDoneList(anyList(), anyList())).thenReturn(new int[][]{{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO}});
+
+        diaryService.modifyDiary(putDiaryReq("a", "b"));
+    }
+
+    @Test
+    void failedRow_throwsModifyFailDone() {
+        when(diaryDao.getDoneIdxList(any())).thenReturn(Arrays.asList(101, 102, 103));
+        when(diaryDao.modifyDoneList_modifyStatus(anyList())).thenReturn(new int[][]{{0}}); // 이미 삭제된 done
+
+        BaseException exception = catchThrowableOfType(() -> diaryService.modifyDiary(putDiaryReq("a", "b")), BaseException.class);
+
+        assertThat(exception.getStatus()).isEqualTo(MODIFY_FAIL_DONE);
+    }
+
+}
@@ -0,0 +1,191 @@
+package com.umc.btos.src.firebase;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.umc.btos.src.firebase.model.FcmRequest;
+import com.umc.btos.src.firebase.model.PushResult;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class PushDispatcherTest {
+
+    private static final String UNREGISTERED_BODY = "{\"error\":{\"code\":404,\"message\":\"Requested entity was not found.\",\"status\":\"NOT_FOUND\"," +
+            "\"details\":[{\"@type\":\"type.googleapis.com/google.firebase.fcm.v1.FcmError\",\"errorCode\":\"UNREGISTERED\"}]}}";
+    private static final String INVALID_TOKEN_BODY = "{\"error\":{\"code\":400,\"message\":\"The registration token is not a valid FCM registration token\",\"status\":\"INVALID_ARGUMENT\"," +
+            "\"details\":[{\"@type\":\"type.googleapis.com/google.rpc.BadRequest\",\"fieldViolations\":[{\"field\":\"message.token\",\"description\":\"Invalid registration token\"}]}]}}";
+
+    private MockWebServer server;
+    private FirebaseCloudMessageService firebaseCloudMessageService;
+    private FcmDao fcmDao;
+    private PushDispatcher pushDispatcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+
+        FcmAccessToken fcmAccessToken = mock(FcmAccessToken.class);
+        when(fcmAccessToken.getTokenValue()).thenReturn("access-token");
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        firebaseCloudMessageService = new FirebaseCloudMessageService(server.url("/v1/projects/test/messages:send").toString(), objectMapper, fcmAccessToken);
+        fcmDao = mock(FcmDao.class);
+        pushDispatcher = newPushDispatcher(objectMapper, 10000);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        pushDispatcher.shutdown();
+        firebaseCloudMessageService.shutdown();
+        server.shutdown();
+    }
+
+    // 재시도 대기 시간 10ms (최대 100ms)
+    private PushDispatcher newPushDispatcher(ObjectMapper objectMapper, long dispatchTimeoutMillis) {
+        return new PushDispatcher(firebaseCloudMessageService, fcmDao, objectMapper, dispatchTimeoutMillis, 10, 100);
+    }
+
+    private static FcmRequest request(String token) {
+        return new FcmRequest(token, "BTOS", "body");
+    }
+
+    @Test
+    void success() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("{\"name\":\"projects/test/messages/1\"}"));
+
+        List<PushResult> resultList = pushDispatcher.sendAll(Collections.singletonList(request("token")));
+
+        assertThat(resultList).hasSize(1);
+        assertThat(resultList.get(0).getStatus()).isEqualTo("success");
+        assertThat(resultList.get(0).getCode()).isEqualTo(200);
+        assertThat(resultList.get(0).getAttemptNum()).isEqualTo(1);
+
+        RecordedRequest recordedRequest = server.takeRequest();
+        assertThat(recordedRequest.getHeader("Authorization")).isEqualTo("Bearer access-token");
+        assertThat(recordedRequest.getBody().readUtf8()).contains("\"token\":\"token\"");
+        verify(fcmDao, never()).deleteFcmToken(anyList());
+    }
+
+    @Test
+    void unregisteredToken_isPurged() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(404).setBody(UNREGISTERED_BODY));
+
+        List<PushResult> resultList = pushDispatcher.sendAll(Collections.singletonList(request("expired")));
+
+        assertThat(resultList.get(0).getStatus()).isEqualTo("invalidToken");
+        assertThat(resultList.get(0).getCode()).isEqualTo(404);
+        assertThat(server.getRequestCount()).isEqualTo(1); // 재시도 X
+        verify(fcmDao).deleteFcmToken(Collections.singletonList("expired"));
+    }
+
+    @Test
+    void invalidArgumentOnTokenField_isPurged() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(400).setBody(INVALID_TOKEN_BODY));
+
+        List<PushResult> resultList = pushDispatcher.sendAll(Collections.singletonList(request("malformed")));
+
+        assertThat(resultList.get(0).getStatus()).isEqualTo("invalidToken");
+        verify(fcmDao).deleteFcmToken(Collections.singletonList("malformed"));
+    }
+
+    @Test
+    void bare404_isFailedAndTokenKept() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(404).setBody("<html>Not Found</html>"));
+
+        List<PushResult> resultList = pushDispatcher.sendAll(Collections.singletonList(request("token")));
+
+        assertThat(resultList.get(0).getStatus()).isEqualTo("failed");
+        assertThat(resultList.get(0).getCode()).isEqualTo(404);
+        verify(fcmDao, never()).deleteFcmToken(anyList());
+    }
+
+    @Test
+    void onlyInvalidTokensArePurged() throws Exception {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest recordedRequest) {
+                if (recordedRequest.getBody().readUtf8().contains("\"token\":\"expired")) {
+                    return new MockResponse().setResponseCode(404).setBody(UNREGISTERED_BODY);
+                }
+                return new MockResponse().setResponseCode(200);
+            }
+        });
+
+        List<PushResult> resultList = pushDispatcher.sendAll(Arrays.asList(request("active-1"), request("expired-1"), request("active-2"), request("expired-2")));
+
+        assertThat(resultList).extracting(PushResult::getToken).containsExactly("active-1", "expired-1", "active-2", "expired-2"); // 요청 순서 유지
+        assertThat(resultList).extracting(PushResult::getStatus).containsExactly("success", "invalidToken", "success", "invalidToken");
+        verify(fcmDao).deleteFcmToken(Arrays.asList("expired-1", "expired-2"));
+    }
+
+    @Test
+    void tooManyRequests_waitsForRetryAfter() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "1"));
+        server.enqueue(new MockResponse().setResponseCode(200));
+
+        long startTime = System.nanoTime();
+        List<PushResult> resultList = pushDispatcher.sendAll(Collections.singletonList(request("token")));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+        assertThat(resultList.get(0).getStatus()).isEqualTo("success");
+        assertThat(resultList.get(0).getAttemptNum()).isEqualTo(2);
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(1000); // Retry-After에는 재시도 대기 시간 상한(100ms) 적용 X
+    }
+
+    @Test
+    void serverError_retriesWithBackoff() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(200));
+
+        List<PushResult> resultList = pushDispatcher.sendAll(Collections.singletonList(request("token")));
+
+        assertThat(resultList.get(0).getStatus()).isEqualTo("success");
+        assertThat(resultList.get(0).getAttemptNum()).isEqualTo(3);
+        assertThat(server.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void serverError_failsAfterMaxRetry() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            server.enqueue(new MockResponse().setResponseCode(503));
+        }
+
+        List<PushResult> resultList = pushDispatcher.sendAll(Collections.singletonList(request("token")));
+
+        assertThat(resultList.get(0).getStatus()).isEqualTo("failed");
+        assertThat(resultList.get(0).getCode()).isEqualTo(503);
+        assertThat(resultList.get(0).getAttemptNum()).isEqualTo(4); // 최초 1회 + 재시도 FCM_MAX_RETRY(3)회
+        assertThat(server.getRequestCount()).isEqualTo(4);
+        verify(fcmDao, never()).deleteFcmToken(anyList());
+    }
+
+    @Test
+    void sendAll_returnsAtDeadline() throws Exception {
+        pushDispatcher.shutdown();
+        pushDispatcher = newPushDispatcher(new ObjectMapper(), 300);
+        server.enqueue(new MockResponse().setResponseCode(200).setHeadersDelay(5, TimeUnit.SECONDS));
+
+        long startTime = System.nanoTime();
+        List<PushResult> resultList = pushDispatcher.sendAll(Collections.singletonList(request("token")));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+        assertThat(resultList.get(0).getStatus()).isEqualTo("failed");
+        assertThat(resultList.get(0).getCode()).isEqualTo(0); // 응답을 받지 못함
+        assertThat(elapsedMillis).isLessThan(3000);
+    }
+
+}
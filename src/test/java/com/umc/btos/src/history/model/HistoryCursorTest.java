@@ -0,0 +1,62 @@
+package com.umc.btos.src.history.model;
+
+import com.umc.btos.config.BaseException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static com.umc.btos.config.BaseResponseStatus.INVALID_CURSOR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class HistoryCursorTest {
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void encode_decode_roundTrip() throws Exception {
+        HistoryCursor cursor = new HistoryCursor("2022-02-02 12:34:56", "letter", 42);
+
+        HistoryCursor decoded = HistoryCursor.decode(cursor.encode());
+
+        assertThat(decoded.getSendAt()).isEqualTo("2022-02-02 12:34:56");
+        assertThat(decoded.getType()).isEqualTo("letter");
+        assertThat(decoded.getTypeIdx()).isEqualTo(42);
+    }
+
+    @Test
+    void encode_isUrlSafe() {
+        String encoded = HistoryCursor.first().encode();
+
+        assertThat(encoded).doesNotContain("+", "/", "=");
+    }
+
+    @Test
+    void first_roundTrip() throws Exception {
+        HistoryCursor decoded = HistoryCursor.decode(HistoryCursor.first().encode());
+
+        assertThat(decoded.getSendAt()).isEqualTo("9999-12-31 23:59:59");
+        assertThat(decoded.getType()).isEqualTo("reply");
+        assertThat(decoded.getTypeIdx()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void decode_unknownType() {
+        BaseException exception = catchThrowableOfType(() -> HistoryCursor.decode(encodeRaw("2022-02-02 12:34:56|notice|1")), BaseException.class);
+
+        assertThat(exception.getStatus()).isEqualTo(INVALID_CURSOR);
+    }
+
+    @Test
+    void decode_malformed() {
+        for (String cursor : new String[]{"not base64!", encodeRaw("2022-02-02 12:34:56|diary"), encodeRaw("2022-02-02 12:34:56|diary|abc")}) {
+            BaseException exception = catchThrowableOfType(() -> HistoryCursor.decode(cursor), BaseException.class);
+
+            assertThat(exception.getStatus()).isEqualTo(INVALID_CURSOR);
+        }
+    }
+
+}
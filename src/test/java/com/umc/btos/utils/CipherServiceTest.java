@@ -0,0 +1,73 @@
+package com.umc.btos.utils;
+
+import com.umc.btos.config.secret.Secret;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CipherServiceTest {
+
+    private final CipherService cipherService = new CipherService();
+
+    // 기존 형식 (접두어 없음, IV = PRIVATE_DIARY_KEY 앞 16자)
+    private static String encryptLegacy(String value) throws Exception {
+        String key = Secret.PRIVATE_DIARY_KEY.substring(0, 16);
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key.getBytes(UTF_8), "AES"), new IvParameterSpec(key.getBytes(UTF_8)));
+        return Base64.getEncoder().encodeToString(cipher.doFinal(value.getBytes(UTF_8)));
+    }
+
+    @Test
+    void v1_roundTrip() throws Exception {
+        String value = "오늘의 일기 - private diary";
+
+        String encrypted = cipherService.encrypt(value);
+
+        assertThat(encrypted).startsWith("v1:");
+        assertThat(cipherService.decrypt(encrypted)).isEqualTo(value);
+    }
+
+    @Test
+    void v1_usesRandomIv() throws Exception {
+        String value = "같은 내용";
+
+        String first = cipherService.encrypt(value);
+        String second = cipherService.encrypt(value);
+
+        assertThat(first).isNotEqualTo(second); // 같은 내용이어도 레코드마다 다른 암호문
+        assertThat(cipherService.decrypt(first)).isEqualTo(value);
+        assertThat(cipherService.decrypt(second)).isEqualTo(value);
+    }
+
+    @Test
+    void legacy_decrypt() throws Exception {
+        String value = "기존 형식으로 저장된 일기";
+
+        assertThat(cipherService.decrypt(encryptLegacy(value))).isEqualTo(value);
+    }
+
+    @Test
+    void encryptAll_decryptAll_keepOrder() throws Exception {
+        List<String> valueList = Arrays.asList("done 1", "done 2", "", "done 4");
+
+        List<String> decryptedList = cipherService.decryptAll(cipherService.encryptAll(valueList));
+
+        assertThat(decryptedList).containsExactlyElementsOf(valueList);
+    }
+
+    @Test
+    void decryptAll_mixedFormats() throws Exception {
+        List<String> encryptedList = Arrays.asList(encryptLegacy("legacy"), cipherService.encrypt("v1"));
+
+        assertThat(cipherService.decryptAll(encryptedList)).containsExactly("legacy", "v1");
+    }
+
+}